@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.sasquatch;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+import sasquatch.SasBatch;
+import sasquatch.SasBatchCursor;
+import sasquatch.SasFlow;
+
+/**
+ * A publisher of batches that opens a new cursor for each subscriber. The
+ * cursor is opened on the first request and a batch is only read when there
+ * is some demand for it. All the work of a subscription is done sequentially
+ * on the executor.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BatchPublisher implements SasFlow.Publisher<SasBatch> {
+
+    @FunctionalInterface
+    public interface Opener {
+
+        @NonNull
+        SasBatchCursor open() throws IOException;
+    }
+
+    @NonNull
+    public static BatchPublisher of(@NonNull Opener opener, @NonNegative int capacity, @NonNull Executor executor) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        return new BatchPublisher(opener, capacity, executor);
+    }
+
+    @lombok.NonNull
+    private final Opener opener;
+
+    @NonNegative
+    private final int capacity;
+
+    @lombok.NonNull
+    private final Executor executor;
+
+    @Override
+    public void subscribe(SasFlow.@NonNull Subscriber<? super SasBatch> subscriber) {
+        subscriber.onSubscribe(new BatchSubscription(subscriber));
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    @lombok.RequiredArgsConstructor
+    private final class BatchSubscription implements SasFlow.Subscription {
+
+        private final SasFlow.Subscriber<? super SasBatch> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private volatile boolean cancelled = false;
+        @Nullable
+        private volatile IllegalArgumentException invalidRequest = null;
+
+        // only accessed by the drain loop or by a rejected signal
+        @Nullable
+        private SasBatchCursor cursor = null;
+        @Nullable
+        private SasBatch batch = null;
+        private boolean done = false;
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Invalid request: " + n);
+            } else {
+                demand.accumulateAndGet(n, BatchPublisher::addCap);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        private void signal() {
+            if (pendingSignals.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drainLoop);
+                } catch (RuntimeException ex) {
+                    reject(ex);
+                }
+            }
+        }
+
+        private void reject(RuntimeException ex) {
+            // no drain loop is running and the pending signals are never
+            // released, so this subscription is terminated here
+            boolean terminated = done || cancelled;
+            done = true;
+            cancelled = true;
+            closeCursorQuietly();
+            if (!terminated) {
+                subscriber.onError(ex);
+            }
+        }
+
+        private void drainLoop() {
+            int signals = 1;
+            do {
+                drain();
+                signals = pendingSignals.addAndGet(-signals);
+            } while (signals != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            try {
+                while (!cancelled && invalidRequest == null && demand.get() > 0) {
+                    if (cursor == null) {
+                        cursor = opener.open();
+                        batch = cursor.newBatch(capacity);
+                    }
+                    if (!cursor.nextBatch(batch)) {
+                        done = true;
+                        closeCursor();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    subscriber.onNext(batch);
+                }
+                if (invalidRequest != null) {
+                    throw invalidRequest;
+                }
+                if (cancelled) {
+                    done = true;
+                    closeCursor();
+                }
+            } catch (Throwable ex) {
+                done = true;
+                closeCursorQuietly();
+                if (!cancelled) {
+                    subscriber.onError(ex);
+                }
+            }
+        }
+
+        private void closeCursor() throws IOException {
+            if (cursor != null) {
+                try {
+                    cursor.close();
+                } finally {
+                    cursor = null;
+                    batch = null;
+                }
+            }
+        }
+
+        private void closeCursorQuietly() {
+            try {
+                closeCursor();
+            } catch (IOException ex) {
+                // the error of the subscription is reported instead
+            }
+        }
+    }
+
+    private static long addCap(long x, long y) {
+        long result = x + y;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+    //</editor-fold>
+}
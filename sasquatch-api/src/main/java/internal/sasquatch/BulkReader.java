@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.sasquatch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Processes many files with a bounded number of workers. The files are
+ * sorted by size so that small files are processed first, and each worker
+ * handles one file at a time. The workers run on virtual threads if they are
+ * available (Java 21+) and on platform threads otherwise.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BulkReader {
+
+    @FunctionalInterface
+    public interface Task {
+
+        void process(@NonNull Path file) throws Exception;
+    }
+
+    @NonNull
+    public static BulkReader of(@NonNegative int concurrency) throws IllegalArgumentException {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Invalid concurrency: " + concurrency);
+        }
+        return new BulkReader(concurrency);
+    }
+
+    @NonNegative
+    private final int concurrency;
+
+    /**
+     * Processes some files and collects their failures. The failures of a
+     * file that is listed several times are merged into the first one as
+     * suppressed exceptions.
+     *
+     * @param files a non-null stream of files
+     * @param task a non-null task
+     * @return a non-null map of failures sorted by file
+     * @throws InterruptedException if the current thread is interrupted while
+     * waiting; the remaining files are not processed and the running tasks
+     * are interrupted and awaited
+     */
+    @NonNull
+    public Map<Path, Exception> process(@NonNull Stream<Path> files, @NonNull Task task) throws InterruptedException {
+        Queue<Path> queue = new ConcurrentLinkedQueue<>(sortBySize(files));
+        Map<Path, Exception> failures = Collections.synchronizedMap(new HashMap<>());
+        int workers = Math.min(concurrency, queue.size());
+        if (workers == 0) {
+            return sortByFile(failures);
+        }
+        ExecutorService executor = newExecutor(workers);
+        try {
+            List<Future<?>> results = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                results.add(executor.submit(() -> processQueue(queue, task, failures)));
+            }
+            for (Future<?> result : results) {
+                waitFor(result);
+            }
+        } finally {
+            queue.clear();
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+        return sortByFile(failures);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    private static void processQueue(Queue<Path> queue, Task task, Map<Path, Exception> failures) {
+        Path file;
+        while ((file = queue.poll()) != null) {
+            try {
+                task.process(file);
+            } catch (Exception ex) {
+                failures.merge(file, ex, BulkReader::addSuppressed);
+            }
+        }
+    }
+
+    private static Exception addSuppressed(Exception first, Exception next) {
+        first.addSuppressed(next);
+        return first;
+    }
+
+    private static void waitFor(Future<?> result) throws InterruptedException {
+        try {
+            result.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // paths of different file systems cannot be compared with each other
+    private static Map<Path, Exception> sortByFile(Map<Path, Exception> failures) {
+        Map<Path, Exception> result = new LinkedHashMap<>();
+        failures.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey(FILE_ORDER))
+                .forEachOrdered(failure -> result.put(failure.getKey(), failure.getValue()));
+        return result;
+    }
+
+    private static final Comparator<Path> FILE_ORDER = Comparator
+            .comparing((Path file) -> file.getFileSystem().provider().getScheme())
+            .thenComparing(Path::toString);
+
+    private static List<Path> sortBySize(Stream<Path> files) {
+        return files
+                .map(file -> new SizedFile(file, getSizeOrNull(file)))
+                .sorted(Comparator.comparing(SizedFile::getSize, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(SizedFile::getFile)
+                .collect(Collectors.toList());
+    }
+
+    @Nullable
+    private static Long getSizeOrNull(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException ex) {
+            // the failure is reported when the file is processed
+            return null;
+        }
+    }
+
+    private static ExecutorService newExecutor(int workers) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newFixedThreadPool(workers);
+        }
+    }
+
+    @lombok.Value
+    private static class SizedFile {
+
+        Path file;
+
+        @Nullable
+        Long size;
+    }
+    //</editor-fold>
+}
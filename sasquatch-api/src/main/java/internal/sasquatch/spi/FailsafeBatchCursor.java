@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ * 
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved 
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * 
+ * http://ec.europa.eu/idabc/eupl
+ * 
+ * Unless required by applicable law or agreed to in writing, software 
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and 
+ * limitations under the Licence.
+ */
+package internal.sasquatch.spi;
+
+import java.io.IOException;
+import sasquatch.SasBatch;
+import sasquatch.SasBatchCursor;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+final class FailsafeBatchCursor extends FailsafeCursor<SasBatchCursor> implements SasBatchCursor {
+
+    public FailsafeBatchCursor(SasBatchCursor cursor, Failsafe failsafe) {
+        super(cursor, failsafe);
+    }
+
+    @Override
+    public boolean nextBatch(SasBatch batch) throws IOException, IllegalArgumentException {
+        try {
+            return delegate.nextBatch(batch);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("nextBatch", unexpected);
+        }
+    }
+
+    @Override
+    public SasBatch newBatch(int capacity) throws IOException, IllegalArgumentException {
+        SasBatch result;
+
+        try {
+            result = delegate.newBatch(capacity);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("newBatch", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("newBatch");
+        }
+
+        return result;
+    }
+}
@@ -20,10 +20,12 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Set;
+import sasquatch.SasBatchCursor;
 import sasquatch.SasForwardCursor;
 import sasquatch.SasMetaData;
 import sasquatch.SasScrollableCursor;
 import sasquatch.SasSplittableCursor;
+import sasquatch.SasTable;
 import sasquatch.spi.SasFeature;
 import sasquatch.spi.SasReader;
 
@@ -122,6 +124,57 @@ public final class FailsafeReader implements SasReader {
         return new FailsafeForwardCursor(result, failsafe);
     }
 
+    @Override
+    public SasForwardCursor readForward(Path file, int[] columns) throws IOException {
+        SasForwardCursor result;
+
+        try {
+            result = delegate.readForward(file, columns);
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readForward", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readForward");
+        }
+
+        return new FailsafeForwardCursor(result, failsafe);
+    }
+
+    @Override
+    public SasForwardCursor readForward(Path file, Set<String> columns) throws IOException {
+        SasForwardCursor result;
+
+        try {
+            result = delegate.readForward(file, columns);
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readForward", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readForward");
+        }
+
+        return new FailsafeForwardCursor(result, failsafe);
+    }
+
+    @Override
+    public SasBatchCursor readBatch(Path file) throws IOException {
+        SasBatchCursor result;
+
+        try {
+            result = delegate.readBatch(file);
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readBatch", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readBatch");
+        }
+
+        return new FailsafeBatchCursor(result, failsafe);
+    }
+
     @Override
     public SasScrollableCursor readScrollable(Path file) throws IOException {
         SasScrollableCursor result;
@@ -173,6 +226,23 @@ public final class FailsafeReader implements SasReader {
         return result;
     }
 
+    @Override
+    public SasTable openTable(Path file) throws IOException {
+        SasTable result;
+
+        try {
+            result = delegate.openTable(file);
+        } catch (RuntimeException unexpected) {
+            throw forwardError("openTable", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("openTable");
+        }
+
+        return new FailsafeTable(result, failsafe);
+    }
+
     private IOException forwardError(String method, RuntimeException unexpected) {
         String msg = Failsafe.getErrorMsg(getSource(), method);
         return failsafe.forwardError(msg, unexpected, IOException::new);
@@ -17,6 +17,8 @@
 package internal.sasquatch.spi;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -60,6 +62,51 @@ abstract class FailsafeRowCursor<T extends SasCursor & SasRow> extends FailsafeC
         }
     }
 
+    @Override
+    public boolean isMissing(int columnIndex) throws IOException, IndexOutOfBoundsException {
+        try {
+            return delegate.isMissing(columnIndex);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            throw forwardError("isMissing", unexpected);
+        }
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException, ArithmeticException {
+        try {
+            return delegate.getLong(columnIndex);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof ArithmeticException) {
+                throw unexpected;
+            }
+            throw forwardError("getLong", unexpected);
+        }
+    }
+
+    @Override
+    public void getNumbers(int[] columnIndexes, double[] dst) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        try {
+            delegate.getNumbers(columnIndexes, dst);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("getNumbers", unexpected);
+        }
+    }
+
     @Override
     public String getString(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
         try {
@@ -75,6 +122,52 @@ abstract class FailsafeRowCursor<T extends SasCursor & SasRow> extends FailsafeC
         }
     }
 
+    @Override
+    public CharSequence getChars(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        try {
+            return delegate.getChars(columnIndex);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("getChars", unexpected);
+        }
+    }
+
+    @Override
+    public ByteBuffer getStringBytes(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        try {
+            return delegate.getStringBytes(columnIndex);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("getStringBytes", unexpected);
+        }
+    }
+
+    @Override
+    public Charset getCharset() throws IOException {
+        Charset result;
+
+        try {
+            result = delegate.getCharset();
+        } catch (RuntimeException unexpected) {
+            throw forwardError("getCharset", unexpected);
+        }
+
+        if (result == null)
+            throw forwardNull("getCharset");
+
+        return result;
+    }
+
     @Override
     public LocalDate getDate(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
         try {
@@ -120,6 +213,66 @@ abstract class FailsafeRowCursor<T extends SasCursor & SasRow> extends FailsafeC
         }
     }
 
+    @Override
+    public long getEpochDay(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        try {
+            return delegate.getEpochDay(columnIndex);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("getEpochDay", unexpected);
+        }
+    }
+
+    @Override
+    public long getEpochSecond(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        try {
+            return delegate.getEpochSecond(columnIndex);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("getEpochSecond", unexpected);
+        }
+    }
+
+    @Override
+    public long getEpochMillis(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        try {
+            return delegate.getEpochMillis(columnIndex);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("getEpochMillis", unexpected);
+        }
+    }
+
+    @Override
+    public long getSecondOfDay(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        try {
+            return delegate.getSecondOfDay(columnIndex);
+        } catch (RuntimeException unexpected) {
+            if (unexpected instanceof IndexOutOfBoundsException) {
+                throw unexpected;
+            }
+            if (unexpected instanceof IllegalArgumentException) {
+                throw unexpected;
+            }
+            throw forwardError("getSecondOfDay", unexpected);
+        }
+    }
+
     @Override
     public Object[] getValues() throws IOException {
         Object[] result;
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.sasquatch.spi;
+
+import java.io.IOException;
+import java.util.Set;
+import sasquatch.SasBatchCursor;
+import sasquatch.SasForwardCursor;
+import sasquatch.SasMetaData;
+import sasquatch.SasScrollableCursor;
+import sasquatch.SasSplittableCursor;
+import sasquatch.SasTable;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor
+public final class FailsafeTable implements SasTable {
+
+    @lombok.Getter
+    @lombok.NonNull
+    private final SasTable delegate;
+
+    @lombok.NonNull
+    private final Failsafe failsafe;
+
+    @Override
+    public void close() throws IOException {
+        try {
+            delegate.close();
+        } catch (RuntimeException unexpected) {
+            throw forwardError("close", unexpected);
+        }
+    }
+
+    @Override
+    public SasMetaData getMetaData() throws IOException {
+        SasMetaData result;
+
+        try {
+            result = delegate.getMetaData();
+        } catch (RuntimeException unexpected) {
+            throw forwardError("getMetaData", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("getMetaData");
+        }
+
+        return result;
+    }
+
+    @Override
+    public SasForwardCursor readForward() throws IOException {
+        SasForwardCursor result;
+
+        try {
+            result = delegate.readForward();
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readForward", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readForward");
+        }
+
+        return new FailsafeForwardCursor(result, failsafe);
+    }
+
+    @Override
+    public SasForwardCursor readForward(int[] columns) throws IOException {
+        SasForwardCursor result;
+
+        try {
+            result = delegate.readForward(columns);
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readForward", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readForward");
+        }
+
+        return new FailsafeForwardCursor(result, failsafe);
+    }
+
+    @Override
+    public SasForwardCursor readForward(Set<String> columns) throws IOException {
+        SasForwardCursor result;
+
+        try {
+            result = delegate.readForward(columns);
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readForward", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readForward");
+        }
+
+        return new FailsafeForwardCursor(result, failsafe);
+    }
+
+    @Override
+    public SasBatchCursor readBatch() throws IOException {
+        SasBatchCursor result;
+
+        try {
+            result = delegate.readBatch();
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readBatch", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readBatch");
+        }
+
+        return new FailsafeBatchCursor(result, failsafe);
+    }
+
+    @Override
+    public SasScrollableCursor readScrollable() throws IOException {
+        SasScrollableCursor result;
+
+        try {
+            result = delegate.readScrollable();
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readScrollable", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readScrollable");
+        }
+
+        return new FailsafeScrollableCursor(result, failsafe);
+    }
+
+    @Override
+    public SasSplittableCursor readSplittable() throws IOException {
+        SasSplittableCursor result;
+
+        try {
+            result = delegate.readSplittable();
+        } catch (RuntimeException unexpected) {
+            throw forwardError("readSplittable", unexpected);
+        }
+
+        if (result == null) {
+            throw forwardNull("readSplittable");
+        }
+
+        return new FailsafeSplittableCursor(result, failsafe);
+    }
+
+    private IOException forwardError(String method, RuntimeException unexpected) {
+        String msg = Failsafe.getErrorMsg(getSource(), method);
+        return failsafe.forwardError(msg, unexpected, IOException::new);
+    }
+
+    private IOException forwardNull(String method) {
+        String msg = Failsafe.getNullMsg(getSource(), method);
+        return failsafe.forwardValue(msg, IOException::new);
+    }
+
+    private Class<?> getSource() {
+        return delegate.getClass();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.sasquatch.spi;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Path;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import sasquatch.SasBatchCursor;
+import sasquatch.SasForwardCursor;
+import sasquatch.SasMetaData;
+import sasquatch.SasScrollableCursor;
+import sasquatch.SasSplittableCursor;
+import sasquatch.SasTable;
+import sasquatch.spi.SasReader;
+
+/**
+ * Table that opens the file again for each cursor.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ReaderTable implements SasTable {
+
+    @NonNull
+    public static ReaderTable of(@NonNull SasReader reader, @NonNull Path file) throws IOException {
+        return new ReaderTable(reader, file, reader.readMetaData(file), false);
+    }
+
+    @lombok.NonNull
+    private final SasReader reader;
+
+    @lombok.NonNull
+    private final Path file;
+
+    @lombok.NonNull
+    private final SasMetaData metaData;
+
+    private volatile boolean closed;
+
+    @Override
+    public SasMetaData getMetaData() throws IOException {
+        checkOpen();
+        return metaData;
+    }
+
+    @Override
+    public SasForwardCursor readForward() throws IOException {
+        checkOpen();
+        return reader.readForward(file);
+    }
+
+    @Override
+    public SasForwardCursor readForward(int[] columns) throws IOException {
+        checkOpen();
+        return reader.readForward(file, columns);
+    }
+
+    @Override
+    public SasForwardCursor readForward(Set<String> columns) throws IOException {
+        checkOpen();
+        return reader.readForward(file, columns);
+    }
+
+    @Override
+    public SasBatchCursor readBatch() throws IOException {
+        checkOpen();
+        return reader.readBatch(file);
+    }
+
+    @Override
+    public SasScrollableCursor readScrollable() throws IOException {
+        checkOpen();
+        return reader.readScrollable(file);
+    }
+
+    @Override
+    public SasSplittableCursor readSplittable() throws IOException {
+        checkOpen();
+        return reader.readSplittable(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+    }
+}
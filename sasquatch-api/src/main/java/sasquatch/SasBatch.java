@@ -0,0 +1,404 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A reusable batch of rows stored column by column.
+ * <p>
+ * Columns of type {@link SasColumnType#CHARACTER} are stored as characters
+ * with offsets: the value of row {@code i} is between {@code offsets[i]}
+ * (inclusive) and {@code offsets[i + 1]} (exclusive). Other columns are stored
+ * as doubles:
+ * <ul>
+ * <li>{@link SasColumnType#NUMERIC}: the value itself</li>
+ * <li>{@link SasColumnType#DATE}: the number of days since 1970-01-01</li>
+ * <li>{@link SasColumnType#DATETIME}: the number of seconds since
+ * 1970-01-01T00:00 with a millisecond precision</li>
+ * <li>{@link SasColumnType#TIME}: the number of seconds since midnight with a
+ * millisecond precision</li>
+ * </ul>
+ * Missing values are flagged in a mask and their doubles are set to NaN.
+ *
+ * @apiNote This class is <u>not</u> thread-safe since it is mutable to allow
+ * its reuse between batches.
+ *
+ * @see SasBatchCursor
+ *
+ * @author Philippe Charles
+ */
+public final class SasBatch {
+
+    /**
+     * Creates a batch for some columns.
+     *
+     * @param columns a non-null list of columns
+     * @param capacity the maximum number of rows in the batch
+     * @return a non-null empty batch
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    @NonNull
+    public static SasBatch of(@NonNull List<SasColumn> columns, @NonNegative int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        return new SasBatch(new ArrayList<>(columns), capacity);
+    }
+
+    private final List<SasColumn> columns;
+    private final int capacity;
+    private final boolean[][] missings;
+    private final double[][] doubles;
+    private final char[][] chars;
+    private final int[][] offsets;
+    private int size;
+
+    private SasBatch(List<SasColumn> columns, int capacity) {
+        this.columns = columns;
+        this.capacity = capacity;
+        this.missings = new boolean[columns.size()][capacity];
+        this.doubles = new double[columns.size()][];
+        this.chars = new char[columns.size()][];
+        this.offsets = new int[columns.size()][];
+        for (int j = 0; j < columns.size(); j++) {
+            if (columns.get(j).getType() == SasColumnType.CHARACTER) {
+                chars[j] = new char[capacity * Math.max(1, Math.min(columns.get(j).getLength(), 16))];
+                offsets[j] = new int[capacity + 1];
+            } else {
+                doubles[j] = new double[capacity];
+            }
+        }
+    }
+
+    /**
+     * Returns the columns of this batch.
+     *
+     * @return a non-null list of columns
+     */
+    @NonNull
+    public List<SasColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the maximum number of rows in this batch.
+     *
+     * @return a positive capacity
+     */
+    @NonNegative
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of rows in this batch.
+     *
+     * @return a non-negative size that is lower or equal to the capacity
+     */
+    @NonNegative
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Checks if this batch can hold the values of some columns.
+     *
+     * @param columns a non-null list of columns
+     * @return true if the columns have the same types as the batch columns
+     */
+    public boolean isCompatibleWith(@NonNull List<SasColumn> columns) {
+        if (this.columns.size() != columns.size()) {
+            return false;
+        }
+        for (int j = 0; j < columns.size(); j++) {
+            if (this.columns.get(j).getType() != columns.get(j).getType()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a value is missing.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @return true if the value is missing
+     * @throws IndexOutOfBoundsException if an index is invalid
+     */
+    public boolean isMissing(@NonNegative int row, @NonNegative int columnIndex) throws IndexOutOfBoundsException {
+        return missings[columnIndex][checkRow(row)];
+    }
+
+    /**
+     * Retrieves the double value of a non-character column.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @return a double value if available, NaN otherwise
+     * @throws IndexOutOfBoundsException if an index is invalid
+     * @throws IllegalArgumentException if the column is of type CHARACTER
+     */
+    public double getDouble(@NonNegative int row, @NonNegative int columnIndex) throws IndexOutOfBoundsException, IllegalArgumentException {
+        return getDoubles(columnIndex)[checkRow(row)];
+    }
+
+    /**
+     * Retrieves the string value of a character column.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @return a String if available, null otherwise
+     * @throws IndexOutOfBoundsException if an index is invalid
+     * @throws IllegalArgumentException if the column is not of type CHARACTER
+     */
+    @Nullable
+    public String getString(@NonNegative int row, @NonNegative int columnIndex) throws IndexOutOfBoundsException, IllegalArgumentException {
+        int[] columnOffsets = getOffsets(columnIndex);
+        checkRow(row);
+        return missings[columnIndex][row] ? null : new String(chars[columnIndex], columnOffsets[row], columnOffsets[row + 1] - columnOffsets[row]);
+    }
+
+    /**
+     * Returns the missing-value mask of a column.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a non-null array whose first {@link #getSize()} items are valid
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     */
+    @NonNull
+    public boolean[] getMissings(@NonNegative int columnIndex) throws IndexOutOfBoundsException {
+        return missings[columnIndex];
+    }
+
+    /**
+     * Returns the double vector of a non-character column.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a non-null array whose first {@link #getSize()} items are valid
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is of type CHARACTER
+     */
+    @NonNull
+    public double[] getDoubles(@NonNegative int columnIndex) throws IndexOutOfBoundsException, IllegalArgumentException {
+        double[] result = doubles[columnIndex];
+        if (result == null) {
+            throw invalidColumnType(columnIndex);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the character vector of a character column.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a non-null array
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of type CHARACTER
+     * @see #getOffsets(int)
+     */
+    @NonNull
+    public char[] getChars(@NonNegative int columnIndex) throws IndexOutOfBoundsException, IllegalArgumentException {
+        getOffsets(columnIndex);
+        return chars[columnIndex];
+    }
+
+    /**
+     * Returns the offsets of the values in the character vector of a character
+     * column.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a non-null array whose first {@link #getSize()} + 1 items are
+     * valid
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of type CHARACTER
+     * @see #getChars(int)
+     */
+    @NonNull
+    public int[] getOffsets(@NonNegative int columnIndex) throws IndexOutOfBoundsException, IllegalArgumentException {
+        int[] result = offsets[columnIndex];
+        if (result == null) {
+            throw invalidColumnType(columnIndex);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the rows of this batch.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sets the number of rows of this batch. This method is intended to be
+     * used by cursors after filling the batch.
+     *
+     * @param size the number of rows
+     * @throws IndexOutOfBoundsException if the size exceeds the capacity
+     */
+    public void setSize(@NonNegative int size) throws IndexOutOfBoundsException {
+        if (size < 0 || size > capacity) {
+            throw new IndexOutOfBoundsException("Invalid size: " + size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Puts a double value in a non-character column. NaN is considered as a
+     * missing value.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @param value a double value
+     * @throws IndexOutOfBoundsException if an index is invalid
+     * @throws IllegalArgumentException if the column is of type CHARACTER
+     */
+    public void putDouble(@NonNegative int row, @NonNegative int columnIndex, double value) throws IndexOutOfBoundsException, IllegalArgumentException {
+        getDoubles(columnIndex)[row] = value;
+        missings[columnIndex][row] = Double.isNaN(value);
+    }
+
+    /**
+     * Puts a date value in a column of type DATE.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @param value a nullable date
+     * @throws IndexOutOfBoundsException if an index is invalid
+     * @throws IllegalArgumentException if the column is of type CHARACTER
+     */
+    public void putDate(@NonNegative int row, @NonNegative int columnIndex, @Nullable LocalDate value) throws IndexOutOfBoundsException, IllegalArgumentException {
+        putDouble(row, columnIndex, value != null ? value.toEpochDay() : Double.NaN);
+    }
+
+    /**
+     * Puts a date time value in a column of type DATETIME.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @param value a nullable date time
+     * @throws IndexOutOfBoundsException if an index is invalid
+     * @throws IllegalArgumentException if the column is of type CHARACTER
+     */
+    public void putDateTime(@NonNegative int row, @NonNegative int columnIndex, @Nullable LocalDateTime value) throws IndexOutOfBoundsException, IllegalArgumentException {
+        putDouble(row, columnIndex, value != null ? (value.toEpochSecond(ZoneOffset.UTC) * 1000 + value.getNano() / 1_000_000) / 1000d : Double.NaN);
+    }
+
+    /**
+     * Puts a time value in a column of type TIME.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @param value a nullable time
+     * @throws IndexOutOfBoundsException if an index is invalid
+     * @throws IllegalArgumentException if the column is of type CHARACTER
+     */
+    public void putTime(@NonNegative int row, @NonNegative int columnIndex, @Nullable LocalTime value) throws IndexOutOfBoundsException, IllegalArgumentException {
+        putDouble(row, columnIndex, value != null ? (value.toNanoOfDay() / 1_000_000) / 1000d : Double.NaN);
+    }
+
+    /**
+     * Puts a string value in a character column. The rows of a column must be
+     * put in ascending order starting from zero.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @param value a nullable string
+     * @throws IndexOutOfBoundsException if an index is invalid
+     * @throws IllegalArgumentException if the column is not of type CHARACTER
+     */
+    public void putString(@NonNegative int row, @NonNegative int columnIndex, @Nullable CharSequence value) throws IndexOutOfBoundsException, IllegalArgumentException {
+        int[] columnOffsets = getOffsets(columnIndex);
+        int start = columnOffsets[row];
+        if (value == null) {
+            columnOffsets[row + 1] = start;
+            missings[columnIndex][row] = true;
+            return;
+        }
+        int end = start + value.length();
+        char[] columnChars = ensureChars(columnIndex, end);
+        for (int i = start; i < end; i++) {
+            columnChars[i] = value.charAt(i - start);
+        }
+        columnOffsets[row + 1] = end;
+        missings[columnIndex][row] = false;
+    }
+
+    /**
+     * Puts a string value in a character column. The rows of a column must be
+     * put in ascending order starting from zero.
+     *
+     * @param row the zero-based row index in the batch
+     * @param columnIndex the zero-based column index
+     * @param value a non-null array of characters
+     * @param offset the position of the first character of the value
+     * @param length the number of characters of the value
+     * @throws IndexOutOfBoundsException if an index is invalid
+     * @throws IllegalArgumentException if the column is not of type CHARACTER
+     */
+    public void putChars(@NonNegative int row, @NonNegative int columnIndex, @NonNull char[] value, @NonNegative int offset, @NonNegative int length) throws IndexOutOfBoundsException, IllegalArgumentException {
+        int[] columnOffsets = getOffsets(columnIndex);
+        int start = columnOffsets[row];
+        System.arraycopy(value, offset, ensureChars(columnIndex, start + length), start, length);
+        columnOffsets[row + 1] = start + length;
+        missings[columnIndex][row] = false;
+    }
+
+    /**
+     * A function that handles the content of a batch. The batch is reused
+     * afterwards, so its content must be copied if it is needed later.
+     */
+    @FunctionalInterface
+    public interface Consumer {
+
+        void accept(@NonNull SasBatch batch) throws IOException;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row index out of range: " + row);
+        }
+        return row;
+    }
+
+    private char[] ensureChars(int columnIndex, int minCapacity) {
+        char[] result = chars[columnIndex];
+        if (result.length < minCapacity) {
+            result = Arrays.copyOf(result, Math.max(minCapacity, result.length * 2));
+            chars[columnIndex] = result;
+        }
+        return result;
+    }
+
+    private IllegalArgumentException invalidColumnType(int columnIndex) {
+        return new IllegalArgumentException("Column at index " + columnIndex + " has an invalid type '" + columns.get(columnIndex).getType() + "'");
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch;
+
+import java.io.IOException;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+
+/**
+ * A SAS dataset cursor that browses rows in forward-only mode by batches of
+ * rows stored column by column.
+ *
+ * @apiNote This cursor is <u>not</u> thread-safe since it is mutable to allow
+ * iteration through the content.<br>Furthermore, it might hold some resources
+ * opened so it is advised to close it after use.
+ *
+ * @see SasBatch
+ *
+ * @author Philippe Charles
+ */
+public interface SasBatchCursor extends SasCursor {
+
+    /**
+     * Fills a batch with the next rows. The previous content of the batch is
+     * discarded.
+     *
+     * @param batch a non-null batch that has the columns of this cursor
+     * @return true if at least one row has been read; false otherwise
+     * @throws IOException if an I/O exception occurred
+     * @throws IllegalArgumentException if the batch doesn't have the columns
+     * of this cursor
+     */
+    boolean nextBatch(@NonNull SasBatch batch) throws IOException, IllegalArgumentException;
+
+    /**
+     * Creates a batch that fits the columns of this cursor.
+     *
+     * @param capacity the maximum number of rows in the batch
+     * @return a non-null empty batch
+     * @throws IOException if an I/O exception occurred
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    @NonNull
+    default SasBatch newBatch(@NonNegative int capacity) throws IOException, IllegalArgumentException {
+        return SasBatch.of(getColumns(), capacity);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch;
+
+import lombok.NonNull;
+
+/**
+ * Interfaces for flow-controlled publishers and subscribers. They mirror
+ * {@code java.util.concurrent.Flow} that is not available in Java 8; an
+ * adapter can be written with method references.
+ *
+ * @see Sasquatch#publishBatches(java.nio.file.Path, int,
+ * java.util.concurrent.Executor)
+ *
+ * @author Philippe Charles
+ */
+@lombok.experimental.UtilityClass
+public class SasFlow {
+
+    /**
+     * A producer of items that are received by subscribers on demand.
+     *
+     * @param <T> the type of the items
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+
+        /**
+         * Adds a subscriber. Nothing is produced until the subscriber requests
+         * items through its subscription.
+         *
+         * @param subscriber a non-null subscriber
+         */
+        void subscribe(@NonNull Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * A receiver of items. Its methods are called sequentially for a given
+     * subscription.
+     *
+     * @param <T> the type of the items
+     */
+    public interface Subscriber<T> {
+
+        void onSubscribe(@NonNull Subscription subscription);
+
+        void onNext(@NonNull T item);
+
+        void onError(@NonNull Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * A link between a publisher and a subscriber.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds some items to the demand of the subscriber.
+         *
+         * @param n the number of items, a non-positive value cancels the
+         * subscription with an error
+         */
+        void request(long n);
+
+        /**
+         * Stops the production of items and releases the resources of the
+         * subscription.
+         */
+        void cancel();
+    }
+}
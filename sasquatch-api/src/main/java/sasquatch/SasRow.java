@@ -17,9 +17,13 @@
 package sasquatch;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import nbbrd.design.NonNegative;
 import lombok.NonNull;
 import org.jspecify.annotations.Nullable;
@@ -31,6 +35,11 @@ import org.jspecify.annotations.Nullable;
  */
 public interface SasRow {
 
+    /**
+     * Value returned by the epoch-based accessors when a value is missing.
+     */
+    long MISSING_TEMPORAL = Long.MIN_VALUE;
+
     /**
      * Retrieves the value of the specified column in the current row.
      * <br>The value type depends on the column type.
@@ -54,6 +63,64 @@ public interface SasRow {
      */
     double getNumber(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException;
 
+    /**
+     * Checks if the value of the specified column in the current row is
+     * missing.
+     *
+     * @implSpec The default implementation checks the result of
+     * {@link #getValue(int)}. Implementations are encouraged to override it in
+     * order to avoid the decoding of the value.
+     *
+     * @param columnIndex the zero-based column index
+     * @return true if the value is missing; false otherwise
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     */
+    default boolean isMissing(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException {
+        Object result = getValue(columnIndex);
+        return result == null || (result instanceof Double && ((Double) result).isNaN());
+    }
+
+    /**
+     * Retrieves the integer value of the specified column in the current row.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a long value
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of type NUMERIC
+     * @throws ArithmeticException if the value is missing or is not an integer
+     * in the range of long
+     */
+    default long getLong(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException, ArithmeticException {
+        double value = getNumber(columnIndex);
+        long result = (long) value;
+        if (result != value || result == Long.MAX_VALUE) {
+            throw new ArithmeticException("Not a long value: " + value);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the numeric values of several columns in the current row.
+     *
+     * @param columnIndexes the zero-based indexes of the columns
+     * @param dst the array that receives the values in the order of the
+     * columns; NaN if not available
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if a columnIndex is invalid or if the
+     * array is too small
+     * @throws IllegalArgumentException if a column is not of type NUMERIC
+     */
+    default void getNumbers(@NonNull int[] columnIndexes, @NonNull double[] dst) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        if (dst.length < columnIndexes.length) {
+            throw new IndexOutOfBoundsException("Destination too small: " + dst.length);
+        }
+        for (int i = 0; i < columnIndexes.length; i++) {
+            dst[i] = getNumber(columnIndexes[i]);
+        }
+    }
+
     /**
      * Retrieves the string value of the specified column in the current row.
      *
@@ -66,6 +133,61 @@ public interface SasRow {
     @Nullable
     String getString(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException;
 
+    /**
+     * Retrieves a view of the string value of the specified column in the
+     * current row. The view has the same content as
+     * {@link #getString(int)} but might be backed by the row data; it is
+     * therefore only valid until the cursor moves.
+     *
+     * @implSpec The default implementation returns the result of
+     * {@link #getString(int)}.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a char sequence if available, null otherwise
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of type CHARACTER
+     */
+    @Nullable
+    default CharSequence getChars(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        return getString(columnIndex);
+    }
+
+    /**
+     * Retrieves the encoded string value of the specified column in the
+     * current row, without decoding. The remaining bytes of the returned
+     * buffer are the value of {@link #getString(int)} in the charset given by
+     * {@link #getCharset()}. The buffer is read-only and might be backed by
+     * the row data; it is therefore only valid until the cursor moves.
+     *
+     * @implSpec The default implementation encodes the result of
+     * {@link #getString(int)}.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a byte buffer if available, null otherwise
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of type CHARACTER
+     */
+    @Nullable
+    default ByteBuffer getStringBytes(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        String result = getString(columnIndex);
+        return result != null ? getCharset().encode(result).asReadOnlyBuffer() : null;
+    }
+
+    /**
+     * Gets the charset of the bytes returned by {@link #getStringBytes(int)}.
+     *
+     * @implSpec The default implementation returns UTF-8.
+     *
+     * @return a non-null charset
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    default Charset getCharset() throws IOException {
+        return StandardCharsets.UTF_8;
+    }
+
     /**
      * Retrieves the date value of the specified column in the current row.
      *
@@ -105,6 +227,91 @@ public interface SasRow {
     @Nullable
     LocalTime getTime(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException;
 
+    /**
+     * Retrieves the date value of the specified column in the current row as a
+     * number of days since Java epoch (1970-01-01).
+     *
+     * @implSpec The default implementation converts the result of
+     * {@link #getDate(int)}. Implementations are encouraged to override it in
+     * order to avoid the creation of the date.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a number of days if available, {@link #MISSING_TEMPORAL}
+     * otherwise
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of date-related
+     * subtype
+     */
+    default long getEpochDay(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        LocalDate result = getDate(columnIndex);
+        return result != null ? result.toEpochDay() : MISSING_TEMPORAL;
+    }
+
+    /**
+     * Retrieves the date time value of the specified column in the current row
+     * as a number of seconds since Java epoch (1970-01-01T00:00). The
+     * fraction of second is dropped.
+     *
+     * @implSpec The default implementation converts the result of
+     * {@link #getDateTime(int)}. Implementations are encouraged to override it
+     * in order to avoid the creation of the date time.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a number of seconds if available, {@link #MISSING_TEMPORAL}
+     * otherwise
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of datetime-related
+     * subtype
+     */
+    default long getEpochSecond(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        LocalDateTime result = getDateTime(columnIndex);
+        return result != null ? result.toEpochSecond(ZoneOffset.UTC) : MISSING_TEMPORAL;
+    }
+
+    /**
+     * Retrieves the date time value of the specified column in the current row
+     * as a number of milliseconds since Java epoch (1970-01-01T00:00).
+     *
+     * @implSpec The default implementation converts the result of
+     * {@link #getDateTime(int)}. Implementations are encouraged to override it
+     * in order to avoid the creation of the date time.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a number of milliseconds if available,
+     * {@link #MISSING_TEMPORAL} otherwise
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of datetime-related
+     * subtype
+     */
+    default long getEpochMillis(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        LocalDateTime result = getDateTime(columnIndex);
+        return result != null ? result.toInstant(ZoneOffset.UTC).toEpochMilli() : MISSING_TEMPORAL;
+    }
+
+    /**
+     * Retrieves the time value of the specified column in the current row as a
+     * number of seconds since midnight. The fraction of second is dropped.
+     *
+     * @implSpec The default implementation converts the result of
+     * {@link #getTime(int)}. Implementations are encouraged to override it in
+     * order to avoid the creation of the time.
+     *
+     * @param columnIndex the zero-based column index
+     * @return a number of seconds if available, {@link #MISSING_TEMPORAL}
+     * otherwise
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if the columnIndex is invalid
+     * @throws IllegalArgumentException if the column is not of time-related
+     * subtype
+     */
+    default long getSecondOfDay(@NonNegative int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        LocalTime result = getTime(columnIndex);
+        return result != null ? result.toSecondOfDay() : MISSING_TEMPORAL;
+    }
+
     /**
      * Retrieves the values of all columns in the current row.
      *
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Set;
+import lombok.NonNull;
+
+/**
+ * An opened SAS dataset that creates independent cursors on demand. The
+ * metadata is parsed once when the dataset is opened and the underlying
+ * resources are shared by all the cursors.
+ *
+ * @apiNote This table is thread-safe: cursors can be created from any thread.
+ * The cursors themselves are <u>not</u> thread-safe but they don't share any
+ * mutable state so that each of them can be used by a different thread.<br>
+ * Closing a cursor doesn't close the table but closing the table might
+ * invalidate the cursors that are still opened.
+ *
+ * @author Philippe Charles
+ */
+//@ThreadSafe
+public interface SasTable extends Closeable {
+
+    /**
+     * Returns the metadata.
+     *
+     * @return a non-null metadata
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    SasMetaData getMetaData() throws IOException;
+
+    /**
+     * Creates a forward cursor.
+     *
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    SasForwardCursor readForward() throws IOException;
+
+    /**
+     * Creates a forward cursor on a subset of the columns. The columns of the
+     * cursor are renumbered in the specified order.
+     *
+     * @param columns the zero-based indexes of the columns to read
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if a column index is out of range
+     */
+    @NonNull
+    SasForwardCursor readForward(@NonNull int[] columns) throws IOException;
+
+    /**
+     * Creates a forward cursor on a subset of the columns. The columns of the
+     * cursor keep their relative order.
+     *
+     * @param columns the names of the columns to read
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     * @throws IllegalArgumentException if a column is not found
+     */
+    @NonNull
+    SasForwardCursor readForward(@NonNull Set<String> columns) throws IOException;
+
+    /**
+     * Creates a batch cursor.
+     *
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    SasBatchCursor readBatch() throws IOException;
+
+    /**
+     * Creates a scrollable cursor.
+     *
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    SasScrollableCursor readScrollable() throws IOException;
+
+    /**
+     * Creates a splittable cursor.
+     *
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    SasSplittableCursor readSplittable() throws IOException;
+}
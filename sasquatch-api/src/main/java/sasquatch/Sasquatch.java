@@ -16,9 +16,12 @@
  */
 package sasquatch;
 
+import internal.sasquatch.BatchPublisher;
+import internal.sasquatch.BulkReader;
 import internal.sasquatch.spi.FailsafeReader;
 import lombok.AccessLevel;
 import lombok.NonNull;
+import nbbrd.design.NonNegative;
 import sasquatch.spi.SasReader;
 import sasquatch.spi.SasReaderLoader;
 import sasquatch.util.SasCursors;
@@ -28,9 +31,15 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -87,6 +96,63 @@ public final class Sasquatch {
         return getReader().readForward(file);
     }
 
+    /**
+     * Reads a subset of the columns of a SAS dataset into a forward cursor.
+     * The columns of the cursor are renumbered in the specified order.
+     *
+     * @apiNote This method must be used within a try-with-resources statement
+     * or similar control structure to ensure that the cursor's open file is
+     * closed promptly after the cursor's operations have completed.
+     *
+     * @param file the SAS dataset to read
+     * @param columns the zero-based indexes of the columns to read
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    public SasForwardCursor readForward(@NonNull Path file, @NonNull int[] columns) throws IOException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(columns);
+        return getReader().readForward(file, columns);
+    }
+
+    /**
+     * Reads a subset of the columns of a SAS dataset into a forward cursor.
+     * The columns of the cursor keep their relative order.
+     *
+     * @apiNote This method must be used within a try-with-resources statement
+     * or similar control structure to ensure that the cursor's open file is
+     * closed promptly after the cursor's operations have completed.
+     *
+     * @param file the SAS dataset to read
+     * @param columns the names of the columns to read
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    public SasForwardCursor readForward(@NonNull Path file, @NonNull Set<String> columns) throws IOException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(columns);
+        return getReader().readForward(file, columns);
+    }
+
+    /**
+     * Reads a SAS dataset into a batch cursor.
+     *
+     * @apiNote This method must be used within a try-with-resources statement
+     * or similar control structure to ensure that the cursor's open file is
+     * closed promptly after the cursor's operations have completed.
+     *
+     * @param file the SAS dataset to read
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    public SasBatchCursor readBatch(@NonNull Path file) throws IOException {
+        Objects.requireNonNull(file);
+        return getReader().readBatch(file);
+    }
+
     /**
      * Reads a SAS dataset into a scrollable cursor.
      *
@@ -134,6 +200,24 @@ public final class Sasquatch {
         return getReader().readMetaData(file);
     }
 
+    /**
+     * Opens a SAS dataset as a table that parses the metadata once and then
+     * creates independent cursors on demand from any thread.
+     *
+     * @apiNote This method must be used within a try-with-resources statement
+     * or similar control structure to ensure that the table's open file is
+     * closed promptly after the table's operations have completed.
+     *
+     * @param file the SAS dataset to open
+     * @return a non-null table
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    public SasTable openTable(@NonNull Path file) throws IOException {
+        Objects.requireNonNull(file);
+        return getReader().openTable(file);
+    }
+
     /**
      * Reads all rows of a SAS dataset as a {@code Stream}. Unlike {@link
      * #getAllRows(Path, Charset) getAllRows}, this method does not read all
@@ -180,10 +264,185 @@ public final class Sasquatch {
         }
     }
 
+    /**
+     * Reads the metadata of a SAS dataset asynchronously.
+     *
+     * @apiNote Cancelling the returned future before the task starts prevents
+     * the file from being opened.
+     *
+     * @param file the SAS dataset to read
+     * @param executor the executor used to read the file
+     * @return a non-null future completed with a non-null metadata or with an
+     * I/O exception
+     */
+    @NonNull
+    public CompletableFuture<SasMetaData> readMetaDataAsync(@NonNull Path file, @NonNull Executor executor) {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(executor);
+        return supplyAsync(executor, future -> readMetaData(file));
+    }
+
+    /**
+     * Reads all rows of a SAS dataset asynchronously.
+     *
+     * @apiNote Cancelling the returned future stops the reading before the
+     * next row; the underlying cursor is closed by the reading thread.
+     *
+     * @param <T> the type of the mapper resulting object
+     * @param file the SAS dataset to read
+     * @param factory a non-null mapper factory
+     * @param executor the executor used to read the file
+     * @return a non-null future completed with a non-null list or with an I/O
+     * exception
+     */
+    @NonNull
+    public <T> CompletableFuture<List<T>> getAllRowsAsync(@NonNull Path file, SasRow.@NonNull Factory<T> factory, @NonNull Executor executor) {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(factory);
+        Objects.requireNonNull(executor);
+        return supplyAsync(executor, future -> {
+            try ( SasForwardCursor cursor = readForward(file)) {
+                SasRow.Mapper<T> mapper = factory.get(cursor);
+                List<T> result = new ArrayList<>(cursor.getRowCount());
+                while (!future.isDone() && cursor.next()) {
+                    result.add(mapper.apply(cursor));
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Reads all rows of a SAS dataset asynchronously by batches. The same
+     * batch is reused between calls to the consumer.
+     *
+     * @apiNote Cancelling the returned future stops the reading before the
+     * next batch; the underlying cursor is closed by the reading thread and
+     * the consumer is not called afterwards.
+     *
+     * @param file the SAS dataset to read
+     * @param capacity the maximum number of rows in a batch
+     * @param consumer a non-null batch consumer
+     * @param executor the executor used to read the file
+     * @return a non-null future completed once all batches have been consumed
+     * or with an I/O exception
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    @NonNull
+    public CompletableFuture<Void> forEachBatchAsync(@NonNull Path file, @NonNegative int capacity, SasBatch.@NonNull Consumer consumer, @NonNull Executor executor) throws IllegalArgumentException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(consumer);
+        Objects.requireNonNull(executor);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        return supplyAsync(executor, future -> {
+            try ( SasBatchCursor cursor = readBatch(file)) {
+                SasBatch batch = cursor.newBatch(capacity);
+                while (!future.isDone() && cursor.nextBatch(batch) && !future.isDone()) {
+                    consumer.accept(batch);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Publishes the rows of a SAS dataset by batches. Each subscriber gets
+     * its own cursor that is opened on the first request and closed on
+     * completion, error or cancellation. A batch is only read when the
+     * subscriber has requested it, so a slow subscriber bounds the memory
+     * used by the reading.
+     *
+     * @apiNote The same batch is reused between calls to
+     * {@link SasFlow.Subscriber#onNext(Object) onNext}, so its content must be
+     * copied if it is needed afterwards.
+     *
+     * @param file the SAS dataset to read
+     * @param capacity the maximum number of rows in a batch
+     * @param executor the executor used to read the file and to signal the
+     * subscribers
+     * @return a non-null publisher
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    @NonNull
+    public SasFlow.Publisher<SasBatch> publishBatches(@NonNull Path file, @NonNegative int capacity, @NonNull Executor executor) throws IllegalArgumentException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(executor);
+        return BatchPublisher.of(() -> readBatch(file), capacity, executor);
+    }
+
+    /**
+     * Reads many SAS datasets with a bounded number of open files. The
+     * smallest files are read first. A failure on a file is collected and
+     * doesn't stop the reading of the other files.
+     *
+     * @apiNote The files are read on virtual threads if they are available
+     * (Java 21+) and on platform threads otherwise. This method blocks until
+     * all files have been handled.
+     *
+     * @param files the SAS datasets to read
+     * @param concurrency the maximum number of files read at the same time
+     * @param handler a non-null handler called once per file
+     * @return a non-null map of the failures by file, sorted by file; the
+     * failures of a file that is listed several times are merged into the
+     * first one as suppressed exceptions
+     * @throws InterruptedException if the current thread is interrupted while
+     * waiting; the remaining files are not read and the files being read are
+     * interrupted and closed before this method returns
+     * @throws IllegalArgumentException if the concurrency is not positive
+     */
+    @NonNull
+    public Map<Path, Exception> readAll(@NonNull Stream<Path> files, @NonNegative int concurrency, @NonNull FileHandler handler) throws InterruptedException, IllegalArgumentException {
+        Objects.requireNonNull(files);
+        Objects.requireNonNull(handler);
+        return BulkReader.of(concurrency).process(files, file -> {
+            try ( SasForwardCursor cursor = readForward(file)) {
+                handler.handle(file, cursor);
+            }
+        });
+    }
+
+    /**
+     * A function that handles a SAS dataset through a forward cursor. The
+     * cursor is closed after the call.
+     *
+     * @see #readAll(Stream, int, FileHandler)
+     */
+    @FunctionalInterface
+    public interface FileHandler {
+
+        void handle(@NonNull Path file, @NonNull SasForwardCursor cursor) throws IOException;
+    }
+
     private SasReader getReader() throws IOException {
         return reader.orElseThrow(() -> new IOException("No reader available"));
     }
 
+    @FunctionalInterface
+    private interface AsyncTask<T> {
+
+        T run(CompletableFuture<T> future) throws IOException;
+    }
+
+    private static <T> CompletableFuture<T> supplyAsync(Executor executor, AsyncTask<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (!result.isDone()) {
+                    try {
+                        result.complete(task.run(result));
+                    } catch (Throwable ex) {
+                        result.completeExceptionally(ex);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
     private static <T> Function<SasRow, T> asUnchecked(SasRow.Mapper<T> mapper) {
         return row -> {
             try {
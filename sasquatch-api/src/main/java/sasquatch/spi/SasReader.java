@@ -17,11 +17,13 @@
 package sasquatch.spi;
 
 import internal.sasquatch.spi.FailsafeReader;
+import internal.sasquatch.spi.ReaderTable;
 import nbbrd.service.*;
 import sasquatch.*;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Set;
+import sasquatch.util.SasCursors;
 
 import nbbrd.design.NonNegative;
 import lombok.NonNull;
@@ -85,6 +87,70 @@ public interface SasReader {
     @NonNull
     SasForwardCursor readForward(@NonNull Path file) throws IOException;
 
+    /**
+     * Reads a subset of the columns of a SAS dataset into a forward cursor.
+     * The columns of the cursor are renumbered in the specified order.
+     *
+     * @implSpec The default implementation projects the cursor returned by
+     * {@link #readForward(Path)}. Implementations are encouraged to override it
+     * in order to skip the decoding of the other columns.
+     *
+     * @param file the SAS dataset to read
+     * @param columns the zero-based indexes of the columns to read
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if a column index is out of range
+     */
+    @NonNull
+    default SasForwardCursor readForward(@NonNull Path file, @NonNull int[] columns) throws IOException {
+        SasForwardCursor result = readForward(file);
+        try {
+            return SasCursors.project(result, columns);
+        } catch (Error | RuntimeException | IOException ex) {
+            try {
+                result.close();
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Reads a subset of the columns of a SAS dataset into a forward cursor.
+     * The columns of the cursor keep their relative order.
+     *
+     * @implSpec The default implementation resolves the names with
+     * {@link #readMetaData(Path)} and then calls
+     * {@link #readForward(Path, int[])}.
+     *
+     * @param file the SAS dataset to read
+     * @param columns the names of the columns to read
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     * @throws IllegalArgumentException if a column is not found
+     */
+    @NonNull
+    default SasForwardCursor readForward(@NonNull Path file, @NonNull Set<String> columns) throws IOException {
+        return readForward(file, SasCursors.getColumnIndexes(readMetaData(file), columns));
+    }
+
+    /**
+     * Reads a SAS dataset into a batch cursor.
+     *
+     * @implSpec The default implementation fills the batches row by row from
+     * the cursor returned by {@link #readForward(Path)}. Implementations are
+     * encouraged to override it in order to fill the batches directly.
+     *
+     * @param file the SAS dataset to read
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    default SasBatchCursor readBatch(@NonNull Path file) throws IOException {
+        return SasCursors.asBatch(readForward(file));
+    }
+
     /**
      * Reads a SAS dataset into a scrollable cursor.
      *
@@ -115,6 +181,24 @@ public interface SasReader {
     @NonNull
     SasMetaData readMetaData(@NonNull Path file) throws IOException;
 
+    /**
+     * Opens a SAS dataset as a table that creates independent cursors on
+     * demand.
+     *
+     * @implSpec The default implementation reads the metadata once and then
+     * opens the file again for each cursor. Implementations are encouraged to
+     * override it in order to share the parsing and the opened file between
+     * the cursors.
+     *
+     * @param file the SAS dataset to open
+     * @return a non-null table
+     * @throws IOException if an I/O exception occurred
+     */
+    @NonNull
+    default SasTable openTable(@NonNull Path file) throws IOException {
+        return ReaderTable.of(this, file);
+    }
+
     public static final int ADVANCED_SUPPORT = 100;
     public static final int BASIC_SUPPORT = 1000;
 }
@@ -18,15 +18,23 @@ package sasquatch.util;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import lombok.NonNull;
+import sasquatch.SasBatch;
+import sasquatch.SasBatchCursor;
+import sasquatch.SasColumn;
 import sasquatch.SasCursor;
 import sasquatch.SasForwardCursor;
 import sasquatch.SasMetaData;
@@ -62,6 +70,75 @@ public class SasCursors {
         return new ForwardSplittable(forward);
     }
 
+    /**
+     * Creates a batch cursor that fills its batches row by row from a forward
+     * cursor.
+     *
+     * @param forward a non-null cursor
+     * @return a non-null cursor
+     */
+    @NonNull
+    public SasBatchCursor asBatch(@NonNull SasForwardCursor forward) {
+        return new ForwardBatchCursor(forward);
+    }
+
+    /**
+     * Creates a forward cursor that only exposes a subset of the columns of
+     * another cursor. The projected columns are renumbered in the specified
+     * order.
+     *
+     * @param forward a non-null cursor
+     * @param columns the zero-based indexes of the columns to keep
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     * @throws IndexOutOfBoundsException if a column index is out of range
+     */
+    @NonNull
+    public SasForwardCursor project(@NonNull SasForwardCursor forward, @NonNull int[] columns) throws IOException {
+        return new ProjectedForwardCursor(forward, project(forward.getMetaData(), columns), columns.clone());
+    }
+
+    /**
+     * Creates the metadata of a subset of columns. The projected columns are
+     * renumbered in the specified order.
+     *
+     * @param meta a non-null metadata
+     * @param columns the zero-based indexes of the columns to keep
+     * @return a non-null metadata
+     * @throws IndexOutOfBoundsException if a column index is out of range
+     */
+    @NonNull
+    public SasMetaData project(@NonNull SasMetaData meta, @NonNull int[] columns) throws IndexOutOfBoundsException {
+        List<SasColumn> result = new ArrayList<>(columns.length);
+        for (int j = 0; j < columns.length; j++) {
+            result.add(meta.getColumns().get(columns[j]).toBuilder().order(j).build());
+        }
+        return meta.toBuilder().clearColumns().columns(result).build();
+    }
+
+    /**
+     * Gets the indexes of some columns by their names. The indexes are sorted
+     * in the column order.
+     *
+     * @param meta a non-null metadata
+     * @param names the non-null names of the columns
+     * @return a non-null array of zero-based indexes
+     * @throws IllegalArgumentException if a column is not found
+     */
+    @NonNull
+    public int[] getColumnIndexes(@NonNull SasMetaData meta, @NonNull Set<String> names) throws IllegalArgumentException {
+        List<SasColumn> columns = meta.getColumns();
+        int[] result = IntStream.range(0, columns.size())
+                .filter(j -> names.contains(columns.get(j).getName()))
+                .toArray();
+        if (result.length != names.size()) {
+            Set<String> missing = new HashSet<>(names);
+            columns.forEach(column -> missing.remove(column.getName()));
+            throw new IllegalArgumentException("Columns not found: " + missing);
+        }
+        return result;
+    }
+
     @NonNull
     public SasForwardCursor forwardOf(@NonNull SasMetaData meta, @NonNull List<Object[]> data) {
         return new ListForwardCursor(meta, data);
@@ -90,6 +167,160 @@ public class SasCursors {
         }
     }
 
+    @lombok.AllArgsConstructor
+    private static final class ForwardBatchCursor implements SasBatchCursor {
+
+        @lombok.NonNull
+        @lombok.experimental.Delegate(types = SasCursor.class)
+        private final SasForwardCursor cursor;
+
+        @Override
+        public boolean nextBatch(SasBatch batch) throws IOException {
+            List<SasColumn> columns = cursor.getColumns();
+            if (!batch.isCompatibleWith(columns)) {
+                throw new IllegalArgumentException("Batch columns don't match cursor columns");
+            }
+            batch.clear();
+            int size = 0;
+            while (size < batch.getCapacity() && cursor.next()) {
+                for (int j = 0; j < columns.size(); j++) {
+                    switch (columns.get(j).getType()) {
+                        case CHARACTER:
+                            batch.putString(size, j, cursor.getString(j));
+                            break;
+                        case NUMERIC:
+                            batch.putDouble(size, j, cursor.getNumber(j));
+                            break;
+                        case DATE:
+                            batch.putDate(size, j, cursor.getDate(j));
+                            break;
+                        case DATETIME:
+                            batch.putDateTime(size, j, cursor.getDateTime(j));
+                            break;
+                        case TIME:
+                            batch.putTime(size, j, cursor.getTime(j));
+                            break;
+                    }
+                }
+                size++;
+            }
+            batch.setSize(size);
+            return size > 0;
+        }
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class ProjectedForwardCursor implements SasForwardCursor {
+
+        @lombok.NonNull
+        private final SasForwardCursor cursor;
+
+        @lombok.NonNull
+        private final SasMetaData metaData;
+
+        @lombok.NonNull
+        private final int[] columns;
+
+        @Override
+        public SasMetaData getMetaData() {
+            return metaData;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            return cursor.next();
+        }
+
+        @Override
+        public Object getValue(int columnIndex) throws IOException {
+            return cursor.getValue(columns[columnIndex]);
+        }
+
+        @Override
+        public double getNumber(int columnIndex) throws IOException {
+            return cursor.getNumber(columns[columnIndex]);
+        }
+
+        @Override
+        public boolean isMissing(int columnIndex) throws IOException {
+            return cursor.isMissing(columns[columnIndex]);
+        }
+
+        @Override
+        public long getLong(int columnIndex) throws IOException {
+            return cursor.getLong(columns[columnIndex]);
+        }
+
+        @Override
+        public String getString(int columnIndex) throws IOException {
+            return cursor.getString(columns[columnIndex]);
+        }
+
+        @Override
+        public CharSequence getChars(int columnIndex) throws IOException {
+            return cursor.getChars(columns[columnIndex]);
+        }
+
+        @Override
+        public ByteBuffer getStringBytes(int columnIndex) throws IOException {
+            return cursor.getStringBytes(columns[columnIndex]);
+        }
+
+        @Override
+        public Charset getCharset() throws IOException {
+            return cursor.getCharset();
+        }
+
+        @Override
+        public LocalDate getDate(int columnIndex) throws IOException {
+            return cursor.getDate(columns[columnIndex]);
+        }
+
+        @Override
+        public LocalDateTime getDateTime(int columnIndex) throws IOException {
+            return cursor.getDateTime(columns[columnIndex]);
+        }
+
+        @Override
+        public LocalTime getTime(int columnIndex) throws IOException {
+            return cursor.getTime(columns[columnIndex]);
+        }
+
+        @Override
+        public long getEpochDay(int columnIndex) throws IOException {
+            return cursor.getEpochDay(columns[columnIndex]);
+        }
+
+        @Override
+        public long getEpochSecond(int columnIndex) throws IOException {
+            return cursor.getEpochSecond(columns[columnIndex]);
+        }
+
+        @Override
+        public long getEpochMillis(int columnIndex) throws IOException {
+            return cursor.getEpochMillis(columns[columnIndex]);
+        }
+
+        @Override
+        public long getSecondOfDay(int columnIndex) throws IOException {
+            return cursor.getSecondOfDay(columns[columnIndex]);
+        }
+
+        @Override
+        public Object[] getValues() throws IOException {
+            Object[] result = new Object[columns.length];
+            for (int j = 0; j < result.length; j++) {
+                result[j] = cursor.getValue(columns[j]);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            cursor.close();
+        }
+    }
+
     @lombok.AllArgsConstructor
     private static final class ForwardSpliterator implements Spliterator<SasRow> {
 
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import sasquatch.SasBatch;
+import sasquatch.SasBatchCursor;
+import sasquatch.SasForwardCursor;
+import sasquatch.SasMetaData;
+import sasquatch.SasScrollableCursor;
+import sasquatch.SasSplittableCursor;
+import sasquatch.spi.SasFeature;
+import sasquatch.spi.SasReader;
+
+/**
+ * Reader that counts the cursors it opens and the reads done through them.
+ * The hook is called at the start of each read.
+ *
+ * @author Philippe Charles
+ */
+@lombok.RequiredArgsConstructor
+public final class CountingReader implements SasReader {
+
+    @FunctionalInterface
+    public interface Hook {
+
+        void beforeRead(Path file) throws IOException;
+
+        Hook NONE = file -> {
+        };
+    }
+
+    @lombok.NonNull
+    private final SasReader delegate;
+
+    @lombok.NonNull
+    private final Hook hook;
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicInteger closedWhileReading = new AtomicInteger();
+
+    public CountingReader(SasReader delegate) {
+        this(delegate, Hook.NONE);
+    }
+
+    /**
+     * Gets the number of opened cursors.
+     */
+    public int getOpened() {
+        return opened.get();
+    }
+
+    /**
+     * Gets the number of calls to close.
+     */
+    public int getClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Gets the maximum number of cursors that were open at the same time.
+     */
+    public int getPeak() {
+        return peak.get();
+    }
+
+    /**
+     * Gets the number of calls to next and nextBatch.
+     */
+    public int getReads() {
+        return reads.get();
+    }
+
+    /**
+     * Gets the number of calls to close made while a read was in progress.
+     */
+    public int getClosedWhileReading() {
+        return closedWhileReading.get();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    @Override
+    public int getCost() {
+        return delegate.getCost();
+    }
+
+    @Override
+    public Set<SasFeature> getFeatures() {
+        return delegate.getFeatures();
+    }
+
+    @Override
+    public SasForwardCursor readForward(Path file) throws IOException {
+        return new ForwardCursor(delegate.readForward(file), new State(file));
+    }
+
+    @Override
+    public SasBatchCursor readBatch(Path file) throws IOException {
+        return new BatchCursor(delegate.readBatch(file), new State(file));
+    }
+
+    @Override
+    public SasScrollableCursor readScrollable(Path file) throws IOException {
+        return delegate.readScrollable(file);
+    }
+
+    @Override
+    public SasSplittableCursor readSplittable(Path file) throws IOException {
+        return delegate.readSplittable(file);
+    }
+
+    @Override
+    public SasMetaData readMetaData(Path file) throws IOException {
+        return delegate.readMetaData(file);
+    }
+
+    private final class State {
+
+        private final Path file;
+        private final AtomicInteger reading = new AtomicInteger();
+        private boolean closed = false;
+
+        State(Path file) {
+            this.file = file;
+            peak.accumulateAndGet(open.incrementAndGet(), Math::max);
+            opened.incrementAndGet();
+        }
+
+        void beforeRead() throws IOException {
+            reading.incrementAndGet();
+            reads.incrementAndGet();
+            hook.beforeRead(file);
+        }
+
+        void afterRead() {
+            reading.decrementAndGet();
+        }
+
+        synchronized void close() {
+            if (reading.get() > 0) {
+                closedWhileReading.incrementAndGet();
+            }
+            CountingReader.this.closed.incrementAndGet();
+            if (!closed) {
+                closed = true;
+                open.decrementAndGet();
+            }
+        }
+    }
+
+    @lombok.RequiredArgsConstructor
+    private static final class ForwardCursor implements SasForwardCursor {
+
+        private final SasForwardCursor delegate;
+        private final State state;
+
+        @Override
+        public boolean next() throws IOException {
+            state.beforeRead();
+            try {
+                return delegate.next();
+            } finally {
+                state.afterRead();
+            }
+        }
+
+        @Override
+        public SasMetaData getMetaData() throws IOException {
+            return delegate.getMetaData();
+        }
+
+        @Override
+        public Object getValue(int columnIndex) throws IOException, IndexOutOfBoundsException {
+            return delegate.getValue(columnIndex);
+        }
+
+        @Override
+        public double getNumber(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+            return delegate.getNumber(columnIndex);
+        }
+
+        @Override
+        public String getString(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+            return delegate.getString(columnIndex);
+        }
+
+        @Override
+        public LocalDate getDate(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+            return delegate.getDate(columnIndex);
+        }
+
+        @Override
+        public LocalDateTime getDateTime(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+            return delegate.getDateTime(columnIndex);
+        }
+
+        @Override
+        public LocalTime getTime(int columnIndex) throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+            return delegate.getTime(columnIndex);
+        }
+
+        @Override
+        public Object[] getValues() throws IOException {
+            return delegate.getValues();
+        }
+
+        @Override
+        public void close() throws IOException {
+            state.close();
+            delegate.close();
+        }
+    }
+
+    @lombok.RequiredArgsConstructor
+    private static final class BatchCursor implements SasBatchCursor {
+
+        private final SasBatchCursor delegate;
+        private final State state;
+
+        @Override
+        public boolean nextBatch(SasBatch batch) throws IOException, IllegalArgumentException {
+            state.beforeRead();
+            try {
+                return delegate.nextBatch(batch);
+            } finally {
+                state.afterRead();
+            }
+        }
+
+        @Override
+        public SasMetaData getMetaData() throws IOException {
+            return delegate.getMetaData();
+        }
+
+        @Override
+        public void close() throws IOException {
+            state.close();
+            delegate.close();
+        }
+    }
+}
@@ -67,6 +67,12 @@ public class Sample {
             .table(FILE, VALID_TABLE)
             .build();
 
+    public SasArray tableOf(int rowCount) {
+        return SasArray.of(
+                VALID_TABLE.getMetaData().toBuilder().rowCount(rowCount).build(),
+                Collections.nCopies(rowCount, ROW1.toArray()));
+    }
+
     @lombok.Value
     public static class Record {
 
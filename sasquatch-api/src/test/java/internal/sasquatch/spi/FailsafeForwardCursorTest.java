@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -157,6 +158,146 @@ public class FailsafeForwardCursorTest {
         assertThat(values).isEmpty();
     }
 
+    @Test
+    public void testIsMissing() throws IOException {
+        reset();
+        assertThat(withNext(valid()).isMissing(0)).isFalse();
+        assertThat(withNext(valid()).isMissing(1)).isFalse();
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> withNext(valid()).isMissing(5));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIOException()
+                .isThrownBy(() -> withNext(failing()).isMissing(0))
+                .withCauseInstanceOf(UnsupportedOperationException.class);
+        assertThat(errors).hasSize(1).containsKey("Unexpected error while calling 'isMissing' on '_test.FailingSasCursor'");
+        assertThat(values).isEmpty();
+    }
+
+    @Test
+    public void testGetLong() throws IOException {
+        reset();
+        assertThatExceptionOfType(ArithmeticException.class)
+                .isThrownBy(() -> withNext(valid()).getLong(0));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> withNext(valid()).getLong(1));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIOException()
+                .isThrownBy(() -> withNext(failing()).getLong(0))
+                .withCauseInstanceOf(UnsupportedOperationException.class);
+        assertThat(errors).hasSize(1).containsKey("Unexpected error while calling 'getLong' on '_test.FailingSasCursor'");
+        assertThat(values).isEmpty();
+    }
+
+    @Test
+    public void testGetNumbers() throws IOException {
+        reset();
+        double[] dst = new double[1];
+        withNext(valid()).getNumbers(new int[]{0}, dst);
+        assertThat(dst).containsExactly(3.14);
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> withNext(valid()).getNumbers(new int[]{0, 0}, dst));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> withNext(valid()).getNumbers(new int[]{1}, dst));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+    }
+
+    @Test
+    public void testGetChars() throws IOException {
+        reset();
+        assertThat(withNext(valid()).getChars(1)).hasToString(withNext(valid()).getString(1));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> withNext(valid()).getChars(0));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIOException()
+                .isThrownBy(() -> withNext(failing()).getChars(1))
+                .withCauseInstanceOf(UnsupportedOperationException.class);
+        assertThat(errors).hasSize(1).containsKey("Unexpected error while calling 'getChars' on '_test.FailingSasCursor'");
+        assertThat(values).isEmpty();
+    }
+
+    @Test
+    public void testGetStringBytes() throws IOException {
+        reset();
+        FailsafeForwardCursor cursor = withNext(valid());
+        assertThat(cursor.getCharset().decode(cursor.getStringBytes(1)).toString()).isEqualTo(cursor.getString(1));
+        assertThat(cursor.getStringBytes(1).isReadOnly()).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> withNext(valid()).getStringBytes(0));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIOException()
+                .isThrownBy(() -> withNext(failing()).getStringBytes(1))
+                .withCauseInstanceOf(UnsupportedOperationException.class);
+        assertThat(errors).hasSize(1).containsKey("Unexpected error while calling 'getStringBytes' on '_test.FailingSasCursor'");
+        assertThat(values).isEmpty();
+    }
+
+    @Test
+    public void testGetEpochValues() throws IOException {
+        reset();
+        assertThat(withNext(valid()).getEpochDay(2)).isEqualTo(Sample.DATE.toLocalDate().toEpochDay());
+        assertThat(withNext(valid()).getEpochSecond(3)).isEqualTo(Sample.DATE.toEpochSecond(ZoneOffset.UTC));
+        assertThat(withNext(valid()).getEpochMillis(3)).isEqualTo(Sample.DATE.toEpochSecond(ZoneOffset.UTC) * 1000);
+        assertThat(withNext(valid()).getSecondOfDay(4)).isEqualTo(Sample.DATE.toLocalTime().toSecondOfDay());
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> withNext(valid()).getEpochDay(0));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> withNext(valid()).getEpochMillis(5));
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIOException()
+                .isThrownBy(() -> withNext(failing()).getSecondOfDay(4))
+                .withCauseInstanceOf(UnsupportedOperationException.class);
+        assertThat(errors).hasSize(1).containsKey("Unexpected error while calling 'getSecondOfDay' on '_test.FailingSasCursor'");
+        assertThat(values).isEmpty();
+    }
+
     @Test
     public void testGetString() throws IOException {
         reset();
@@ -34,6 +34,7 @@ import java.util.Map;
 import static org.assertj.core.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import sasquatch.SasForwardCursor;
+import sasquatch.SasTable;
 import sasquatch.spi.SasReader;
 
 /**
@@ -171,6 +172,35 @@ public class FailsafeReaderTest {
         assertThat(values).isEmpty();
     }
 
+    @Test
+    public void testOpenTable() throws IOException {
+        reset();
+        try (SasTable table = valid.openTable(Sample.FILE)) {
+            assertThat(table).isInstanceOf(FailsafeTable.class);
+            assertThat(table.getMetaData()).isNotNull();
+            try (SasForwardCursor cursor = table.readForward()) {
+                assertThat(cursor).isInstanceOf(FailsafeForwardCursor.class);
+            }
+        }
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIOException()
+                .isThrownBy(() -> failing.openTable(Sample.FILE))
+                .withCauseExactlyInstanceOf(UnsupportedOperationException.class);
+        assertThat(errors).containsKey("Unexpected error while calling 'openTable' on '_test.FailingSasReader'");
+        assertThat(values).isEmpty();
+
+        reset();
+        assertThatIOException()
+                .isThrownBy(() -> eof.openTable(Sample.FILE))
+                .isExactlyInstanceOf(EOFException.class)
+                .withNoCause();
+        assertThat(errors).isEmpty();
+        assertThat(values).isEmpty();
+    }
+
     private final Map<String, RuntimeException> errors = new HashMap<>();
     private final List<String> values = new ArrayList<>();
 
@@ -16,23 +16,53 @@
  */
 package sasquatch;
 
+import _test.CountingReader;
 import _test.EOFCursor;
 import _test.EOFForward;
 import _test.EOFReader;
 import _test.EOFRowCursor;
 import _test.EOFScrollable;
 import _test.EOFSplittable;
+import _test.FakeSasReader;
 import _test.Sample;
+import _test.SasArray;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.*;
 import org.assertj.core.data.Index;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sasquatch.spi.SasFeature;
+import sasquatch.spi.SasReader;
 
 /**
  *
@@ -72,6 +102,75 @@ public class SasquatchTest {
                 .withMessageContaining("read");
     }
 
+    @Test
+    public void testReadForwardColumns() throws IOException {
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.readForward(null, new int[]{0}));
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.readForward(Sample.FILE, (int[]) null));
+
+        try (SasForwardCursor cursor = sample.readForward(Sample.FILE, new int[]{4, 1})) {
+            assertThat(cursor.getColumns())
+                    .extracting(SasColumn::getName, SasColumn::getOrder)
+                    .containsExactly(tuple("c5", 0), tuple("c2", 1));
+            assertThat(cursor.getRowCount()).isEqualTo(1);
+            assertThat(cursor.next()).isTrue();
+            assertThat(cursor.getTime(0)).isEqualTo(Sample.ROW1.getC5());
+            assertThat(cursor.getString(1)).isEqualTo(Sample.ROW1.getC2());
+            assertThat(cursor.getValues()).containsExactly(Sample.ROW1.getC5(), Sample.ROW1.getC2());
+            assertThat(cursor.next()).isFalse();
+        }
+
+        try (SasForwardCursor cursor = sample.readForward(Sample.FILE, new HashSet<>(Arrays.asList("c3", "c1")))) {
+            assertThat(cursor.getColumns())
+                    .extracting(SasColumn::getName)
+                    .containsExactly("c1", "c3");
+            assertThat(cursor.next()).isTrue();
+            assertThat(cursor.getValues()).containsExactly(Sample.ROW1.getC1(), Sample.ROW1.getC3());
+        }
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> sample.readForward(Sample.FILE, new int[]{5}));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> sample.readForward(Sample.FILE, Collections.singleton("c6")))
+                .withMessageContaining("c6");
+    }
+
+    @Test
+    public void testReadBatch() throws IOException {
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.readBatch(null));
+
+        assertThatIOException()
+                .isThrownBy(() -> empty.readBatch(Sample.FILE));
+
+        try (SasBatchCursor cursor = sample.readBatch(Sample.FILE)) {
+            SasBatch batch = cursor.newBatch(10);
+            assertThat(cursor.nextBatch(batch)).isTrue();
+            assertThat(batch.getSize()).isEqualTo(1);
+            assertThat(batch.getDouble(0, 0)).isEqualTo(Sample.ROW1.getC1());
+            assertThat(batch.getString(0, 1)).isEqualTo(Sample.ROW1.getC2());
+            assertThat(batch.getDouble(0, 2)).isEqualTo(Sample.ROW1.getC3().toEpochDay());
+            assertThat(batch.getDouble(0, 3)).isEqualTo(Sample.ROW1.getC4().toEpochSecond(ZoneOffset.UTC));
+            assertThat(batch.getDouble(0, 4)).isEqualTo(Sample.ROW1.getC5().toSecondOfDay());
+            assertThat(batch.isMissing(0, 1)).isFalse();
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> batch.getDouble(0, 1));
+            assertThat(cursor.nextBatch(batch)).isFalse();
+            assertThat(batch.getSize()).isZero();
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> cursor.nextBatch(SasBatch.of(Collections.emptyList(), 1)));
+        }
+
+        assertThatIOException()
+                .isThrownBy(() -> eof.readBatch(Sample.FILE))
+                .isExactlyInstanceOf(EOFException.class)
+                .withMessageContaining("read");
+    }
+
     @Test
     public void testReadMetaData() throws IOException {
         assertThatNullPointerException()
@@ -88,6 +187,46 @@ public class SasquatchTest {
                 .withMessageContaining("readMetaData");
     }
 
+    @Test
+    public void testOpenTable() throws IOException {
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.openTable(null));
+
+        assertThatIOException()
+                .isThrownBy(() -> empty.openTable(Sample.FILE));
+
+        SasTable table = sample.openTable(Sample.FILE);
+        try {
+            assertThat(table.getMetaData()).isEqualTo(sample.readMetaData(Sample.FILE));
+            for (int i = 0; i < 2; i++) {
+                try (SasForwardCursor cursor = table.readForward()) {
+                    assertThat(cursor.next()).isTrue();
+                    assertThat(Sample.parseRecord(cursor)).isEqualTo(Sample.ROW1);
+                    assertThat(cursor.next()).isFalse();
+                }
+            }
+            try (SasForwardCursor cursor = table.readForward(new int[]{4, 1})) {
+                assertThat(cursor.getColumns())
+                        .extracting(SasColumn::getName)
+                        .containsExactly("c5", "c2");
+            }
+            try (SasScrollableCursor cursor = table.readScrollable()) {
+                assertThat(cursor.moveTo(0)).isTrue();
+                assertThat(Sample.parseRecord(cursor)).isEqualTo(Sample.ROW1);
+            }
+        } finally {
+            table.close();
+        }
+
+        assertThatIOException()
+                .isThrownBy(table::readForward);
+
+        assertThatIOException()
+                .isThrownBy(() -> eof.openTable(Sample.FILE))
+                .isExactlyInstanceOf(EOFException.class)
+                .withMessageContaining("readMetaData");
+    }
+
     @Test
     public void testRows() throws IOException {
         assertThatNullPointerException()
@@ -205,6 +344,344 @@ public class SasquatchTest {
                 .withStackTraceContaining("close");
     }
 
+    @Test
+    public void testReadMetaDataAsync() {
+        Executor direct = Runnable::run;
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.readMetaDataAsync(null, direct));
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.readMetaDataAsync(Sample.FILE, null));
+
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(() -> empty.readMetaDataAsync(Sample.FILE, direct).join())
+                .withCauseInstanceOf(IOException.class);
+
+        assertThat(sample.readMetaDataAsync(Sample.FILE, direct).join())
+                .isNotNull();
+
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(() -> eof.readMetaDataAsync(Sample.FILE, direct).join())
+                .withCauseExactlyInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void testGetAllRowsAsync() {
+        Executor direct = Runnable::run;
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.getAllRowsAsync(null, columns -> Sample::parseRecord, direct));
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.getAllRowsAsync(Sample.FILE, null, direct));
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.getAllRowsAsync(Sample.FILE, columns -> Sample::parseRecord, null));
+
+        assertThat(sample.getAllRowsAsync(Sample.FILE, columns -> Sample::parseRecord, direct).join())
+                .hasSize(1)
+                .contains(Sample.ROW1, Index.atIndex(0));
+
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(() -> eof.getAllRowsAsync(Sample.FILE, columns -> Sample::parseRecord, direct).join())
+                .withCauseExactlyInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void testForEachBatchAsync() {
+        Executor direct = Runnable::run;
+        List<Integer> sizes = new ArrayList<>();
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.forEachBatchAsync(null, 10, batch -> sizes.add(batch.getSize()), direct));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> empty.forEachBatchAsync(Sample.FILE, 0, batch -> sizes.add(batch.getSize()), direct));
+
+        assertThat(sample.forEachBatchAsync(Sample.FILE, 10, batch -> sizes.add(batch.getSize()), direct).join())
+                .isNull();
+        assertThat(sizes).containsExactly(1);
+
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(() -> eof.forEachBatchAsync(Sample.FILE, 10, batch -> sizes.add(batch.getSize()), direct).join())
+                .withCauseExactlyInstanceOf(EOFException.class);
+
+        sizes.clear();
+        List<Runnable> pending = new ArrayList<>();
+        CompletableFuture<Void> cancelled = sample.forEachBatchAsync(Sample.FILE, 10, batch -> sizes.add(batch.getSize()), pending::add);
+        assertThat(cancelled.cancel(true)).isTrue();
+        pending.forEach(Runnable::run);
+        assertThat(cancelled).isCancelled();
+        assertThat(sizes).isEmpty();
+    }
+
+    @Test
+    public void testCancelAsyncWhileReading() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch reading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountingReader reader = counting(10, file -> await(reading, release));
+            CompletableFuture<List<Sample.Record>> rows = Sasquatch.of(reader).getAllRowsAsync(Sample.FILE, columns -> Sample::parseRecord, executor);
+            reading.await();
+            assertThat(rows.cancel(true)).isTrue();
+            assertThat(reader.getClosed()).isZero();
+            release.countDown();
+            executor.submit(() -> {
+            }).get();
+            assertThat(reader.getReads()).isEqualTo(1);
+            assertThat(reader.getClosed()).isEqualTo(1);
+            assertThat(reader.getClosedWhileReading()).isZero();
+
+            List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch batchReading = new CountDownLatch(1);
+            CountDownLatch batchRelease = new CountDownLatch(1);
+            CountingReader batchReader = counting(10, file -> await(batchReading, batchRelease));
+            CompletableFuture<Void> batches = Sasquatch.of(batchReader).forEachBatchAsync(Sample.FILE, 2, batch -> sizes.add(batch.getSize()), executor);
+            batchReading.await();
+            assertThat(batches.cancel(true)).isTrue();
+            assertThat(batchReader.getClosed()).isZero();
+            batchRelease.countDown();
+            executor.submit(() -> {
+            }).get();
+            assertThat(batchReader.getReads()).isEqualTo(1);
+            assertThat(batchReader.getClosed()).isEqualTo(1);
+            assertThat(batchReader.getClosedWhileReading()).isZero();
+            assertThat(sizes).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPublishBatches() throws InterruptedException {
+        Executor direct = Runnable::run;
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> empty.publishBatches(null, 10, direct));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> empty.publishBatches(Sample.FILE, 0, direct));
+
+        BatchRecorder x = new BatchRecorder();
+        sample.publishBatches(Sample.FILE, 10, direct).subscribe(x);
+        assertThat(x.events).containsExactly("subscribe");
+        x.subscription.request(1);
+        assertThat(x.events).containsExactly("subscribe", "next:1");
+        x.subscription.request(Long.MAX_VALUE);
+        assertThat(x.events).containsExactly("subscribe", "next:1", "complete");
+        x.subscription.request(1);
+        assertThat(x.events).containsExactly("subscribe", "next:1", "complete");
+
+        x = new BatchRecorder();
+        eof.publishBatches(Sample.FILE, 10, direct).subscribe(x);
+        assertThat(x.events).containsExactly("subscribe");
+        x.subscription.request(1);
+        assertThat(x.events).containsExactly("subscribe", "error:EOFException");
+
+        x = new BatchRecorder();
+        sample.publishBatches(Sample.FILE, 10, direct).subscribe(x);
+        x.subscription.cancel();
+        x.subscription.request(1);
+        assertThat(x.events).containsExactly("subscribe");
+
+        x = new BatchRecorder();
+        sample.publishBatches(Sample.FILE, 10, direct).subscribe(x);
+        x.subscription.request(0);
+        assertThat(x.events).containsExactly("subscribe", "error:IllegalArgumentException");
+
+        CountingReader reader = counting(10, CountingReader.Hook.NONE);
+        x = new BatchRecorder();
+        Sasquatch.of(reader).publishBatches(Sample.FILE, 2, direct).subscribe(x);
+        assertThat(reader.getOpened()).isZero();
+        x.subscription.request(2);
+        assertThat(x.events).containsExactly("subscribe", "next:2", "next:2");
+        assertThat(reader.getReads()).isEqualTo(2);
+        x.subscription.request(1);
+        assertThat(x.events).containsExactly("subscribe", "next:2", "next:2", "next:2");
+        assertThat(reader.getReads()).isEqualTo(3);
+        assertThat(reader.getClosed()).isZero();
+        x.subscription.request(Long.MAX_VALUE);
+        assertThat(x.events).containsExactly("subscribe", "next:2", "next:2", "next:2", "next:2", "next:2", "complete");
+        assertThat(reader.getOpened()).isEqualTo(1);
+        assertThat(reader.getClosed()).isEqualTo(1);
+
+        reader = counting(10, CountingReader.Hook.NONE);
+        x = new BatchRecorder();
+        Sasquatch.of(reader).publishBatches(Sample.FILE, 2, direct).subscribe(x);
+        x.subscription.request(1);
+        x.subscription.cancel();
+        x.subscription.request(1);
+        assertThat(x.events).containsExactly("subscribe", "next:2");
+        assertThat(reader.getReads()).isEqualTo(1);
+        assertThat(reader.getClosed()).isEqualTo(1);
+
+        reader = counting(10, file -> {
+            throw new EOFException();
+        });
+        x = new BatchRecorder();
+        Sasquatch.of(reader).publishBatches(Sample.FILE, 2, direct).subscribe(x);
+        x.subscription.request(1);
+        assertThat(x.events).containsExactly("subscribe", "error:EOFException");
+        assertThat(reader.getOpened()).isEqualTo(1);
+        assertThat(reader.getClosed()).isEqualTo(1);
+
+        reader = counting(10, CountingReader.Hook.NONE);
+        x = new BatchRecorder();
+        Sasquatch.of(reader).publishBatches(Sample.FILE, 2, rejectingAfter(1)).subscribe(x);
+        x.subscription.request(1);
+        x.subscription.request(1);
+        x.subscription.request(1);
+        assertThat(x.events).containsExactly("subscribe", "next:2", "error:RejectedExecutionException");
+        assertThat(reader.getOpened()).isEqualTo(1);
+        assertThat(reader.getClosed()).isEqualTo(1);
+
+        reader = counting(10, CountingReader.Hook.NONE);
+        x = new BatchRecorder();
+        Sasquatch.of(reader).publishBatches(Sample.FILE, 2, rejectingAfter(1)).subscribe(x);
+        x.subscription.request(1);
+        x.subscription.cancel();
+        assertThat(x.events).containsExactly("subscribe", "next:2");
+        assertThat(reader.getOpened()).isEqualTo(1);
+        assertThat(reader.getClosed()).isEqualTo(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 16; i++) {
+                reader = counting(1000, CountingReader.Hook.NONE);
+                x = new BatchRecorder();
+                x.requestOnNext = 1;
+                Sasquatch.of(reader).publishBatches(Sample.FILE, 7, executor).subscribe(x);
+                x.subscription.request(1);
+                assertThat(x.terminated.await(10, TimeUnit.SECONDS)).isTrue();
+                assertThat(x.events).hasSize(1 + 143 + 1).startsWith("subscribe").endsWith("next:6", "complete");
+                assertThat(x.overlaps).isZero();
+                assertThat(reader.getReads()).isEqualTo(144);
+                assertThat(reader.getClosed()).isEqualTo(1);
+            }
+
+            reader = counting(1000, CountingReader.Hook.NONE);
+            x = new BatchRecorder();
+            x.requestOnNext = 1;
+            x.cancelOnNext = 3;
+            Sasquatch.of(reader).publishBatches(Sample.FILE, 7, executor).subscribe(x);
+            x.subscription.request(1);
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(x.events).containsExactly("subscribe", "next:7", "next:7", "next:7");
+            assertThat(x.overlaps).isZero();
+            assertThat(reader.getReads()).isEqualTo(3);
+            assertThat(reader.getOpened()).isEqualTo(1);
+            assertThat(reader.getClosed()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReadAll(@TempDir Path temp) throws InterruptedException, IOException {
+        Sasquatch.FileHandler parse = (file, cursor) -> {
+            while (cursor.next()) {
+                assertThat(Sample.parseRecord(cursor)).isEqualTo(Sample.ROW1);
+            }
+        };
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> sample.readAll(null, 1, parse));
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> sample.readAll(Stream.of(Sample.FILE), 1, null));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> sample.readAll(Stream.of(Sample.FILE), 0, parse));
+
+        assertThat(sample.readAll(Stream.empty(), 2, parse)).isEmpty();
+
+        List<Path> handled = Collections.synchronizedList(new ArrayList<>());
+        Path missing = Sample.FILE.resolveSibling("missing.sas7bdat");
+        Map<Path, Exception> failures = sample.readAll(Stream.of(Sample.FILE, missing, Sample.FILE), 2, (file, cursor) -> {
+            parse.handle(file, cursor);
+            handled.add(file);
+        });
+        assertThat(handled).containsExactly(Sample.FILE, Sample.FILE);
+        assertThat(failures).containsOnlyKeys(missing);
+        assertThat(failures.get(missing)).isInstanceOf(IOException.class);
+
+        assertThat(sample.readAll(Stream.of(Sample.FILE), 4, (file, cursor) -> {
+            throw new IllegalStateException("boom");
+        })).hasEntrySatisfying(Sample.FILE, ex -> assertThat(ex).isInstanceOf(IllegalStateException.class));
+
+        assertThat(eof.readAll(Stream.of(Sample.FILE), 1, parse))
+                .hasEntrySatisfying(Sample.FILE, ex -> assertThat(ex).isExactlyInstanceOf(EOFException.class));
+
+        assertThat(sample.readAll(Stream.of(missing, Sample.FILE, missing, missing), 2, parse))
+                .containsOnlyKeys(missing)
+                .hasEntrySatisfying(missing, ex -> assertThat(ex.getSuppressed()).hasSize(2).allMatch(IOException.class::isInstance));
+
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            files.add(Files.write(temp.resolve("file" + i + ".sas7bdat"), new byte[(i * 7) % 12 + 1]));
+        }
+        List<Path> bySize = files.stream()
+                .sorted(Comparator.comparingInt(file -> (files.indexOf(file) * 7) % 12))
+                .collect(Collectors.toList());
+
+        CountingReader reader = counting(3, file -> sleep(), files.toArray(new Path[0]));
+        handled.clear();
+        assertThat(Sasquatch.of(reader).readAll(files.stream(), 1, (file, cursor) -> {
+            parse.handle(file, cursor);
+            handled.add(file);
+        })).isEmpty();
+        assertThat(handled).containsExactlyElementsOf(bySize);
+        assertThat(reader.getPeak()).isEqualTo(1);
+
+        for (int concurrency : new int[]{2, 3, 5}) {
+            reader = counting(3, file -> sleep(), files.toArray(new Path[0]));
+            handled.clear();
+            assertThat(Sasquatch.of(reader).readAll(files.stream(), concurrency, (file, cursor) -> {
+                parse.handle(file, cursor);
+                handled.add(file);
+            })).isEmpty();
+            assertThat(handled).containsExactlyInAnyOrderElementsOf(files);
+            assertThat(handled.subList(0, concurrency)).isSubsetOf(bySize.subList(0, 2 * concurrency));
+            assertThat(reader.getOpened()).isEqualTo(files.size());
+            assertThat(reader.getClosed()).isEqualTo(files.size());
+            assertThat(reader.getPeak()).isBetween(1, concurrency);
+        }
+
+        try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + temp.resolve("files.zip").toUri()), Collections.singletonMap("create", "true"))) {
+            Path zipMissing = zip.getPath("missing.sas7bdat");
+            assertThat(sample.readAll(Stream.of(missing, zipMissing, Sample.FILE), 2, parse))
+                    .containsOnlyKeys(missing, zipMissing);
+        }
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountingReader blocking = counting(3, file -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+        }, files.toArray(new Path[0]));
+        CompletableFuture<Exception> interrupted = new CompletableFuture<>();
+        Thread caller = new Thread(() -> {
+            try {
+                Sasquatch.of(blocking).readAll(files.stream(), 2, parse);
+                interrupted.complete(null);
+            } catch (Exception ex) {
+                interrupted.complete(ex);
+            }
+        });
+        caller.start();
+        started.await();
+        caller.interrupt();
+        assertThat(interrupted.join()).isInstanceOf(InterruptedException.class);
+        assertThat(blocking.getOpened()).isEqualTo(2);
+        assertThat(blocking.getClosed()).isEqualTo(2);
+    }
+
     private final Sasquatch empty = Sasquatch.ofServiceLoader();
     private final Sasquatch sample = Sasquatch.of(Sample.VALID_READER);
     private final Sasquatch eof = eof(EOFReader.Opts.NONE, EOFCursor.Opts.NONE, EOFRowCursor.Opts.NONE, EOFForward.Opts.NONE, EOFScrollable.Opts.NONE, EOFSplittable.Opts.NONE);
@@ -213,6 +690,50 @@ public class SasquatchTest {
         return Sasquatch.of(new EOFReader(Sample.VALID_READER, reader, cursor, row, forward, scrollable, splittable));
     }
 
+    private static CountingReader counting(int rowCount, CountingReader.Hook hook, Path... files) {
+        Map<Path, SasArray> tables = new HashMap<>();
+        for (Path file : files.length > 0 ? files : new Path[]{Sample.FILE}) {
+            tables.put(file, Sample.tableOf(rowCount));
+        }
+        return new CountingReader(FakeSasReader
+                .builder()
+                .name("counting")
+                .available(true)
+                .cost(SasReader.ADVANCED_SUPPORT)
+                .features(EnumSet.allOf(SasFeature.class))
+                .tables(tables)
+                .build(), hook);
+    }
+
+    private static void sleep() throws InterruptedIOException {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static Executor rejectingAfter(int count) {
+        AtomicInteger executions = new AtomicInteger();
+        return task -> {
+            if (executions.incrementAndGet() > count) {
+                throw new RejectedExecutionException();
+            }
+            task.run();
+        };
+    }
+
+    private static void await(CountDownLatch started, CountDownLatch release) throws InterruptedIOException {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
     private List<Sample.Record> getAllRows(Sasquatch sasquatch) throws IOException {
         return sasquatch.getAllRows(Sample.FILE, columns -> Sample::parseRecord);
     }
@@ -222,4 +743,48 @@ public class SasquatchTest {
             return stream.collect(Collectors.toList());
         }
     }
+
+    private static final class BatchRecorder implements SasFlow.Subscriber<SasBatch> {
+
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile int overlaps = 0;
+        private volatile long requestOnNext = 0;
+        private volatile int cancelOnNext = 0;
+        private volatile int nexts = 0;
+        private volatile SasFlow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(SasFlow.Subscription subscription) {
+            this.subscription = subscription;
+            events.add("subscribe");
+        }
+
+        @Override
+        public void onNext(SasBatch item) {
+            if (running.incrementAndGet() > 1) {
+                overlaps++;
+            }
+            events.add("next:" + item.getSize());
+            if (++nexts == cancelOnNext) {
+                subscription.cancel();
+            } else if (requestOnNext > 0) {
+                subscription.request(requestOnNext);
+            }
+            running.decrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            events.add("error:" + throwable.getClass().getSimpleName());
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            events.add("complete");
+            terminated.countDown();
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.cli;
+
+import internal.cli.BaseCommand;
+import internal.cli.DebugOutputOptions;
+import nbbrd.console.picocli.MultiFileInputOptions;
+import picocli.CommandLine;
+import sasquatch.ri.SasquatchReader;
+import sasquatch.util.SasFilenameFilter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * @author Philippe Charles
+ */
+@CommandLine.Command(
+        name = "index",
+        description = "Create the sidecar row indexes of compressed SAS datasets."
+)
+@SuppressWarnings("FieldMayBeFinal")
+@lombok.extern.java.Log
+public final class IndexCommand extends BaseCommand {
+
+    @CommandLine.Mixin
+    private MultiFileInputOptions input = new MultiFileInputOptions();
+
+    @CommandLine.ArgGroup
+    private DebugOutputOptions output = new DebugOutputOptions();
+
+    private final SasquatchReader reader = new SasquatchReader();
+
+    @Override
+    public Void call() throws Exception {
+        if (input.isSingleFile()) {
+            output.dump(IndexReport.class, createReport(input.getSingleFile()));
+        } else {
+            List<IndexReport> items = input.getAllFiles(new SasFilenameFilter()::accept)
+                    .stream()
+                    .parallel()
+                    .map(input.asFunction(this::createReport, this::log))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toList());
+            output.dumpAll(IndexReport.class, items);
+        }
+        return null;
+    }
+
+    private void log(Exception ex, Path file) {
+        log.log(Level.INFO, "While indexing '" + file + "'", ex);
+    }
+
+    private IndexReport createReport(Path file) throws IOException {
+        return new IndexReport(file.toString(), reader.writeRowIndex(file));
+    }
+
+    @lombok.Value
+    public static class IndexReport {
+
+        private String file;
+        private boolean indexed;
+    }
+}
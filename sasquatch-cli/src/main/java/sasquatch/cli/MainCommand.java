@@ -36,6 +36,7 @@ import java.util.logging.Logger;
         subcommands = {
                 CsvCommand.class,
                 SqlCommand.class,
+                IndexCommand.class,
                 DebugCommand.class,
                 SetupCommand.class,
                 CommandLine.HelpCommand.class
@@ -34,9 +34,12 @@ import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import sasquatch.SasColumnFormat;
 import sasquatch.SasForwardCursor;
+import sasquatch.util.SasCursors;
 
 /**
  *
@@ -47,12 +50,40 @@ final class ParsoCursor implements SasForwardCursor {
     private final InputStream stream;
     private final SasFileReader reader;
     private final SasMetaData metaData;
+    private final List<String> columnNames;
     private Object[] currentRow;
 
     public ParsoCursor(Path file) throws IOException {
         this.stream = Files.newInputStream(file);
         this.reader = new SasFileReaderImpl(stream);
         this.metaData = getMetaData(reader);
+        this.columnNames = null;
+        this.currentRow = null;
+    }
+
+    public ParsoCursor(Path file, int[] columns) throws IOException {
+        this(file, meta -> columns);
+    }
+
+    public ParsoCursor(Path file, Set<String> columns) throws IOException {
+        this(file, meta -> SasCursors.getColumnIndexes(meta, columns));
+    }
+
+    private ParsoCursor(Path file, Function<SasMetaData, int[]> projection) throws IOException {
+        this.stream = Files.newInputStream(file);
+        try {
+            this.reader = new SasFileReaderImpl(stream);
+            SasMetaData fullMetaData = getMetaData(reader);
+            this.metaData = SasCursors.project(fullMetaData, projection.apply(fullMetaData));
+        } catch (Error | RuntimeException | IOException ex) {
+            try {
+                stream.close();
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+        this.columnNames = metaData.getColumns().stream().map(SasColumn::getName).collect(Collectors.toList());
         this.currentRow = null;
     }
 
@@ -63,7 +94,7 @@ final class ParsoCursor implements SasForwardCursor {
 
     @Override
     public boolean next() throws IOException {
-        return (currentRow = reader.readNext()) != null;
+        return (currentRow = columnNames != null ? reader.readNext(columnNames) : reader.readNext()) != null;
     }
 
     @Override
@@ -18,6 +18,7 @@ package sasquatch.parso;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Set;
 import nbbrd.service.ServiceProvider;
@@ -77,6 +78,19 @@ public final class ParsoReader implements SasReader {
         return new ParsoCursor(file);
     }
 
+    @Override
+    public SasForwardCursor readForward(Path file, int[] columns) throws IOException {
+        // parso positions the values by name so duplicated columns are handled by a projection
+        return Arrays.stream(columns).distinct().count() != columns.length
+                ? SasReader.super.readForward(file, columns)
+                : new ParsoCursor(file, columns);
+    }
+
+    @Override
+    public SasForwardCursor readForward(Path file, Set<String> columns) throws IOException {
+        return new ParsoCursor(file, columns);
+    }
+
     @Override
     public SasScrollableCursor readScrollable(Path file) throws IOException {
         return SasCursors.asScrollable(readForward(file));
@@ -17,8 +17,20 @@
 package sasquatch.parso;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import sasquatch.SasColumn;
+import sasquatch.SasForwardCursor;
 import sasquatch.samples.SasContentLoader;
+import sasquatch.samples.SasResources;
 import sasquatch.spi.SasReader;
 import sasquatch.tck.SasReaderAssert;
 
@@ -33,6 +45,72 @@ public class ParsoReaderTest {
         SasReaderAssert.assertCompliance(new ParsoReader());
     }
 
+    @Test
+    public void testProjection() throws IOException {
+        SasReader reader = new ParsoReader();
+        List<Path> files = SasResources.all().collect(Collectors.toList());
+        for (Path file : files) {
+            assertProjection(reader, file);
+        }
+    }
+
+    static void assertProjection(SasReader reader, Path file) throws IOException {
+        List<SasColumn> columns;
+        List<Object[]> rows = new ArrayList<>();
+        try (SasForwardCursor cursor = reader.readForward(file)) {
+            columns = cursor.getColumns();
+            while (cursor.next()) {
+                rows.add(getValues(cursor, columns.size()));
+            }
+        } catch (IOException | RuntimeException ex) {
+            // not supported by this reader
+            return;
+        }
+        if (columns.stream().map(SasColumn::getName).distinct().count() != columns.size()) {
+            return;
+        }
+
+        int[] indexes = IntStream.range(0, columns.size())
+                .filter(j -> j % 2 == 0 || j == columns.size() - 1)
+                .toArray();
+        Set<String> names = Arrays.stream(indexes)
+                .mapToObj(j -> columns.get(j).getName())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        try (SasForwardCursor cursor = reader.readForward(file, names)) {
+            assertProjection(cursor, columns, indexes, rows, file);
+        }
+
+        int[] reversed = IntStream.range(0, indexes.length)
+                .map(k -> indexes[indexes.length - 1 - k])
+                .toArray();
+        try (SasForwardCursor cursor = reader.readForward(file, reversed)) {
+            assertProjection(cursor, columns, reversed, rows, file);
+        }
+    }
+
+    private static void assertProjection(SasForwardCursor cursor, List<SasColumn> columns, int[] indexes, List<Object[]> rows, Path file) throws IOException {
+        assertThat(cursor.getColumns())
+                .extracting(SasColumn::getName)
+                .describedAs("Columns of %s", file)
+                .containsExactlyElementsOf(Arrays.stream(indexes).mapToObj(j -> columns.get(j).getName()).collect(Collectors.toList()));
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(cursor.next()).isTrue();
+            Object[] row = rows.get(i);
+            assertThat(getValues(cursor, indexes.length))
+                    .describedAs("Row %s of %s", i, file)
+                    .containsExactly(Arrays.stream(indexes).mapToObj(j -> row[j]).toArray());
+        }
+        assertThat(cursor.next()).isFalse();
+    }
+
+    private static Object[] getValues(SasForwardCursor cursor, int size) throws IOException {
+        Object[] result = new Object[size];
+        for (int j = 0; j < size; j++) {
+            result[j] = cursor.getValue(j);
+        }
+        return result;
+    }
+
     public static void main(String[] args) throws IOException {
         SasReader reader = new ParsoReader();
         SasContentLoader.load().forEach(o -> o.printErrors(reader));
@@ -21,6 +21,7 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
@@ -46,6 +47,11 @@ public final class Bytes implements BytesReader, BytesWriter {
         return new Bytes(ByteBuffer.wrap(bytes).order(order));
     }
 
+    @NonNull
+    static Bytes wrap(@NonNull ByteBuffer buffer) {
+        return new Bytes(buffer);
+    }
+
     @lombok.NonNull
     private final ByteBuffer internal;
 
@@ -131,6 +137,14 @@ public final class Bytes implements BytesReader, BytesWriter {
         return result;
     }
 
+    @Override
+    public ByteBuffer asReadOnlyBuffer(int index, int length) {
+        ByteBuffer result = internal.asReadOnlyBuffer().order(internal.order());
+        fixJava9(result).limit(index + length);
+        fixJava9(result).position(index);
+        return result;
+    }
+
     @Override
     public CharBuffer decode(int index, int length, CharsetDecoder decoder) throws CharacterCodingException {
         fixJava9(internal).position(index);
@@ -153,6 +167,87 @@ public final class Bytes implements BytesReader, BytesWriter {
         fixJava9(internal).clear();
     }
 
+    /**
+     * Fills these bytes by using positional reads that don't modify the
+     * position of the channel. This method is safe for concurrent use of the
+     * channel.
+     *
+     * @param channel a non-null channel
+     * @param position the position in the channel
+     * @throws IOException
+     */
+    public void fillAt(@NonNull FileChannel channel, long position) throws IOException {
+        fixJava9(internal).clear();
+        while (internal.hasRemaining() && channel.read(internal, position + internal.position()) != -1) {
+        }
+        fixJava9(internal).clear();
+    }
+
+    /**
+     * Fills these bytes by using positional reads on a shared channel.
+     *
+     * @param channel a non-null channel
+     * @param position the position in the channel
+     * @throws IOException
+     * @see #fillAt(FileChannel, long)
+     */
+    public void fillAt(@NonNull SharedChannel channel, long position) throws IOException {
+        fixJava9(internal).clear();
+        while (internal.hasRemaining() && channel.read(internal, position + internal.position()) != -1) {
+        }
+        fixJava9(internal).clear();
+    }
+
+    /**
+     * Fills a range of these bytes from a channel. The other bytes are left
+     * unchanged.
+     *
+     * @param sbc a non-null channel
+     * @param position the position in the channel of the first byte to read
+     * @param index the index of the first byte to fill
+     * @param length the number of bytes to fill
+     * @throws IOException
+     */
+    public void fill(@NonNull SeekableByteChannel sbc, long position, int index, int length) throws IOException {
+        fixJava9(internal).limit(index + length);
+        fixJava9(internal).position(index);
+        sbc.position(position);
+        while (internal.hasRemaining() && sbc.read(internal) != -1) {
+        }
+        fixJava9(internal).clear();
+    }
+
+    /**
+     * Checks if these bytes are backed by an accessible array.
+     *
+     * @return true if {@link #array()} can be used
+     */
+    public boolean hasArray() {
+        return internal.hasArray();
+    }
+
+    /**
+     * Gets the array that backs these bytes. Index zero of these bytes is at
+     * {@link #arrayOffset()} in the array.
+     *
+     * @return a non-null array
+     * @throws UnsupportedOperationException if there is no accessible array
+     */
+    @NonNull
+    public byte[] array() throws UnsupportedOperationException {
+        return internal.array();
+    }
+
+    /**
+     * Gets the offset of the first byte in the backing array.
+     *
+     * @return the offset of the first byte
+     * @throws UnsupportedOperationException if there is no accessible array
+     */
+    public int arrayOffset() throws UnsupportedOperationException {
+        return internal.arrayOffset();
+    }
+
     @Override
     public void putByte(int index, byte b) {
         internal.put(index, b);
@@ -16,6 +16,7 @@
  */
 package internal.bytes;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
@@ -83,6 +84,17 @@ public interface BytesReader {
     @NonNull
     BytesReader slice(int index, int length);
 
+    /**
+     * Creates a read-only view of a range of these bytes. The remaining bytes
+     * of the returned buffer are the specified range.
+     *
+     * @param index the index of the first byte
+     * @param length the number of bytes
+     * @return a non-null buffer that shares its content with these bytes
+     */
+    @NonNull
+    ByteBuffer asReadOnlyBuffer(int index, int length);
+
     @NonNull
     CharBuffer decode(int index, int length, @NonNull CharsetDecoder decoder) throws CharacterCodingException;
 
@@ -16,6 +16,7 @@
  */
 package internal.bytes;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
@@ -115,6 +116,11 @@ public final class BytesWithOffset implements BytesReader {
         return delegate.slice(offset + index, length);
     }
 
+    @Override
+    public ByteBuffer asReadOnlyBuffer(int index, int length) {
+        return delegate.asReadOnlyBuffer(offset + index, length);
+    }
+
     @Override
     public CharBuffer decode(int index, int length, CharsetDecoder decoder) throws CharacterCodingException {
         return delegate.decode(offset + index, length, decoder);
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.bytes;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+
+/**
+ * Read-only memory mapping of a file region.
+ * <p>
+ * The region is mapped in windows to work around the 2 GiB limit of
+ * MappedByteBuffer. The size of a window is a multiple of a given unit so that
+ * unit-aligned slices never straddle two windows.
+ * <p>
+ * The mapping stays valid after the channel has been closed and can be shared
+ * between threads.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MappedFile {
+
+    @NonNull
+    public static MappedFile map(@NonNull FileChannel channel, @NonNegative long origin, @NonNegative int unit, @NonNull ByteOrder order) throws IOException {
+        return map(channel, origin, unit, order, Integer.MAX_VALUE);
+    }
+
+    @NonNull
+    static MappedFile map(@NonNull FileChannel channel, @NonNegative long origin, @NonNegative int unit, @NonNull ByteOrder order, @NonNegative int maxWindowSize) throws IOException {
+        if (unit <= 0 || unit > maxWindowSize) {
+            throw new IllegalArgumentException("Invalid unit: " + unit);
+        }
+        int windowSize = (maxWindowSize / unit) * unit;
+        long size = Math.max(0, channel.size() - origin);
+        ByteBuffer[] windows = new ByteBuffer[(int) ((size + windowSize - 1) / windowSize)];
+        for (int i = 0; i < windows.length; i++) {
+            long position = (long) windowSize * i;
+            windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, origin + position, Math.min(windowSize, size - position));
+        }
+        return new MappedFile(origin, size, windowSize, windows, order);
+    }
+
+    @NonNegative
+    private final long origin;
+
+    @lombok.Getter
+    @NonNegative
+    private final long size;
+
+    @NonNegative
+    private final int windowSize;
+
+    private final ByteBuffer[] windows;
+
+    @lombok.Getter
+    @NonNull
+    private final ByteOrder order;
+
+    /**
+     * Creates a view on the mapped bytes. The view might be shorter than the
+     * requested length if it goes beyond the end of the file.
+     *
+     * @param position an absolute position in the file
+     * @param length the expected length of the view
+     * @return a non-null view
+     */
+    @NonNull
+    public Bytes slice(@NonNegative long position, @NonNegative int length) {
+        long relative = position - origin;
+        if (relative < 0 || relative > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        int window = (int) (relative / windowSize);
+        if (window == windows.length) {
+            return Bytes.allocate(0, order);
+        }
+        ByteBuffer result = windows[window].duplicate();
+        int offset = (int) (relative % windowSize);
+        fixJava9(result).position(offset);
+        fixJava9(result).limit(Math.min(offset + length, result.capacity()));
+        return Bytes.wrap(result.slice().order(order));
+    }
+
+    // See https://jira.mongodb.org/browse/JAVA-2559
+    private static Buffer fixJava9(ByteBuffer buffer) {
+        return buffer;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.bytes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.READ;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * File channel that is shared by concurrent positional reads.
+ * <p>
+ * A {@link FileChannel} is closed as soon as a thread is interrupted while
+ * using it, which fails the reads of all the other threads. If the file is
+ * known, this channel is reopened transparently in such a case: the
+ * interrupted thread gets a {@link ClosedByInterruptException} and the other
+ * threads go on with a new channel. Only an explicit call to {@link #close()}
+ * closes it for everyone.
+ *
+ * @author Philippe Charles
+ */
+public final class SharedChannel implements Closeable {
+
+    /**
+     * Creates a shared channel that is reopened after an interrupt.
+     *
+     * @param file the file read by the channel
+     * @param channel a non-null channel opened for reading
+     * @return a non-null shared channel
+     */
+    @NonNull
+    public static SharedChannel of(@NonNull Path file, @NonNull FileChannel channel) {
+        return new SharedChannel(file, channel);
+    }
+
+    /**
+     * Creates a shared channel that is never reopened.
+     *
+     * @param channel a non-null channel
+     * @return a non-null shared channel
+     */
+    @NonNull
+    public static SharedChannel of(@NonNull FileChannel channel) {
+        return new SharedChannel(null, channel);
+    }
+
+    @Nullable
+    private final Path file;
+
+    // guarded by this for writes
+    private volatile FileChannel channel;
+    private volatile boolean closed;
+
+    private SharedChannel(@Nullable Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+        this.closed = false;
+    }
+
+    public boolean isOpen() {
+        return !closed && (file != null || channel.isOpen());
+    }
+
+    /**
+     * Reads bytes at a given position without modifying the position of the
+     * channel.
+     *
+     * @param dst the buffer that receives the bytes
+     * @param position the position in the file
+     * @return the number of bytes read, possibly zero, or -1 at the end of the
+     * file
+     * @throws IOException if an I/O exception occurred
+     * @see FileChannel#read(ByteBuffer, long)
+     */
+    public int read(@NonNull ByteBuffer dst, long position) throws IOException {
+        while (true) {
+            FileChannel current = channel;
+            try {
+                return current.read(dst, position);
+            } catch (ClosedByInterruptException ex) {
+                throw ex;
+            } catch (ClosedChannelException ex) {
+                reopen(current, ex);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    private synchronized void reopen(FileChannel current, ClosedChannelException cause) throws IOException {
+        if (closed || file == null) {
+            throw cause;
+        }
+        if (channel == current) {
+            channel = FileChannel.open(file, READ);
+        }
+    }
+}
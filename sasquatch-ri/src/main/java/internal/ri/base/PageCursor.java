@@ -16,7 +16,6 @@
  */
 package internal.ri.base;
 
-import internal.bytes.Bytes;
 import internal.bytes.BytesReader;
 import internal.bytes.SeekableCursor;
 import java.io.IOException;
@@ -34,34 +33,45 @@ public final class PageCursor implements SeekableCursor {
 
     @NonNull
     public static PageCursor of(@NonNull SeekableByteChannel sbc, @NonNull Header header) {
-        return new PageCursor(
-                sbc,
-                header.getLength(),
-                header.getPageLength(),
-                header.getPageCount(),
-                allocatePageBytes(header),
-                INITIAL_INDEX
-        );
+        return of(PageReader.ofChannel(sbc, header), header);
     }
 
-    private static Bytes allocatePageBytes(Header header) {
-        return Bytes.allocate(header.getPageLength(), header.getEndianness());
+    @NonNull
+    public static PageCursor of(@NonNull PageReader reader, @NonNull Header header) {
+        return of(reader, header, 0, header.getPageCount());
     }
 
-    @lombok.NonNull
-    private final SeekableByteChannel sbc;
-
-    @NonNegative
-    private final int headerLength;
+    /**
+     * Creates a page cursor whose iteration starts at a page and stops before
+     * another one.
+     *
+     * @param reader a non-null page reader
+     * @param header a non-null header
+     * @param fromPage the first page to visit (inclusive)
+     * @param toPage the last page to visit (exclusive)
+     * @return a non-null page cursor
+     */
+    @NonNull
+    public static PageCursor of(@NonNull PageReader reader, @NonNull Header header, @NonNegative int fromPage, @NonNegative int toPage) {
+        if (fromPage > toPage || toPage > header.getPageCount()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new PageCursor(
+                reader,
+                toPage,
+                null,
+                fromPage - 1
+        );
+    }
 
-    @NonNegative
-    private final int pageLength;
+    @lombok.NonNull
+    private final PageReader reader;
 
     @lombok.Getter
     private final int count;
 
     @lombok.Getter
-    private final Bytes bytes;
+    private BytesReader bytes;
 
     @lombok.Getter
     private int index;
@@ -72,11 +82,7 @@ public final class PageCursor implements SeekableCursor {
             throw new IndexOutOfBoundsException();
         }
         this.index = index;
-        bytes.fill(sbc, getPagePosition());
-    }
-
-    private int getPagePosition() {
-        return headerLength + pageLength * index;
+        this.bytes = reader.read(index);
     }
 
     @NonNull
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.base;
+
+import internal.bytes.Bytes;
+import internal.bytes.BytesReader;
+import internal.bytes.MappedFile;
+import internal.bytes.SharedChannel;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Loads the pages of a SAS file.
+ *
+ * @author Philippe Charles
+ */
+public interface PageReader {
+
+    /**
+     * Reads a page. The returned bytes are only valid until the next call.
+     *
+     * @param index a zero-based page index
+     * @return a non-null page content
+     * @throws IOException
+     */
+    @NonNull
+    BytesReader read(@NonNegative int index) throws IOException;
+
+    @NonNull
+    static PageReader ofChannel(@NonNull SeekableByteChannel sbc, @NonNull Header header) {
+        return new ChannelPageReader(sbc, header.getLength(), Bytes.allocate(header.getPageLength(), header.getEndianness()));
+    }
+
+    /**
+     * Creates a page reader that only reads the parts of a page needed to
+     * visit its subheaders: the page head, and for META, MIX and AMD pages,
+     * the subheader pointers and the range of the plain subheaders. The other
+     * bytes of the page are undefined.
+     *
+     * @param sbc a non-null channel
+     * @param header a non-null header
+     * @return a non-null page reader
+     */
+    @NonNull
+    static PageReader ofSubHeaders(@NonNull SeekableByteChannel sbc, @NonNull Header header) {
+        return new SubHeaderPageReader(sbc, header.getLength(), header.isU64(), Bytes.allocate(header.getPageLength(), header.getEndianness()));
+    }
+
+    @NonNull
+    static PageReader ofPositional(@NonNull FileChannel channel, @NonNull Header header) {
+        return ofPositional(SharedChannel.of(channel), header);
+    }
+
+    @NonNull
+    static PageReader ofPositional(@NonNull SharedChannel channel, @NonNull Header header) {
+        return new PositionalPageReader(channel, header.getLength(), Bytes.allocate(header.getPageLength(), header.getEndianness()));
+    }
+
+    @NonNull
+    static PageReader ofMapped(@NonNull MappedFile file, @NonNull Header header) {
+        return new MappedPageReader(file, header.getLength(), header.getPageLength(), null);
+    }
+
+    @NonNull
+    static MappedFile map(@NonNull FileChannel channel, @NonNull Header header) throws IOException {
+        return MappedFile.map(channel, header.getLength(), header.getPageLength(), header.getEndianness());
+    }
+
+    static long getPagePosition(@NonNull Header header, @NonNegative int index) {
+        return getPagePosition(header.getLength(), header.getPageLength(), index);
+    }
+
+    static long getPagePosition(@NonNegative int headerLength, @NonNegative int pageLength, @NonNegative int index) {
+        return headerLength + (long) pageLength * index;
+    }
+
+    @lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class ChannelPageReader implements PageReader {
+
+        @lombok.NonNull
+        private final SeekableByteChannel sbc;
+
+        @NonNegative
+        private final int headerLength;
+
+        @lombok.NonNull
+        private final Bytes bytes;
+
+        @Override
+        public BytesReader read(int index) throws IOException {
+            bytes.fill(sbc, getPagePosition(headerLength, bytes.getLength(), index));
+            return bytes;
+        }
+    }
+
+    @lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class SubHeaderPageReader implements PageReader {
+
+        @lombok.NonNull
+        private final SeekableByteChannel sbc;
+
+        @NonNegative
+        private final int headerLength;
+
+        private final boolean u64;
+
+        @lombok.NonNull
+        private final Bytes bytes;
+
+        @Override
+        public BytesReader read(int index) throws IOException {
+            long position = getPagePosition(headerLength, bytes.getLength(), index);
+            int headLength = PageHeader.getHeadLength(u64);
+            bytes.fill(sbc, position, 0, headLength);
+            PageHeader page = PageHeader.parse(bytes, u64, index);
+            if (hasSubHeaders(page)) {
+                int pointersLength = Math.min(page.getSubHeaderCount() * SubHeaderPointer.getLength(u64), bytes.getLength() - headLength);
+                bytes.fill(sbc, position + headLength, headLength, pointersLength);
+                int start = bytes.getLength();
+                int end = 0;
+                for (int i = 0; i < page.getSubHeaderCount(); i++) {
+                    SubHeaderPointer pointer = SubHeaderPointer.parse(bytes, u64, page.getSubHeaderLocation(i));
+                    if (pointer.hasContent() && pointer.getFormat().isKnownAs(SubHeaderFormat.PLAIN)) {
+                        start = Math.min(start, pointer.getOffset());
+                        end = Math.max(end, pointer.getOffset() + pointer.getLength());
+                    }
+                }
+                end = Math.min(end, bytes.getLength());
+                if (start < end) {
+                    bytes.fill(sbc, position + start, start, end - start);
+                }
+            }
+            return bytes;
+        }
+
+        private static boolean hasSubHeaders(PageHeader page) {
+            if (page.getType().isKnown()) {
+                switch (page.getType().get()) {
+                    case META:
+                    case MIX:
+                    case AMD:
+                        return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class PositionalPageReader implements PageReader {
+
+        @lombok.NonNull
+        private final SharedChannel channel;
+
+        @NonNegative
+        private final int headerLength;
+
+        @lombok.NonNull
+        private final Bytes bytes;
+
+        @Override
+        public BytesReader read(int index) throws IOException {
+            bytes.fillAt(channel, getPagePosition(headerLength, bytes.getLength(), index));
+            return bytes;
+        }
+    }
+
+    @lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class MappedPageReader implements PageReader {
+
+        @lombok.NonNull
+        private final MappedFile file;
+
+        @NonNegative
+        private final int headerLength;
+
+        @NonNegative
+        private final int pageLength;
+
+        @Nullable
+        private Bytes truncatedPage;
+
+        @Override
+        public BytesReader read(int index) throws IOException {
+            Bytes result = file.slice(getPagePosition(headerLength, pageLength, index), pageLength);
+            return result.getLength() == pageLength ? result : padTruncatedPage(result);
+        }
+
+        private BytesReader padTruncatedPage(Bytes page) {
+            if (truncatedPage == null) {
+                truncatedPage = Bytes.allocate(pageLength, file.getOrder());
+            }
+            truncatedPage.fill(0, pageLength, (byte) 0);
+            page.copyTo(0, truncatedPage, 0, page.getLength());
+            return truncatedPage;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.base;
+
+import internal.bytes.Bytes;
+import internal.bytes.BytesReader;
+import internal.bytes.SharedChannel;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Page reader that loads the next pages in the background while the current
+ * one is being decoded.
+ * <p>
+ * The pages are stored in a bounded ring of buffers that is filled ahead of
+ * the consumer by using positional reads. A non-sequential access discards the
+ * pages read in advance and restarts the read-ahead from the requested page.
+ * <p>
+ * The reads are done by short tasks submitted to a small pool of daemon
+ * threads shared by all readers. A task stops as soon as the ring is full, so
+ * a reader that is never closed doesn't hold any thread.
+ *
+ * @author Philippe Charles
+ */
+public final class ReadAheadPageReader implements PageReader, Closeable {
+
+    /**
+     * Creates a read-ahead page reader.
+     *
+     * @param channel a non-null channel
+     * @param header a non-null header
+     * @param depth the number of pages read in advance
+     * @return a non-null page reader
+     */
+    @NonNull
+    public static ReadAheadPageReader of(@NonNull FileChannel channel, @NonNull Header header, int depth) {
+        return of(SharedChannel.of(channel), header, depth);
+    }
+
+    /**
+     * Creates a read-ahead page reader on a shared channel.
+     *
+     * @param channel a non-null channel
+     * @param header a non-null header
+     * @param depth the number of pages read in advance
+     * @return a non-null page reader
+     */
+    @NonNull
+    public static ReadAheadPageReader of(@NonNull SharedChannel channel, @NonNull Header header, int depth) {
+        return of(channel, header.getLength(), header.getPageLength(), header.getPageCount(), header.getEndianness(), depth);
+    }
+
+    @NonNull
+    static ReadAheadPageReader of(@NonNull FileChannel channel, int headerLength, int pageLength, int pageCount, @NonNull ByteOrder order, int depth) {
+        return of(SharedChannel.of(channel), headerLength, pageLength, pageCount, order, depth);
+    }
+
+    @NonNull
+    static ReadAheadPageReader of(@NonNull SharedChannel channel, int headerLength, int pageLength, int pageCount, @NonNull ByteOrder order, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Invalid depth: " + depth);
+        }
+        Bytes[] ring = new Bytes[depth + 1];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = Bytes.allocate(pageLength, order);
+        }
+        return new ReadAheadPageReader(channel, headerLength, pageLength, pageCount, ring);
+    }
+
+    private final SharedChannel channel;
+    private final int headerLength;
+    private final int pageLength;
+    private final int pageCount;
+    private final Bytes[] ring;
+
+    // all the fields below are guarded by this
+    private boolean filling;
+    private boolean closed;
+    private int generation;
+    private int expected;
+    private int lowest;
+    private int filled;
+    @Nullable
+    private IOException error;
+
+    private ReadAheadPageReader(SharedChannel channel, int headerLength, int pageLength, int pageCount, Bytes[] ring) {
+        this.channel = channel;
+        this.headerLength = headerLength;
+        this.pageLength = pageLength;
+        this.pageCount = pageCount;
+        this.ring = ring;
+        this.filling = false;
+        this.closed = false;
+        this.generation = 0;
+        this.expected = NO_PAGE;
+        this.lowest = 0;
+        this.filled = 0;
+        this.error = null;
+    }
+
+    @Override
+    public synchronized BytesReader read(@NonNegative int index) throws IOException {
+        if (closed) {
+            throw new IOException("Page reader closed");
+        }
+        if (index >= pageCount) {
+            throw new IndexOutOfBoundsException("Page index out of range: " + index);
+        }
+        if (index != expected) {
+            restartAt(index);
+        } else {
+            // releases the buffer of the previous page
+            lowest = index;
+            scheduleFill();
+        }
+        while (filled <= index && error == null && !closed) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                expected = NO_PAGE;
+                throw new InterruptedIOException();
+            }
+        }
+        if (error != null) {
+            IOException result = error;
+            expected = NO_PAGE;
+            throw result;
+        }
+        if (closed) {
+            throw new IOException("Page reader closed");
+        }
+        expected = index + 1;
+        return ring[index % ring.length];
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    private void restartAt(int index) {
+        generation++;
+        lowest = index;
+        filled = index;
+        error = null;
+        scheduleFill();
+    }
+
+    private void scheduleFill() {
+        if (!filling && !closed && canFill()) {
+            filling = true;
+            FILLERS.execute(this::fillAhead);
+        }
+    }
+
+    private void fillAhead() {
+        while (true) {
+            int page;
+            int pageGeneration;
+            Bytes buffer;
+            synchronized (this) {
+                if (closed || !canFill()) {
+                    filling = false;
+                    return;
+                }
+                page = filled;
+                pageGeneration = generation;
+                buffer = ring[page % ring.length];
+            }
+            IOException pageError = null;
+            try {
+                buffer.fillAt(channel, PageReader.getPagePosition(headerLength, pageLength, page));
+            } catch (IOException ex) {
+                pageError = ex;
+            }
+            synchronized (this) {
+                if (pageGeneration == generation) {
+                    if (pageError != null) {
+                        error = pageError;
+                    } else {
+                        filled++;
+                    }
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private boolean canFill() {
+        return error == null && filled < pageCount && filled < lowest + ring.length;
+    }
+
+    private static final int NO_PAGE = -1;
+
+    private static final Executor FILLERS = newFillers(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    private static ThreadPoolExecutor newFillers(int threads) {
+        ThreadPoolExecutor result = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "sasquatch-read-ahead");
+            thread.setDaemon(true);
+            return thread;
+        });
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+}
@@ -19,17 +19,31 @@ package internal.ri.base;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 
 /**
+ * Conversion of SAS temporal values.
+ * <p>
+ * Dates are taken from a cache that is lazily filled and covers a range of
+ * days set by the system properties {@value #DATE_CACHE_START_PROPERTY} and
+ * {@value #DATE_CACHE_END_PROPERTY} (ISO dates, 1900-01-01 and 2099-12-31 by
+ * default). Date times and times are split in a day and a time of day in order
+ * to use the same cache.
  *
  * @author Philippe Charles
  */
 @lombok.experimental.UtilityClass
 public final class SasCalendar {
 
+    public static final String DATE_CACHE_START_PROPERTY = "sasquatch.ri.dateCacheStart";
+    public static final String DATE_CACHE_END_PROPERTY = "sasquatch.ri.dateCacheEnd";
+
     private static final LocalDate DATE_EPOCH = LocalDate.of(1960, 1, 1);
-    private static final LocalDateTime DATE_TIME_EPOCH = LocalDateTime.of(1960, 1, 1, 0, 0);
+    private static final long EPOCH_DAY_OFFSET = DATE_EPOCH.toEpochDay();
+    private static final long EPOCH_MILLIS_OFFSET = EPOCH_DAY_OFFSET * 86_400_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
 
     /**
      * Gets the calendar's time with the number of seconds since midnight.
@@ -39,7 +53,7 @@ public final class SasCalendar {
      */
     public LocalTime getTime(double numberOfSecondsSinceMidnight) {
         return !Double.isNaN(numberOfSecondsSinceMidnight)
-                ? LocalTime.MIDNIGHT.plus((long) (numberOfSecondsSinceMidnight * 1000), ChronoUnit.MILLIS)
+                ? LocalTime.ofNanoOfDay(Math.floorMod((long) (numberOfSecondsSinceMidnight * 1000), MILLIS_PER_DAY) * NANOS_PER_MILLI)
                 : null;
     }
 
@@ -51,9 +65,66 @@ public final class SasCalendar {
      * @return a date time if available, null otherwise
      */
     public LocalDateTime getDateTime(double numberOfSecondsSinceEpoch) {
+        if (Double.isNaN(numberOfSecondsSinceEpoch)) {
+            return null;
+        }
+        long millis = (long) (numberOfSecondsSinceEpoch * 1000);
+        return LocalDateTime.of(
+                getCachedDate(Math.floorDiv(millis, MILLIS_PER_DAY)),
+                LocalTime.ofNanoOfDay(Math.floorMod(millis, MILLIS_PER_DAY) * NANOS_PER_MILLI)
+        );
+    }
+
+    /**
+     * Gets the number of seconds since midnight with a millisecond precision.
+     * This method is consistent with {@link #getTime(double)}.
+     *
+     * @param numberOfSecondsSinceMidnight the number of seconds since midnight
+     * @return a number of seconds if available, NaN otherwise
+     */
+    public double getSecondOfDay(double numberOfSecondsSinceMidnight) {
+        return !Double.isNaN(numberOfSecondsSinceMidnight)
+                ? Math.floorMod((long) (numberOfSecondsSinceMidnight * 1000), MILLIS_PER_DAY) / 1000d
+                : Double.NaN;
+    }
+
+    /**
+     * Gets the number of seconds since Java epoch (1970/01/01) with a
+     * millisecond precision. This method is consistent with
+     * {@link #getDateTime(double)}.
+     *
+     * @param numberOfSecondsSinceEpoch the number of seconds since SAS epoch
+     * @return a number of seconds if available, NaN otherwise
+     */
+    public double getEpochSecond(double numberOfSecondsSinceEpoch) {
         return !Double.isNaN(numberOfSecondsSinceEpoch)
-                ? DATE_TIME_EPOCH.plus((long) (numberOfSecondsSinceEpoch * 1000), ChronoUnit.MILLIS)
-                : null;
+                ? getEpochMillis(numberOfSecondsSinceEpoch) / 1000d
+                : Double.NaN;
+    }
+
+    /**
+     * Gets the number of milliseconds since Java epoch (1970/01/01). This
+     * method is consistent with {@link #getDateTime(double)}.
+     *
+     * @param numberOfSecondsSinceEpoch the number of seconds since SAS epoch;
+     * not NaN
+     * @return a number of milliseconds
+     */
+    public long getEpochMillis(double numberOfSecondsSinceEpoch) {
+        return (long) (numberOfSecondsSinceEpoch * 1000) + EPOCH_MILLIS_OFFSET;
+    }
+
+    /**
+     * Gets the number of days since Java epoch (1970/01/01). This method is
+     * consistent with {@link #getDate(double)}.
+     *
+     * @param numberOfDaysSinceEpoch the number of days since SAS epoch
+     * @return a number of days if available, NaN otherwise
+     */
+    public double getEpochDay(double numberOfDaysSinceEpoch) {
+        return !Double.isNaN(numberOfDaysSinceEpoch)
+                ? (long) numberOfDaysSinceEpoch + EPOCH_DAY_OFFSET
+                : Double.NaN;
     }
 
     /**
@@ -65,7 +136,54 @@ public final class SasCalendar {
      */
     public LocalDate getDate(double numberOfDaysSinceEpoch) {
         return !Double.isNaN(numberOfDaysSinceEpoch)
-                ? DATE_EPOCH.plusDays((long) numberOfDaysSinceEpoch)
+                ? getCachedDate((long) numberOfDaysSinceEpoch)
                 : null;
     }
+
+    private LocalDate getCachedDate(long numberOfDaysSinceEpoch) {
+        return DateCache.INSTANCE.get(numberOfDaysSinceEpoch);
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class DateCache {
+
+        private static final DateCache INSTANCE = of(
+                parseDate(System.getProperty(DATE_CACHE_START_PROPERTY), LocalDate.of(1900, 1, 1)),
+                parseDate(System.getProperty(DATE_CACHE_END_PROPERTY), LocalDate.of(2099, 12, 31))
+        );
+
+        private static DateCache of(LocalDate start, LocalDate end) {
+            long first = ChronoUnit.DAYS.between(DATE_EPOCH, start);
+            long size = ChronoUnit.DAYS.between(start, end) + 1;
+            return new DateCache(first, new LocalDate[(int) Math.max(0, Math.min(size, MAX_CACHE_SIZE))]);
+        }
+
+        private static LocalDate parseDate(String text, LocalDate defaultValue) {
+            try {
+                return text != null ? LocalDate.parse(text) : defaultValue;
+            } catch (DateTimeParseException ex) {
+                return defaultValue;
+            }
+        }
+
+        private final long first;
+
+        // racy but safe since LocalDate is immutable
+        private final LocalDate[] dates;
+
+        LocalDate get(long numberOfDaysSinceEpoch) {
+            long index = numberOfDaysSinceEpoch - first;
+            if (index < 0 || index >= dates.length) {
+                return DATE_EPOCH.plusDays(numberOfDaysSinceEpoch);
+            }
+            LocalDate result = dates[(int) index];
+            if (result == null) {
+                result = DATE_EPOCH.plusDays(numberOfDaysSinceEpoch);
+                dates[(int) index] = result;
+            }
+            return result;
+        }
+
+        private static final int MAX_CACHE_SIZE = 1_000_000;
+    }
 }
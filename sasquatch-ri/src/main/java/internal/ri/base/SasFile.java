@@ -43,7 +43,31 @@ public class SasFile {
             case CONTINUE:
                 checkHeader(header, sbc.size());
                 PageCursor pageCursor = PageCursor.of(sbc, header);
-                visitPages(header, pageCursor, visitor);
+                visitPages(header, pageCursor, visitor, true);
+                break;
+            case SKIP_SIBLINGS:
+            case SKIP_SUBTREE:
+            case TERMINATE:
+                break;
+        }
+    }
+
+    /**
+     * Visits the header and the subheaders of a file without reading the
+     * whole pages. The row indexes of the INDEX pages are not visited.
+     *
+     * @param sbc a non-null channel
+     * @param visitor a non-null visitor
+     * @throws IOException
+     * @see PageReader#ofSubHeaders(SeekableByteChannel, Header)
+     */
+    public void visitSubHeaders(@NonNull SeekableByteChannel sbc, @NonNull SasFileVisitor visitor) throws IOException {
+        Header header = Header.parse(sbc);
+        switch (visitor.onHeader(header)) {
+            case CONTINUE:
+                checkHeader(header, sbc.size());
+                PageCursor pageCursor = PageCursor.of(PageReader.ofSubHeaders(sbc, header), header);
+                visitPages(header, pageCursor, visitor, false);
                 break;
             case SKIP_SIBLINGS:
             case SKIP_SUBTREE:
@@ -64,7 +88,7 @@ public class SasFile {
         }
     }
 
-    private boolean visitPages(Header header, PageCursor pageCursor, SasFileVisitor visitor) throws IOException {
+    private boolean visitPages(Header header, PageCursor pageCursor, SasFileVisitor visitor, boolean rowIndexes) throws IOException {
         while (pageCursor.next()) {
             BytesReader pageData = pageCursor.getBytes();
             PageHeader page = PageHeader.parse(pageData, header.isU64(), pageCursor.getIndex());
@@ -80,7 +104,7 @@ public class SasFile {
                                 }
                                 break;
                             case INDEX:
-                                if (!visitRowCompEntry(header, page, pageData, visitor)) {
+                                if (rowIndexes && !visitRowCompEntry(header, page, pageData, visitor)) {
                                     return false;
                                 }
                                 break;
@@ -96,7 +96,13 @@ public final class SubHeaderPointer {
         return PageHeader.getHeadLength(u64);
     }
 
-    private static int getLength(boolean u64) {
+    /**
+     * Gets the length of a subheader pointer in the page.
+     *
+     * @param u64 true if the file is 64-bit
+     * @return a length in bytes
+     */
+    public static int getLength(boolean u64) {
         return SEQ.getTotalLength(u64);
     }
 
@@ -101,9 +101,35 @@ public final class Document {
 
     @NonNull
     public static Document parse(@NonNull SeekableByteChannel sbc) throws IOException {
-        DocumentVisitor v = new DocumentVisitor();
+        DocumentVisitor v = new DocumentVisitor(false);
         SasFile.visit(sbc, v);
+        return of(sbc, v);
+    }
+
+    /**
+     * Parses the metadata of a file without its row indexes. The scan stops
+     * as soon as the required subheaders are found and only reads the page
+     * heads and the subheaders.
+     *
+     * @param file a non-null file
+     * @return a non-null document with an empty list of row indexes
+     * @throws IOException
+     */
+    @NonNull
+    public static Document parseMetaData(@NonNull Path file) throws IOException {
+        try (SeekableByteChannel sbc = Files.newByteChannel(file, READ)) {
+            return parseMetaData(sbc);
+        }
+    }
 
+    @NonNull
+    public static Document parseMetaData(@NonNull SeekableByteChannel sbc) throws IOException {
+        DocumentVisitor v = new DocumentVisitor(true);
+        SasFile.visitSubHeaders(sbc, v);
+        return of(sbc, v);
+    }
+
+    private static Document of(SeekableByteChannel sbc, DocumentVisitor v) throws IOException {
         // Check sub headers
         checkDescriptorCount(v.rowSizeList, 1, DescriptorType.ROW_SIZE);
         RowSize rowSize = v.rowSizeList.get(0);
@@ -137,8 +163,10 @@ public final class Document {
         }
     }
 
+    @lombok.RequiredArgsConstructor
     private static final class DocumentVisitor implements SasFileVisitor {
 
+        final boolean metaDataOnly;
         Header header;
         final List<RowSize> rowSizeList = new ArrayList<>();
         final List<ColSize> colSizeList = new ArrayList<>();
@@ -159,8 +187,22 @@ public final class Document {
             return rowSizeList.size() == 1 && rowSizeList.get(0).getNct() > colTextList.size();
         }
 
+        private boolean hasAllMeta() {
+            if (rowSizeList.size() != 1 || colSizeList.size() != 1 || subhCntList.size() != 1) {
+                return false;
+            }
+            int count = colSizeList.get(0).getCount();
+            return colNameList.size() >= count
+                    && colAttrList.size() >= count
+                    && colLabsList.size() >= count
+                    && colTextList.size() >= rowSizeList.get(0).getNct();
+        }
+
         @Override
         public FileVisitResult onPage(Header header, PageHeader page, BytesReader pageData) {
+            if (metaDataOnly && hasAllMeta()) {
+                return FileVisitResult.TERMINATE;
+            }
             if (page.getType().isKnown()) {
                 switch (page.getType().get()) {
                     case META:
@@ -202,7 +244,7 @@ public final class Document {
                             break;
                     }
                 }
-                return FileVisitResult.CONTINUE;
+                return metaDataOnly && hasAllMeta() ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
             }
             return FileVisitResult.SKIP_SIBLINGS;
         }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.bytes.Bytes;
+import internal.bytes.BytesReader;
+
+/**
+ * Decompressor that works directly on the arrays backing the bytes.
+ * <p>
+ * A source without accessible array is first copied in bulk to a temporary
+ * array.
+ *
+ * @author Philippe Charles
+ */
+abstract class BulkDecompressor extends AbstractDecompressor {
+
+    @Override
+    public void uncompress(BytesReader src, int position, Bytes dst, int length, int limit) {
+        byte[] srcArray;
+        int srcPos;
+        if (src instanceof Bytes && ((Bytes) src).hasArray()) {
+            srcArray = ((Bytes) src).array();
+            srcPos = ((Bytes) src).arrayOffset() + position;
+        } else {
+            srcArray = src.getBytes(position, length);
+            srcPos = 0;
+        }
+        if (dst.hasArray()) {
+            uncompress(srcArray, srcPos, srcPos + length, dst.array(), dst.arrayOffset(), dst.arrayOffset() + limit);
+        } else {
+            byte[] dstArray = new byte[dst.getLength()];
+            uncompress(srcArray, srcPos, srcPos + length, dstArray, 0, limit);
+            copy(Bytes.wrap(dstArray, dst.getOrder()), 0, dst, 0, limit);
+        }
+    }
+
+    /**
+     * Uncompresses a row from one array to another.
+     *
+     * @param src the compressed bytes
+     * @param srcPos the position of the compressed row
+     * @param srcEnd the end (exclusive) of the compressed row
+     * @param dst the uncompressed bytes
+     * @param dstStart the position of the uncompressed row
+     * @param dstLimit the position after which the uncompression can stop
+     */
+    abstract void uncompress(byte[] src, int srcPos, int srcEnd, byte[] dst, int dstStart, int dstLimit);
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import java.util.Arrays;
+
+/**
+ * RDC (Ross Data Compression) decompressor that copies patterns and fills
+ * runs of bytes in bulk.
+ * <p>
+ * A pattern that doesn't overlap the bytes being produced is copied with
+ * {@link System#arraycopy(Object, int, Object, int, int)}; an overlapping
+ * pattern repeats the bytes already produced and is therefore copied forward
+ * one byte at a time.
+ *
+ * @see RDCDecompressor
+ * @author Philippe Charles
+ */
+final class BulkRDCDecompressor extends BulkDecompressor {
+
+    public static final BulkRDCDecompressor INSTANCE = new BulkRDCDecompressor();
+
+    @Override
+    void uncompress(byte[] src, int srcPos, int srcEnd, byte[] dst, int dstStart, int dstLimit) {
+        int ctrlBits = 0;
+        int ctrlMask = 0;
+
+        int dstPos = dstStart;
+
+        while (srcPos < srcEnd && dstPos < dstLimit) {
+            ctrlMask >>= 1;
+
+            /* get new load of control bits if needed */
+            if (ctrlMask == 0) {
+                ctrlBits = uint8(src[srcPos]) << 8 | uint8(src[srcPos + 1]);
+                srcPos += 2;
+                ctrlMask = 0x8000;
+            }
+
+            if ((ctrlBits & ctrlMask) == 0) {
+                /* Uncompressed character */
+                dst[dstPos++] = src[srcPos++];
+                continue;
+            }
+
+            /* Compression code */
+            int first = src[srcPos++];
+            int low = first & 0x0F;
+            int high = (first >> 4) & 0x0F;
+            switch (high) {
+                // Short RLE code
+                case 0: {
+                    int repeat = 3 + low;
+                    Arrays.fill(dst, dstPos, dstPos + repeat, src[srcPos++]);
+                    dstPos += repeat;
+                    break;
+                }
+                // Long RLE code
+                case 1: {
+                    int repeat = 19 + low + (uint8(src[srcPos++]) << 4);
+                    Arrays.fill(dst, dstPos, dstPos + repeat, src[srcPos++]);
+                    dstPos += repeat;
+                    break;
+                }
+                // Long pattern code
+                case 2: {
+                    int patternOffset = 3 + low + (uint8(src[srcPos++]) << 4);
+                    int patternLength = 16 + uint8(src[srcPos++]);
+                    copyPattern(dst, dstPos - patternOffset, dstPos, patternLength);
+                    dstPos += patternLength;
+                    break;
+                }
+                // Short pattern code
+                default: {
+                    int patternOffset = 3 + low + (uint8(src[srcPos++]) << 4);
+                    copyPattern(dst, dstPos - patternOffset, dstPos, high);
+                    dstPos += high;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static void copyPattern(byte[] dst, int from, int to, int length) {
+        if (to - from >= length) {
+            System.arraycopy(dst, from, dst, to, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                dst[to + i] = dst[from + i];
+            }
+        }
+    }
+}
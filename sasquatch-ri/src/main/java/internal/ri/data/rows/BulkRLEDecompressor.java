@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import static internal.ri.data.rows.RLEDecompressor.*;
+import java.util.Arrays;
+
+/**
+ * RLE (Run Length Encoding) decompressor that copies and fills runs of bytes
+ * in bulk.
+ *
+ * @see RLEDecompressor
+ * @author Philippe Charles
+ */
+final class BulkRLEDecompressor extends BulkDecompressor {
+
+    public static final BulkRLEDecompressor INSTANCE = new BulkRLEDecompressor();
+
+    @Override
+    void uncompress(byte[] src, int srcPos, int srcEnd, byte[] dst, int dstStart, int dstLimit) {
+        int dstPos = dstStart;
+
+        while (srcPos < srcEnd && dstPos < dstLimit) {
+            int first = src[srcPos++];
+            int low = first & 0x0F;
+            int size;
+            switch ((first >> 4) & 0x0F) {
+                case COPY_64_LONG:
+                    size = 64 + uint8(src[srcPos++]);
+                    System.arraycopy(src, srcPos, dst, dstPos, size);
+                    srcPos += size;
+                    break;
+                case INSERT_BYTE_LONG:
+                    size = 17 + 1 + uint8(src[srcPos++]);
+                    Arrays.fill(dst, dstPos, dstPos + size, src[srcPos++]);
+                    break;
+                case INSERT_AT_LONG:
+                    size = 17 + uint8(src[srcPos++]);
+                    Arrays.fill(dst, dstPos, dstPos + size, AT);
+                    break;
+                case INSERT_BLANK_LONG:
+                    size = 17 + uint8(src[srcPos++]);
+                    Arrays.fill(dst, dstPos, dstPos + size, BLANK);
+                    break;
+                case INSERT_ZERO_LONG:
+                    size = 17 + uint8(src[srcPos++]);
+                    Arrays.fill(dst, dstPos, dstPos + size, ZERO);
+                    break;
+                case COPY_1_SHORT:
+                case COPY_17_SHORT:
+                case COPY_33_SHORT:
+                case COPY_49_SHORT:
+                    size = 1 + 16 * (((first >> 4) & 0x0F) - COPY_1_SHORT) + low;
+                    System.arraycopy(src, srcPos, dst, dstPos, size);
+                    srcPos += size;
+                    break;
+                case INSERT_BYTE_SHORT:
+                    size = 2 + 1 + low;
+                    Arrays.fill(dst, dstPos, dstPos + size, src[srcPos++]);
+                    break;
+                case INSERT_AT_SHORT:
+                    size = 2 + low;
+                    Arrays.fill(dst, dstPos, dstPos + size, AT);
+                    break;
+                case INSERT_BLANK_SHORT:
+                    size = 2 + low;
+                    Arrays.fill(dst, dstPos, dstPos + size, BLANK);
+                    break;
+                case INSERT_ZERO_SHORT:
+                    size = 2 + low;
+                    Arrays.fill(dst, dstPos, dstPos + size, ZERO);
+                    break;
+                default:
+                    throw new RuntimeException("Unknown control byte: " + ((first >> 4) & 0x0F));
+            }
+            dstPos += size;
+        }
+    }
+}
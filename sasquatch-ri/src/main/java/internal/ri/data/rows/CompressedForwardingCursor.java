@@ -21,15 +21,16 @@ import internal.bytes.BytesReader;
 import internal.ri.base.Header;
 import internal.ri.base.PageCursor;
 import internal.ri.base.PageHeader;
+import internal.ri.base.PageReader;
 import internal.ri.base.PageType;
 import internal.ri.base.SubHeaderFormat;
 import internal.ri.base.SubHeaderLocation;
 import internal.ri.base.SubHeaderPointer;
 import internal.ri.data.RowSize;
 import java.io.IOException;
-import java.nio.channels.SeekableByteChannel;
 import lombok.AccessLevel;
 import lombok.NonNull;
+import nbbrd.design.NonNegative;
 
 /**
  *
@@ -39,14 +40,40 @@ import lombok.NonNull;
 final class CompressedForwardingCursor extends ForwardingCursor {
 
     @NonNull
-    public static RowCursor of(@NonNull SeekableByteChannel sbc, @NonNull Header header, @NonNull RowSize rowSize, @NonNull Decompressor decompressor) {
+    public static RowCursor of(@NonNull PageReader pages, @NonNull Header header, @NonNull RowSize rowSize, @NonNull Decompressor decompressor) {
+        return of(pages, header, rowSize, decompressor, rowSize.getLength());
+    }
+
+    @NonNull
+    public static RowCursor of(@NonNull PageReader pages, @NonNull Header header, @NonNull RowSize rowSize, @NonNull Decompressor decompressor, @NonNegative int limit) {
+        return new CompressedForwardingCursor(
+                PageCursor.of(pages, header),
+                false,
+                header.isU64(),
+                rowSize.getCount(),
+                rowSize.getLastMeta(),
+                decompressor,
+                Bytes.allocate(rowSize.getLength(), header.getEndianness()),
+                Math.min(limit, rowSize.getLength()),
+                INITIAL_INDEX,
+                null,
+                null,
+                null,
+                false
+        );
+    }
+
+    @NonNull
+    public static RowCursor ofPageRange(@NonNull PageReader pages, @NonNull Header header, @NonNull RowSize rowSize, @NonNull Decompressor decompressor, @NonNegative int fromPage, @NonNegative int toPage) {
         return new CompressedForwardingCursor(
-                PageCursor.of(sbc, header),
+                PageCursor.of(pages, header, fromPage, toPage),
+                true,
                 header.isU64(),
                 rowSize.getCount(),
                 rowSize.getLastMeta(),
                 decompressor,
                 Bytes.allocate(rowSize.getLength(), header.getEndianness()),
+                rowSize.getLength(),
                 INITIAL_INDEX,
                 null,
                 null,
@@ -56,12 +83,14 @@ final class CompressedForwardingCursor extends ForwardingCursor {
     }
 
     private final PageCursor pageCursor;
+    private final boolean pageRange;
     private final boolean u64;
     @lombok.Getter
     private final int count;
     private final SubHeaderLocation lastMetaLocation;
     private final Decompressor decompressor;
     private final Bytes rowBytes;
+    private final int limit;
     @lombok.Getter
     private int index;
     private PageHeader currentPage;
@@ -76,7 +105,7 @@ final class CompressedForwardingCursor extends ForwardingCursor {
 
     @Override
     protected boolean hasNextRowInCurrentPage() throws IOException {
-        if (currentPointer != null && currentPointer.getLocation().getIndex() < currentPage.getSubHeaderCount()) {
+        if (currentPointer != null && currentPointer.getLocation().getIndex() + 1 < currentPage.getSubHeaderCount()) {
             nextPointer = SubHeaderPointer.parse(pageCursor.getBytes(), u64, currentPointer.getLocation().next());
             return !nextPointer.getFormat().isKnownAs(SubHeaderFormat.TRUNCATED);
         }
@@ -92,11 +121,22 @@ final class CompressedForwardingCursor extends ForwardingCursor {
     }
 
     @Override
-    protected void moveToFirstRowInNextPage() throws IOException {
-        if (currentPage == null) {
+    protected boolean moveToFirstRowInNextPage() throws IOException {
+        if (currentPage == null && pageCursor.getIndex() < lastMetaLocation.getPage()) {
+            if (lastMetaLocation.getPage() >= pageCursor.getCount()) {
+                return false;
+            }
             pageCursor.moveTo(lastMetaLocation.getPage());
             currentPage = PageHeader.parse(pageCursor.getBytes(), u64, pageCursor.getIndex());
             currentPointer = SubHeaderPointer.parse(pageCursor.getBytes(), u64, lastMetaLocation.next());
+        } else if (pageRange) {
+            do {
+                currentPage = ForwardingCursor.findNextPageWithData(pageCursor, u64, CompressedForwardingCursor::hasData);
+                if (currentPage == null) {
+                    return false;
+                }
+            } while (currentPage.getSubHeaderCount() == 0);
+            currentPointer = SubHeaderPointer.parse(pageCursor.getBytes(), u64, new SubHeaderLocation(currentPage.getIndex(), 0));
         } else {
             currentPage = ForwardingCursor.nextPageWithData(pageCursor, u64, CompressedForwardingCursor::hasData);
             currentPointer = SubHeaderPointer.parse(pageCursor.getBytes(), u64, new SubHeaderLocation(currentPage.getIndex(), 0));
@@ -104,6 +144,7 @@ final class CompressedForwardingCursor extends ForwardingCursor {
         nextPointer = null;
         rowLoaded = false;
         index++;
+        return true;
     }
 
     @Override
@@ -116,9 +157,9 @@ final class CompressedForwardingCursor extends ForwardingCursor {
     public BytesReader getBytes() throws IOException {
         if (!rowLoaded) {
             if (isCurrentRowNotCompressed()) {
-                pageCursor.getBytes().copyTo(currentPointer.getOffset(), rowBytes, 0, rowBytes.getLength());
+                pageCursor.getBytes().copyTo(currentPointer.getOffset(), rowBytes, 0, limit);
             } else {
-                decompressor.uncompress(pageCursor.getBytes(), currentPointer.getOffset(), rowBytes, currentPointer.getLength());
+                decompressor.uncompress(pageCursor.getBytes(), currentPointer.getOffset(), rowBytes, currentPointer.getLength(), limit);
             }
             rowLoaded = true;
         }
@@ -129,7 +170,7 @@ final class CompressedForwardingCursor extends ForwardingCursor {
         return currentPointer.getLength() == rowBytes.getLength();
     }
 
-    private static boolean hasData(BytesReader pageBytes, PageHeader page, boolean u64) {
+    static boolean hasData(BytesReader pageBytes, PageHeader page, boolean u64) {
         return page.getType().isKnownAs(PageType.META);
     }
 }
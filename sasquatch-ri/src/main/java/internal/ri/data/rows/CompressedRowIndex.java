@@ -0,0 +1,403 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.ri.base.Header;
+import internal.ri.base.PageCursor;
+import internal.ri.base.PageHeader;
+import internal.ri.base.RowIndex;
+import internal.ri.base.SubHeaderFormat;
+import internal.ri.base.SubHeaderLocation;
+import internal.ri.base.SubHeaderPointer;
+import internal.ri.data.RowSize;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Lazy index of the row pointers of a compressed file.
+ * <p>
+ * The pointers are stored in primitive arrays: the offset and length of each
+ * row plus the first row of each page. The index is built on demand by
+ * following the same path as the forwarding cursor.
+ * <p>
+ * The row indexes stored in the INDEX pages of the file are used as
+ * checkpoints to reach a row without indexing all the rows before it. The
+ * first checkpoint is verified against the rows found by a scan. The other
+ * checkpoints are verified the first time they are needed by walking from
+ * the previous one. If a checkpoint doesn't match, the checkpoints are
+ * ignored.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class CompressedRowIndex {
+
+    @NonNull
+    public static CompressedRowIndex of(@NonNull Header header, @NonNull RowSize rowSize) {
+        return of(header, rowSize, Collections.emptyList());
+    }
+
+    /**
+     * Creates an index that uses the row indexes of the file as checkpoints.
+     * The entries that cannot point to a row of this file are dropped.
+     *
+     * @param header a non-null header
+     * @param rowSize a non-null row size
+     * @param checkpoints a non-null list of row indexes
+     * @return a non-null index
+     */
+    @NonNull
+    public static CompressedRowIndex of(@NonNull Header header, @NonNull RowSize rowSize, @NonNull List<RowIndex> checkpoints) {
+        List<RowIndex> valid = getValidCheckpoints(header, rowSize, checkpoints);
+        return new CompressedRowIndex(
+                header.isU64(),
+                rowSize.getCount(),
+                rowSize.getLastMeta(),
+                new int[0],
+                new int[0],
+                0,
+                new int[0],
+                new int[0],
+                0,
+                null,
+                null,
+                valid.stream().mapToInt(RowIndex::getRowNumber).toArray(),
+                valid.stream().map(RowIndex::getLastRowLocation).toArray(SubHeaderLocation[]::new),
+                valid.isEmpty() ? INVALID_SHIFT : UNVERIFIED_SHIFT,
+                1,
+                NO_ROW,
+                null,
+                null
+        );
+    }
+
+    /**
+     * Creates an index whose row pointers have already been collected.
+     *
+     * @param header a non-null header
+     * @param rowSize a non-null row size
+     * @param complete a non-null complete index of the same file
+     * @return a non-null index
+     */
+    @NonNull
+    public static CompressedRowIndex of(@NonNull Header header, @NonNull RowSize rowSize, @NonNull SidecarRowIndex complete) {
+        return new CompressedRowIndex(
+                header.isU64(),
+                rowSize.getCount(),
+                rowSize.getLastMeta(),
+                complete.getPages(),
+                complete.getFirstRows(),
+                complete.getPages().length,
+                complete.getOffsets(),
+                complete.getLengths(),
+                complete.getCount(),
+                null,
+                null,
+                new int[0],
+                new SubHeaderLocation[0],
+                INVALID_SHIFT,
+                0,
+                NO_ROW,
+                null,
+                null
+        );
+    }
+
+    private final boolean u64;
+
+    @lombok.Getter
+    @NonNegative
+    private final int count;
+
+    @lombok.NonNull
+    private final SubHeaderLocation lastMetaLocation;
+
+    private int[] pages;
+    private int[] firstRows;
+    @NonNegative
+    private int pageSize;
+
+    private int[] offsets;
+    private int[] lengths;
+    @lombok.Getter
+    @NonNegative
+    private int size;
+
+    @Nullable
+    private PageHeader currentPage;
+
+    @Nullable
+    private SubHeaderPointer currentPointer;
+
+    private final int[] checkpointRows;
+    private final SubHeaderLocation[] checkpointLocations;
+    private int checkpointShift;
+    // the checkpoints before this one have been reached by walking from the first one
+    private int verifiedCheckpoints;
+
+    // row located from a checkpoint, outside of the indexed rows
+    private int jumpRow;
+    @Nullable
+    private PageHeader jumpPage;
+    @Nullable
+    private SubHeaderPointer jumpPointer;
+
+    /**
+     * Locates the specified row. The row is either added to the index along
+     * with all the rows before it, or reached from the nearest checkpoint.
+     * Only the last located row is guaranteed to be available.
+     *
+     * @param pageCursor the page cursor used to scan pages
+     * @param row the zero-based row index
+     * @throws IOException
+     */
+    public void ensure(@NonNull PageCursor pageCursor, @NonNegative int row) throws IOException {
+        if (row < size) {
+            return;
+        }
+        if (row >= count) {
+            throw new IndexOutOfBoundsException("Row index out of range: " + row);
+        }
+        if (checkpointShift == UNVERIFIED_SHIFT) {
+            checkpointShift = verifyCheckpoints(pageCursor);
+        }
+        if (checkpointShift == INVALID_SHIFT || !jumpTo(pageCursor, row)) {
+            extendTo(pageCursor, row);
+        }
+    }
+
+    @NonNegative
+    public int getPage(@NonNegative int row) {
+        if (row >= size) {
+            return getJumpPointer(row).getLocation().getPage();
+        }
+        int i = Arrays.binarySearch(firstRows, 0, pageSize, row);
+        return pages[i >= 0 ? i : -i - 2];
+    }
+
+    @NonNegative
+    public int getOffset(@NonNegative int row) {
+        return row >= size ? getJumpPointer(row).getOffset() : offsets[row];
+    }
+
+    @NonNegative
+    public int getLength(@NonNegative int row) {
+        return row >= size ? getJumpPointer(row).getLength() : lengths[row];
+    }
+
+    int[] copyPages() {
+        return Arrays.copyOf(pages, pageSize);
+    }
+
+    int[] copyFirstRows() {
+        return Arrays.copyOf(firstRows, pageSize);
+    }
+
+    int[] copyOffsets() {
+        return Arrays.copyOf(offsets, size);
+    }
+
+    int[] copyLengths() {
+        return Arrays.copyOf(lengths, size);
+    }
+
+    private void extendTo(PageCursor pageCursor, int row) throws IOException {
+        if (currentPage != null && pageCursor.getIndex() != currentPage.getIndex()) {
+            pageCursor.moveTo(currentPage.getIndex());
+        }
+        while (size <= row) {
+            if (currentPage == null) {
+                pageCursor.moveTo(lastMetaLocation.getPage());
+                currentPage = PageHeader.parse(pageCursor.getBytes(), u64, pageCursor.getIndex());
+                addFirstRowInPage(SubHeaderPointer.parse(pageCursor.getBytes(), u64, lastMetaLocation.next()));
+            } else if (!addNextRowInCurrentPage(pageCursor)) {
+                currentPage = ForwardingCursor.nextPageWithData(pageCursor, u64, CompressedForwardingCursor::hasData);
+                addFirstRowInPage(SubHeaderPointer.parse(pageCursor.getBytes(), u64, new SubHeaderLocation(currentPage.getIndex(), 0)));
+            }
+        }
+    }
+
+    private boolean addNextRowInCurrentPage(PageCursor pageCursor) {
+        SubHeaderPointer nextPointer = getNextPointerInPage(pageCursor, currentPage, currentPointer);
+        if (nextPointer != null) {
+            addRow(nextPointer);
+            return true;
+        }
+        return false;
+    }
+
+    private void addFirstRowInPage(SubHeaderPointer pointer) {
+        if (pageSize == pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(16, pageSize * 2));
+            firstRows = Arrays.copyOf(firstRows, pages.length);
+        }
+        pages[pageSize] = pointer.getLocation().getPage();
+        firstRows[pageSize] = size;
+        pageSize++;
+        addRow(pointer);
+    }
+
+    private void addRow(SubHeaderPointer pointer) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, (int) Math.min(count, Math.max(1024L, size * 2L)));
+            lengths = Arrays.copyOf(lengths, offsets.length);
+        }
+        offsets[size] = pointer.getOffset();
+        lengths[size] = pointer.getLength();
+        size++;
+        currentPointer = pointer;
+    }
+
+    @Nullable
+    private SubHeaderPointer getNextPointerInPage(PageCursor pageCursor, PageHeader page, SubHeaderPointer pointer) {
+        if (pointer.getLocation().getIndex() + 1 < page.getSubHeaderCount()) {
+            SubHeaderPointer nextPointer = SubHeaderPointer.parse(pageCursor.getBytes(), u64, pointer.getLocation().next());
+            if (!nextPointer.getFormat().isKnownAs(SubHeaderFormat.TRUNCATED)) {
+                return nextPointer;
+            }
+        }
+        return null;
+    }
+
+    // the row number of a checkpoint is either the zero-based index or the one-based number of its row
+    private int verifyCheckpoints(PageCursor pageCursor) throws IOException {
+        for (int shift : new int[]{-1, 0}) {
+            int row = checkpointRows[0] + shift;
+            if (0 <= row && row < count) {
+                extendTo(pageCursor, row);
+                if (jumpTo(pageCursor, row, checkpointLocations[0])
+                        && getPage(row) == jumpPointer.getLocation().getPage()
+                        && offsets[row] == jumpPointer.getOffset()
+                        && lengths[row] == jumpPointer.getLength()) {
+                    return shift;
+                }
+            }
+        }
+        return INVALID_SHIFT;
+    }
+
+    private boolean jumpTo(PageCursor pageCursor, int row) throws IOException {
+        int i = Arrays.binarySearch(checkpointRows, row - checkpointShift);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        if (i >= verifiedCheckpoints && !verifyCheckpointsUpTo(pageCursor, i)) {
+            checkpointShift = INVALID_SHIFT;
+            return false;
+        }
+        int checkpointRow = i >= 0 ? checkpointRows[i] + checkpointShift : NO_ROW;
+        int start = Math.max(checkpointRow, jumpRow <= row ? jumpRow : NO_ROW);
+        if (start < size) {
+            return false;
+        }
+        if (start != jumpRow) {
+            if (!jumpTo(pageCursor, start, checkpointLocations[i])) {
+                checkpointShift = INVALID_SHIFT;
+                return false;
+            }
+        } else if (pageCursor.getIndex() != jumpPage.getIndex()) {
+            pageCursor.moveTo(jumpPage.getIndex());
+        }
+        walkTo(pageCursor, row);
+        return true;
+    }
+
+    // a checkpoint is only trusted once the walk from the previous one reaches its location with its row number
+    private boolean verifyCheckpointsUpTo(PageCursor pageCursor, int last) throws IOException {
+        while (verifiedCheckpoints <= last) {
+            int previous = verifiedCheckpoints - 1;
+            int row = checkpointRows[verifiedCheckpoints] + checkpointShift;
+            if (row >= count || !jumpTo(pageCursor, checkpointRows[previous] + checkpointShift, checkpointLocations[previous])) {
+                return false;
+            }
+            walkTo(pageCursor, row);
+            if (!jumpPointer.getLocation().equals(checkpointLocations[verifiedCheckpoints])) {
+                return false;
+            }
+            verifiedCheckpoints++;
+        }
+        return true;
+    }
+
+    private void walkTo(PageCursor pageCursor, int row) throws IOException {
+        while (jumpRow < row) {
+            SubHeaderPointer nextPointer = getNextPointerInPage(pageCursor, jumpPage, jumpPointer);
+            if (nextPointer == null) {
+                jumpPage = ForwardingCursor.nextPageWithData(pageCursor, u64, CompressedForwardingCursor::hasData);
+                nextPointer = SubHeaderPointer.parse(pageCursor.getBytes(), u64, new SubHeaderLocation(jumpPage.getIndex(), 0));
+            }
+            jumpPointer = nextPointer;
+            jumpRow++;
+        }
+    }
+
+    private boolean jumpTo(PageCursor pageCursor, int row, SubHeaderLocation location) throws IOException {
+        jumpRow = NO_ROW;
+        if (pageCursor.getIndex() != location.getPage()) {
+            pageCursor.moveTo(location.getPage());
+        }
+        PageHeader page = PageHeader.parse(pageCursor.getBytes(), u64, location.getPage());
+        if (!CompressedForwardingCursor.hasData(pageCursor.getBytes(), page, u64) || location.getIndex() >= page.getSubHeaderCount()) {
+            return false;
+        }
+        SubHeaderPointer pointer = SubHeaderPointer.parse(pageCursor.getBytes(), u64, location);
+        if (!pointer.hasContent() || pointer.getFormat().isKnownAs(SubHeaderFormat.TRUNCATED)) {
+            return false;
+        }
+        jumpPage = page;
+        jumpPointer = pointer;
+        jumpRow = row;
+        return true;
+    }
+
+    private SubHeaderPointer getJumpPointer(int row) {
+        if (row != jumpRow) {
+            throw new IllegalStateException("Row not located: " + row);
+        }
+        return jumpPointer;
+    }
+
+    private static List<RowIndex> getValidCheckpoints(Header header, RowSize rowSize, List<RowIndex> checkpoints) {
+        int firstDataPage = rowSize.getLastMeta().getPage();
+        List<RowIndex> result = checkpoints
+                .stream()
+                .filter(o -> 0 <= o.getRowNumber() && o.getRowNumber() <= rowSize.getCount())
+                .filter(o -> firstDataPage <= o.getLastRowLocation().getPage() && o.getLastRowLocation().getPage() < header.getPageCount())
+                .filter(o -> 0 <= o.getLastRowLocation().getIndex())
+                .sorted(Comparator.comparingInt(RowIndex::getRowNumber))
+                .collect(Collectors.toList());
+        for (int i = 1; i < result.size(); i++) {
+            if (result.get(i - 1).getRowNumber() == result.get(i).getRowNumber()
+                    || result.get(i - 1).getLastRowLocation().compareTo(result.get(i).getLastRowLocation()) >= 0) {
+                return Collections.emptyList();
+            }
+        }
+        return result;
+    }
+
+    private static final int UNVERIFIED_SHIFT = Integer.MIN_VALUE;
+    private static final int INVALID_SHIFT = Integer.MAX_VALUE;
+    private static final int NO_ROW = -1;
+}
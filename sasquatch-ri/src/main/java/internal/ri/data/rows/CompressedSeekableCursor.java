@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.bytes.Bytes;
+import internal.bytes.BytesReader;
+import internal.ri.base.Header;
+import internal.ri.base.PageCursor;
+import internal.ri.base.PageReader;
+import internal.ri.base.RowIndex;
+import internal.ri.data.RowSize;
+import java.io.IOException;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Seekable cursor on compressed rows that relies on a lazy index of row
+ * pointers, or on a complete one loaded from a sidecar file. The lazy index
+ * uses the row indexes of the file to skip pages. A row is only decompressed
+ * when its bytes are requested.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class CompressedSeekableCursor implements SeekableRowCursor {
+
+    @NonNull
+    public static SeekableRowCursor of(@NonNull PageReader pages, @NonNull Header header, @NonNull RowSize rowSize, @NonNull Decompressor decompressor, @NonNull List<RowIndex> rowIndexes, @Nullable SidecarRowIndex sidecar) {
+        return new CompressedSeekableCursor(
+                PageCursor.of(pages, header),
+                sidecar != null ? CompressedRowIndex.of(header, rowSize, sidecar) : CompressedRowIndex.of(header, rowSize, rowIndexes),
+                decompressor,
+                Bytes.allocate(rowSize.getLength(), header.getEndianness()),
+                INITIAL_INDEX,
+                false
+        );
+    }
+
+    private final PageCursor pageCursor;
+    private final CompressedRowIndex rowIndex;
+    private final Decompressor decompressor;
+    private final Bytes rowBytes;
+    @lombok.Getter
+    private int index;
+    private boolean rowLoaded;
+
+    @Override
+    public int getCount() {
+        return rowIndex.getCount();
+    }
+
+    @Override
+    public void moveTo(int index) {
+        this.index = index;
+        this.rowLoaded = false;
+    }
+
+    @Override
+    public BytesReader getBytes() throws IOException {
+        if (index < 0 || index >= getCount()) {
+            throw new IndexOutOfBoundsException("Row index out of range: " + index);
+        }
+        if (!rowLoaded) {
+            rowIndex.ensure(pageCursor, index);
+            int page = rowIndex.getPage(index);
+            if (pageCursor.getIndex() != page) {
+                pageCursor.moveTo(page);
+            }
+            int offset = rowIndex.getOffset(index);
+            int length = rowIndex.getLength(index);
+            if (length == rowBytes.getLength()) {
+                pageCursor.getBytes().copyTo(offset, rowBytes, 0, length);
+            } else {
+                decompressor.uncompress(pageCursor.getBytes(), offset, rowBytes, length);
+            }
+            rowLoaded = true;
+        }
+        return rowBytes;
+    }
+}
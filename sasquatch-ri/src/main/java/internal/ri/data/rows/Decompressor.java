@@ -27,5 +27,19 @@ import lombok.NonNull;
  */
 interface Decompressor {
 
-    void uncompress(@NonNull BytesReader src, @NonNegative int srcPos, @NonNull Bytes dst, @NonNegative int length);
+    default void uncompress(@NonNull BytesReader src, @NonNegative int srcPos, @NonNull Bytes dst, @NonNegative int length) {
+        uncompress(src, srcPos, dst, length, dst.getLength());
+    }
+
+    /**
+     * Uncompresses a row but stops as soon as the specified number of bytes
+     * has been produced. The bytes after this limit are left unspecified.
+     *
+     * @param src the compressed bytes
+     * @param srcPos the position of the compressed row
+     * @param dst the uncompressed row
+     * @param length the length of the compressed row
+     * @param limit the number of leading bytes required in the uncompressed row
+     */
+    void uncompress(@NonNull BytesReader src, @NonNegative int srcPos, @NonNull Bytes dst, @NonNegative int length, @NonNegative int limit);
 }
@@ -19,6 +19,7 @@ package internal.ri.data.rows;
 import internal.bytes.BytesReader;
 import internal.ri.base.PageCursor;
 import internal.ri.base.PageHeader;
+import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
 
@@ -41,10 +42,9 @@ abstract class ForwardingCursor implements RowCursor {
         if (hasNextRow()) {
             if (hasNextRowInCurrentPage()) {
                 moveToNextRowInCurrentPage();
-            } else {
-                moveToFirstRowInNextPage();
+                return true;
             }
-            return true;
+            return moveToFirstRowInNextPage();
         }
         return false;
     }
@@ -55,7 +55,7 @@ abstract class ForwardingCursor implements RowCursor {
 
     abstract protected void moveToNextRowInCurrentPage() throws IOException;
 
-    abstract protected void moveToFirstRowInNextPage() throws IOException;
+    abstract protected boolean moveToFirstRowInNextPage() throws IOException;
 
     abstract protected boolean isDeleted() throws IOException;
 
@@ -65,6 +65,14 @@ abstract class ForwardingCursor implements RowCursor {
     }
 
     static PageHeader nextPageWithData(PageCursor pageCursor, boolean u64, HasData hasData) throws IOException {
+        PageHeader result = findNextPageWithData(pageCursor, u64, hasData);
+        if (result == null) {
+            throw new IOException("No data page found");
+        }
+        return result;
+    }
+
+    static @Nullable PageHeader findNextPageWithData(PageCursor pageCursor, boolean u64, HasData hasData) throws IOException {
         while (pageCursor.next()) {
             BytesReader pageData = pageCursor.getBytes();
             PageHeader page = PageHeader.parse(pageData, u64, pageCursor.getIndex());
@@ -72,6 +80,6 @@ abstract class ForwardingCursor implements RowCursor {
                 return page;
             }
         }
-        throw new IOException("No data page found");
+        return null;
     }
 }
@@ -21,11 +21,11 @@ import internal.bytes.BytesWithOffset;
 import internal.ri.base.Header;
 import internal.ri.base.PageCursor;
 import internal.ri.base.PageHeader;
+import internal.ri.base.PageReader;
 import internal.ri.base.PageType;
 import internal.ri.base.SubHeaderPointer;
 import internal.ri.data.RowSize;
 import java.io.IOException;
-import java.nio.channels.SeekableByteChannel;
 import lombok.AccessLevel;
 import nbbrd.design.NonNegative;
 import lombok.NonNull;
@@ -39,9 +39,25 @@ import org.jspecify.annotations.Nullable;
 final class PackedBinaryForwardingCursor extends ForwardingCursor {
 
     @NonNull
-    public static RowCursor of(@NonNull SeekableByteChannel sbc, @NonNull Header header, @NonNull RowSize rowSize) {
+    public static RowCursor of(@NonNull PageReader pages, @NonNull Header header, @NonNull RowSize rowSize) {
         return new PackedBinaryForwardingCursor(
-                PageCursor.of(sbc, header),
+                PageCursor.of(pages, header),
+                false,
+                header.isU64(),
+                rowSize.getCount(),
+                rowSize.getLength(),
+                new BytesWithOffset(),
+                INITIAL_INDEX,
+                null,
+                0
+        );
+    }
+
+    @NonNull
+    public static RowCursor ofPageRange(@NonNull PageReader pages, @NonNull Header header, @NonNull RowSize rowSize, @NonNegative int fromPage, @NonNegative int toPage) {
+        return new PackedBinaryForwardingCursor(
+                PageCursor.of(pages, header, fromPage, toPage),
+                true,
                 header.isU64(),
                 rowSize.getCount(),
                 rowSize.getLength(),
@@ -55,6 +71,8 @@ final class PackedBinaryForwardingCursor extends ForwardingCursor {
     @lombok.NonNull
     private final PageCursor pageCursor;
 
+    private final boolean pageRange;
+
     private final boolean u64;
 
     @lombok.Getter
@@ -93,12 +111,20 @@ final class PackedBinaryForwardingCursor extends ForwardingCursor {
     }
 
     @Override
-    protected void moveToFirstRowInNextPage() throws IOException {
-        currentPage = nextPageWithData(pageCursor, u64, PackedBinaryForwardingCursor::hasData);
-        bytes.reset(pageCursor.getBytes(), 0);
-        setBaseAndRemaining();
+    protected boolean moveToFirstRowInNextPage() throws IOException {
+        do {
+            currentPage = pageRange
+                    ? findNextPageWithData(pageCursor, u64, PackedBinaryForwardingCursor::hasData)
+                    : nextPageWithData(pageCursor, u64, PackedBinaryForwardingCursor::hasData);
+            if (currentPage == null) {
+                return false;
+            }
+            bytes.reset(pageCursor.getBytes(), 0);
+            setBaseAndRemaining();
+        } while (pageRange && remainingRowsInCurrentPage <= 0);
         remainingRowsInCurrentPage--;
         index++;
+        return true;
     }
 
     @Override
@@ -122,12 +148,12 @@ final class PackedBinaryForwardingCursor extends ForwardingCursor {
         }
     }
 
-    private static int getRowCountInMix(PageHeader page) {
+    static int getRowCountInMix(PageHeader page) {
         return page.getDataBlockCount() - page.getSubHeaderCount();
     }
 
     //# skip subheader pointers & round up to 8-byte boundary if possible
-    private static int getRowOffsetInMix(PageHeader page, boolean u64, int rowLength, BytesReader pageBytes) {
+    static int getRowOffsetInMix(PageHeader page, boolean u64, int rowLength, BytesReader pageBytes) {
         int requiredLength = rowLength * getRowCountInMix(page);
         int availableLength = getMinimumSubHeaderOffsetInMix(pageBytes, u64, page);
 
@@ -150,7 +176,7 @@ final class PackedBinaryForwardingCursor extends ForwardingCursor {
                 .orElse(pageBytes.getLength());
     }
 
-    private static boolean hasData(BytesReader pageBytes, PageHeader page, boolean u64) {
+    static boolean hasData(BytesReader pageBytes, PageHeader page, boolean u64) {
         return page.getType().isKnownAs(PageType.MIX) 
                 || page.getType().isKnownAs(PageType.DATA);
     }
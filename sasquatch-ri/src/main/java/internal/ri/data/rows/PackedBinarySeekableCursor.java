@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.bytes.BytesReader;
+import internal.bytes.BytesWithOffset;
+import internal.ri.base.Header;
+import internal.ri.base.PageCursor;
+import internal.ri.base.PageHeader;
+import internal.ri.base.PageReader;
+import internal.ri.base.PageType;
+import internal.ri.data.RowSize;
+import java.io.IOException;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Seekable cursor on uncompressed rows.
+ * <p>
+ * The location of a row is computed from the first data page and the number
+ * of rows per data page. This layout is checked once against the last data
+ * page and the trailing pages; if it doesn't match, the cursor falls back to a
+ * table of data pages built by scanning the page headers.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class PackedBinarySeekableCursor implements SeekableRowCursor {
+
+    @NonNull
+    public static SeekableRowCursor of(@NonNull PageReader pages, @NonNull Header header, @NonNull RowSize rowSize) {
+        return new PackedBinarySeekableCursor(
+                PageCursor.of(pages, header),
+                header.isU64(),
+                rowSize.getCount(),
+                rowSize.getLength(),
+                rowSize.getLength() > 0 ? (header.getPageLength() - PageHeader.getHeadLength(header.isU64())) / rowSize.getLength() : 0,
+                new BytesWithOffset(),
+                INITIAL_INDEX,
+                NO_PAGE,
+                0,
+                0,
+                false,
+                null,
+                null,
+                null
+        );
+    }
+
+    @lombok.NonNull
+    private final PageCursor pageCursor;
+
+    private final boolean u64;
+
+    @lombok.Getter
+    private final int count;
+
+    @NonNegative
+    private final int rowLength;
+
+    @NonNegative
+    private final int rowsPerDataPage;
+
+    private final BytesWithOffset bytes;
+
+    @lombok.Getter
+    private int index;
+
+    private int firstPage;
+
+    @NonNegative
+    private int firstPageRowCount;
+
+    @NonNegative
+    private int firstPageRowOffset;
+
+    private boolean layoutValidated;
+
+    @Nullable
+    private int[] tablePages;
+
+    @Nullable
+    private int[] tableFirstRows;
+
+    @Nullable
+    private int[] tableRowOffsets;
+
+    @Override
+    public void moveTo(int index) throws IOException {
+        this.index = index;
+        if (isInRange()) {
+            if (tablePages == null && !moveToComputedLocation()) {
+                buildTable();
+            }
+            if (tablePages != null) {
+                moveToTableLocation();
+            }
+        }
+    }
+
+    @Override
+    public BytesReader getBytes() {
+        if (!isInRange()) {
+            throw new IndexOutOfBoundsException("Row index out of range: " + index);
+        }
+        return bytes;
+    }
+
+    private boolean isInRange() {
+        return 0 <= index && index < count;
+    }
+
+    private boolean moveToComputedLocation() throws IOException {
+        if (firstPage == NO_PAGE) {
+            locateFirstPage();
+        }
+        if (index < firstPageRowCount) {
+            loadPage(firstPage);
+            bytes.reset(pageCursor.getBytes(), firstPageRowOffset + index * rowLength);
+            return true;
+        }
+        if (!layoutValidated) {
+            if (!isLayoutValid()) {
+                return false;
+            }
+            layoutValidated = true;
+        }
+        int rowInDataPages = index - firstPageRowCount;
+        loadPage(firstPage + 1 + rowInDataPages / rowsPerDataPage);
+        bytes.reset(pageCursor.getBytes(), PageHeader.getHeadLength(u64) + (rowInDataPages % rowsPerDataPage) * rowLength);
+        return true;
+    }
+
+    // all data pages are full except the last one if it holds the remaining rows and no data follows
+    private boolean isLayoutValid() throws IOException {
+        if (rowsPerDataPage == 0) {
+            return false;
+        }
+        int rowCountInDataPages = count - firstPageRowCount;
+        int dataPageCount = (rowCountInDataPages + rowsPerDataPage - 1) / rowsPerDataPage;
+        int lastPage = firstPage + dataPageCount;
+        if (lastPage >= pageCursor.getCount()) {
+            return false;
+        }
+        loadPage(lastPage);
+        PageHeader last = PageHeader.parse(pageCursor.getBytes(), u64, lastPage);
+        if (!last.getType().isKnownAs(PageType.DATA)
+                || last.getDataBlockCount() != rowCountInDataPages - (dataPageCount - 1) * rowsPerDataPage) {
+            return false;
+        }
+        while (pageCursor.next()) {
+            if (PackedBinaryForwardingCursor.hasData(pageCursor.getBytes(), PageHeader.parse(pageCursor.getBytes(), u64, pageCursor.getIndex()), u64)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void locateFirstPage() throws IOException {
+        PageHeader page = ForwardingCursor.nextPageWithData(pageCursor, u64, PackedBinaryForwardingCursor::hasData);
+        firstPage = page.getIndex();
+        firstPageRowCount = getRowCount(page);
+        firstPageRowOffset = getRowOffset(page, pageCursor.getBytes());
+    }
+
+    private void buildTable() throws IOException {
+        int[] pages = new int[pageCursor.getCount()];
+        int[] firstRows = new int[pages.length];
+        int[] rowOffsets = new int[pages.length];
+        int size = 0;
+        int rows = 0;
+        pageCursor.moveTo(0);
+        do {
+            BytesReader pageBytes = pageCursor.getBytes();
+            PageHeader page = PageHeader.parse(pageBytes, u64, pageCursor.getIndex());
+            if (PackedBinaryForwardingCursor.hasData(pageBytes, page, u64) && getRowCount(page) > 0) {
+                pages[size] = page.getIndex();
+                firstRows[size] = rows;
+                rowOffsets[size] = getRowOffset(page, pageBytes);
+                rows += getRowCount(page);
+                size++;
+            }
+        } while (rows < count && pageCursor.next());
+        tablePages = Arrays.copyOf(pages, size);
+        tableFirstRows = Arrays.copyOf(firstRows, size);
+        tableRowOffsets = Arrays.copyOf(rowOffsets, size);
+    }
+
+    private void moveToTableLocation() throws IOException {
+        int i = Arrays.binarySearch(tableFirstRows, index);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        if (i < 0 || (i == tablePages.length - 1 && !hasRow(i))) {
+            throw new IOException("No data page found");
+        }
+        loadPage(tablePages[i]);
+        bytes.reset(pageCursor.getBytes(), tableRowOffsets[i] + (index - tableFirstRows[i]) * rowLength);
+    }
+
+    private boolean hasRow(int tableIndex) throws IOException {
+        loadPage(tablePages[tableIndex]);
+        PageHeader page = PageHeader.parse(pageCursor.getBytes(), u64, tablePages[tableIndex]);
+        return index - tableFirstRows[tableIndex] < getRowCount(page);
+    }
+
+    private void loadPage(int page) throws IOException {
+        if (pageCursor.getIndex() != page) {
+            pageCursor.moveTo(page);
+        }
+    }
+
+    private int getRowCount(PageHeader page) {
+        return page.getType().isKnownAs(PageType.MIX)
+                ? PackedBinaryForwardingCursor.getRowCountInMix(page)
+                : page.getDataBlockCount();
+    }
+
+    private int getRowOffset(PageHeader page, BytesReader pageBytes) {
+        return page.getType().isKnownAs(PageType.MIX)
+                ? PackedBinaryForwardingCursor.getRowOffsetInMix(page, u64, rowLength, pageBytes)
+                : PageHeader.getHeadLength(u64);
+    }
+
+    private static final int NO_PAGE = -1;
+}
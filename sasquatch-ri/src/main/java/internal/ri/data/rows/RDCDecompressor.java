@@ -21,6 +21,9 @@ import internal.bytes.BytesReader;
 
 /**
  * RDC (Ross Data Compression) decompressor.
+ * <p>
+ * This byte-per-byte implementation is kept as a reference for
+ * {@link BulkRDCDecompressor}.
  *
  * @see
  * https://www.drdobbs.com/a-simple-data-compression-technique/184402606?pgno=2
@@ -32,14 +35,14 @@ final class RDCDecompressor extends AbstractDecompressor {
     public static final RDCDecompressor INSTANCE = new RDCDecompressor();
 
     @Override
-    public void uncompress(BytesReader src, int position, Bytes dst, int length) {
+    public void uncompress(BytesReader src, int position, Bytes dst, int length, int limit) {
         int ctrl_bits = 0;
         int ctrl_mask = 0;
 
         int srcPos = position;
         int dstPos = 0;
 
-        while (srcPos < position + length) {
+        while (srcPos < position + length && dstPos < limit) {
             ctrl_mask >>= 1;
 
             /* get new load of control bits if needed */
@@ -21,6 +21,9 @@ import internal.bytes.BytesReader;
 
 /**
  * RLE (Run Length Encoding) decompressor.
+ * <p>
+ * This byte-per-byte implementation is kept as a reference for
+ * {@link BulkRLEDecompressor}.
  *
  * @see
  * https://github.com/BioStatMatt/sas7bdat/blob/master/vignettes/sas7bdat.rst#run-length-encoding
@@ -51,11 +54,11 @@ final class RLEDecompressor extends AbstractDecompressor {
     static final byte AT = 0x40;
 
     @Override
-    public void uncompress(BytesReader src, int position, Bytes dst, int length) {
+    public void uncompress(BytesReader src, int position, Bytes dst, int length, int limit) {
         int srcPos = position;
         int dstPos = 0;
 
-        while (srcPos < position + length) {
+        while (srcPos < position + length && dstPos < limit) {
             int firstByteIdx = srcPos++;
             switch (src.getHigh(firstByteIdx)) {
                 case COPY_64_LONG: {
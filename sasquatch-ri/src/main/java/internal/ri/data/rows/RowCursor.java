@@ -17,10 +17,12 @@
 package internal.ri.data.rows;
 
 import internal.bytes.BytesCursor;
+import internal.ri.base.PageReader;
 import internal.ri.data.Document;
 import java.io.IOException;
 import java.nio.channels.SeekableByteChannel;
 import lombok.NonNull;
+import nbbrd.design.NonNegative;
 
 /**
  *
@@ -30,14 +32,86 @@ public interface RowCursor extends BytesCursor {
 
     @NonNull
     public static RowCursor of(@NonNull SeekableByteChannel sbc, @NonNull Document doc) throws IOException {
+        return of(PageReader.ofChannel(sbc, doc.getHeader()), doc);
+    }
+
+    @NonNull
+    public static RowCursor of(@NonNull PageReader pages, @NonNull Document doc) throws IOException {
+        return of(pages, doc, doc.getRowSize().getLength());
+    }
+
+    /**
+     * Creates a row cursor that only needs the leading bytes of each row. The
+     * decompression of a row stops once this limit is reached so that the
+     * following bytes are left unspecified.
+     *
+     * @param pages a non-null page reader
+     * @param doc a non-null document
+     * @param limit the number of leading bytes required in each row
+     * @return a non-null row cursor
+     * @throws IOException
+     */
+    @NonNull
+    public static RowCursor of(@NonNull PageReader pages, @NonNull Document doc, @NonNegative int limit) throws IOException {
+        if (doc.getCompression().isKnown()) {
+            switch (doc.getCompression().get()) {
+                case CHAR:
+                    return CompressedForwardingCursor.of(pages, doc.getHeader(), doc.getRowSize(), BulkRLEDecompressor.INSTANCE, limit);
+                case BIN:
+                    return CompressedForwardingCursor.of(pages, doc.getHeader(), doc.getRowSize(), BulkRDCDecompressor.INSTANCE, limit);
+                case NONE:
+                    return PackedBinaryForwardingCursor.of(pages, doc.getHeader(), doc.getRowSize());
+            }
+        }
+        throw new IOException("Cannot handle compression " + doc.getCompression().toString());
+    }
+
+    /**
+     * Creates a row cursor over the rows stored in a range of pages. Unlike a
+     * cursor over the whole file, it stops at the end of its range instead of
+     * expecting the total row count.
+     *
+     * @param pages a non-null page reader
+     * @param doc a non-null document
+     * @param fromPage the first page to visit (inclusive)
+     * @param toPage the last page to visit (exclusive)
+     * @return a non-null row cursor
+     * @throws IOException
+     * @see #getFirstDataPage(Document)
+     */
+    @NonNull
+    public static RowCursor ofPageRange(@NonNull PageReader pages, @NonNull Document doc, @NonNegative int fromPage, @NonNegative int toPage) throws IOException {
+        if (doc.getCompression().isKnown()) {
+            switch (doc.getCompression().get()) {
+                case CHAR:
+                    return CompressedForwardingCursor.ofPageRange(pages, doc.getHeader(), doc.getRowSize(), BulkRLEDecompressor.INSTANCE, fromPage, toPage);
+                case BIN:
+                    return CompressedForwardingCursor.ofPageRange(pages, doc.getHeader(), doc.getRowSize(), BulkRDCDecompressor.INSTANCE, fromPage, toPage);
+                case NONE:
+                    return PackedBinaryForwardingCursor.ofPageRange(pages, doc.getHeader(), doc.getRowSize(), fromPage, toPage);
+            }
+        }
+        throw new IOException("Cannot handle compression " + doc.getCompression().toString());
+    }
+
+    /**
+     * Gets the first page that might contain rows. Compressed rows are stored
+     * after the last meta subheader while uncompressed rows can be found in
+     * any mix or data page.
+     *
+     * @param doc a non-null document
+     * @return a zero-based page index
+     * @throws IOException
+     */
+    @NonNegative
+    public static int getFirstDataPage(@NonNull Document doc) throws IOException {
         if (doc.getCompression().isKnown()) {
             switch (doc.getCompression().get()) {
                 case CHAR:
-                    return CompressedForwardingCursor.of(sbc, doc.getHeader(), doc.getRowSize(), RLEDecompressor.INSTANCE);
                 case BIN:
-                    return CompressedForwardingCursor.of(sbc, doc.getHeader(), doc.getRowSize(), RDCDecompressor.INSTANCE);
+                    return doc.getRowSize().getLastMeta().getPage();
                 case NONE:
-                    return PackedBinaryForwardingCursor.of(sbc, doc.getHeader(), doc.getRowSize());
+                    return 0;
             }
         }
         throw new IOException("Cannot handle compression " + doc.getCompression().toString());
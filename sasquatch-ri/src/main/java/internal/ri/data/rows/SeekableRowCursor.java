@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.bytes.SeekableCursor;
+import internal.ri.base.PageReader;
+import internal.ri.data.Document;
+import java.io.IOException;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A row cursor that can be moved to any row.
+ * <p>
+ * Unlike pages, a row cursor can be moved outside bounds; its bytes are then
+ * unavailable and an IndexOutOfBoundsException is thrown on access.
+ *
+ * @author Philippe Charles
+ */
+public interface SeekableRowCursor extends RowCursor, SeekableCursor {
+
+    @NonNull
+    public static SeekableRowCursor of(@NonNull PageReader pages, @NonNull Document doc) throws IOException {
+        return of(pages, doc, null);
+    }
+
+    /**
+     * Creates a seekable row cursor that uses a sidecar index to locate the
+     * compressed rows instead of scanning the pages.
+     *
+     * @param pages a non-null page reader
+     * @param doc a non-null document
+     * @param sidecar an optional index of the same file, ignored if the rows
+     * are not compressed
+     * @return a non-null row cursor
+     * @throws IOException
+     */
+    @NonNull
+    public static SeekableRowCursor of(@NonNull PageReader pages, @NonNull Document doc, @Nullable SidecarRowIndex sidecar) throws IOException {
+        if (doc.getCompression().isKnown()) {
+            switch (doc.getCompression().get()) {
+                case CHAR:
+                    return CompressedSeekableCursor.of(pages, doc.getHeader(), doc.getRowSize(), BulkRLEDecompressor.INSTANCE, doc.getRowIndexList(), sidecar);
+                case BIN:
+                    return CompressedSeekableCursor.of(pages, doc.getHeader(), doc.getRowSize(), BulkRDCDecompressor.INSTANCE, doc.getRowIndexList(), sidecar);
+                case NONE:
+                    return PackedBinarySeekableCursor.of(pages, doc.getHeader(), doc.getRowSize());
+            }
+        }
+        throw new IOException("Cannot handle compression " + doc.getCompression().toString());
+    }
+}
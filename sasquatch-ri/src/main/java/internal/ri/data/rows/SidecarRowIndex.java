@@ -0,0 +1,287 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.ri.base.Header;
+import internal.ri.base.PageCursor;
+import internal.ri.base.PageReader;
+import internal.ri.data.Compression;
+import internal.ri.data.Document;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import static java.nio.file.StandardOpenOption.READ;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Complete index of the row pointers of a compressed file that is stored in a
+ * sidecar file next to the dataset.
+ * <p>
+ * The sidecar file is made of a fixed-length big-endian head followed by four
+ * arrays of 32-bit integers: the pages that hold rows, the first row of each
+ * of these pages, and the offset and length of each row. The head identifies
+ * the dataset by its length, its timestamps and its page count so that an
+ * outdated sidecar file is ignored. A sidecar file whose arrays cannot point
+ * to the rows of the dataset is also ignored.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SidecarRowIndex {
+
+    public static final String EXTENSION = ".sasqidx";
+
+    /**
+     * Gets the location of the sidecar file of a dataset.
+     *
+     * @param file a non-null dataset file
+     * @return a non-null path in the same directory
+     */
+    @NonNull
+    public static Path getPath(@NonNull Path file) {
+        return file.resolveSibling(file.getFileName().toString() + EXTENSION);
+    }
+
+    /**
+     * Checks if the rows of a document can be indexed. Only compressed rows
+     * need an index.
+     *
+     * @param doc a non-null document
+     * @return true if supported, false otherwise
+     */
+    public static boolean isSupported(@NonNull Document doc) {
+        return doc.getCompression().isKnownAs(Compression.CHAR) || doc.getCompression().isKnownAs(Compression.BIN);
+    }
+
+    /**
+     * Builds an index by scanning the pages of a document.
+     *
+     * @param pages a non-null page reader
+     * @param doc a non-null compressed document
+     * @return a non-null index
+     * @throws IOException
+     */
+    @NonNull
+    public static SidecarRowIndex build(@NonNull PageReader pages, @NonNull Document doc) throws IOException {
+        checkSupported(doc);
+        CompressedRowIndex index = CompressedRowIndex.of(doc.getHeader(), doc.getRowSize());
+        if (index.getCount() > 0) {
+            index.ensure(PageCursor.of(pages, doc.getHeader()), index.getCount() - 1);
+        }
+        return new SidecarRowIndex(Stamp.of(doc), index.copyPages(), index.copyFirstRows(), index.copyOffsets(), index.copyLengths());
+    }
+
+    /**
+     * Reads an index from a sidecar file.
+     *
+     * @param sidecar a non-null sidecar file
+     * @param doc a non-null compressed document
+     * @return an index if the sidecar file exists and matches the document,
+     * null otherwise
+     * @throws IOException
+     */
+    @Nullable
+    public static SidecarRowIndex read(@NonNull Path sidecar, @NonNull Document doc) throws IOException {
+        checkSupported(doc);
+        Stamp expected = Stamp.of(doc);
+        try (FileChannel channel = FileChannel.open(sidecar, READ)) {
+            long size = channel.size();
+            if (size < HEAD_LENGTH || size > MAX_LENGTH) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.BIG_ENDIAN);
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) != -1) {
+            }
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || !expected.equals(Stamp.parse(buffer))) {
+                return null;
+            }
+            int pageSize = buffer.getInt(HEAD_LENGTH - Integer.BYTES);
+            if (pageSize < 0 || pageSize > expected.getPageCount() || size != getLength(pageSize, expected.getRowCount())) {
+                return null;
+            }
+            ((Buffer) buffer).position(HEAD_LENGTH);
+            IntBuffer ints = buffer.asIntBuffer();
+            SidecarRowIndex result = new SidecarRowIndex(expected,
+                    getInts(ints, pageSize),
+                    getInts(ints, pageSize),
+                    getInts(ints, expected.getRowCount()),
+                    getInts(ints, expected.getRowCount()));
+            return result.isValid() ? result : null;
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+    }
+
+    @lombok.NonNull
+    private final Stamp stamp;
+
+    @lombok.Getter(AccessLevel.PACKAGE)
+    @lombok.NonNull
+    private final int[] pages;
+
+    @lombok.Getter(AccessLevel.PACKAGE)
+    @lombok.NonNull
+    private final int[] firstRows;
+
+    @lombok.Getter(AccessLevel.PACKAGE)
+    @lombok.NonNull
+    private final int[] offsets;
+
+    @lombok.Getter(AccessLevel.PACKAGE)
+    @lombok.NonNull
+    private final int[] lengths;
+
+    @NonNegative
+    public int getCount() {
+        return stamp.getRowCount();
+    }
+
+    /**
+     * Writes this index to a sidecar file. The file is first written in a
+     * temporary file and then moved to its target so that a concurrent reader
+     * never sees a partial file.
+     *
+     * @param sidecar a non-null sidecar file
+     * @throws IOException
+     */
+    public void write(@NonNull Path sidecar) throws IOException {
+        long length = getLength(pages.length, offsets.length);
+        if (length > MAX_LENGTH) {
+            throw new IOException("Row index too large: " + length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        stamp.format(buffer);
+        buffer.putInt(pages.length);
+        IntBuffer ints = buffer.asIntBuffer();
+        ints.put(pages).put(firstRows).put(offsets).put(lengths);
+        Path temp = Files.createTempFile(sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+            Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    private static void checkSupported(Document doc) throws IOException {
+        if (!isSupported(doc)) {
+            throw new IOException("Cannot index compression " + doc.getCompression().toString());
+        }
+    }
+
+    private boolean isValid() {
+        if (pages.length == 0) {
+            return offsets.length == 0;
+        }
+        if (firstRows[0] != 0) {
+            return false;
+        }
+        for (int i = 0; i < pages.length; i++) {
+            if (pages[i] < 0 || pages[i] >= stamp.getPageCount() || firstRows[i] >= offsets.length) {
+                return false;
+            }
+            if (i > 0 && (pages[i] <= pages[i - 1] || firstRows[i] <= firstRows[i - 1])) {
+                return false;
+            }
+        }
+        for (int i = 0; i < offsets.length; i++) {
+            if (offsets[i] < 0 || lengths[i] < 0 || (long) offsets[i] + lengths[i] > stamp.getPageLength()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long getLength(int pageSize, int rowCount) {
+        return HEAD_LENGTH + (2L * pageSize + 2L * rowCount) * Integer.BYTES;
+    }
+
+    private static int[] getInts(IntBuffer ints, int length) {
+        int[] result = new int[length];
+        ints.get(result);
+        return result;
+    }
+
+    private static final int MAGIC = 0x53515849;
+    private static final int VERSION = 1;
+    static final int HEAD_LENGTH = 2 * Integer.BYTES + Stamp.LENGTH + Integer.BYTES;
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    @lombok.Value
+    private static class Stamp {
+
+        static Stamp of(Document doc) {
+            Header header = doc.getHeader();
+            return new Stamp(
+                    doc.getLength(),
+                    toEpochNano(header.getCreationTime()),
+                    toEpochNano(header.getLastModificationTime()),
+                    header.getPageLength(),
+                    header.getPageCount(),
+                    doc.getRowSize().getCount()
+            );
+        }
+
+        static Stamp parse(ByteBuffer buffer) {
+            return new Stamp(
+                    buffer.getLong(8),
+                    buffer.getLong(16),
+                    buffer.getLong(24),
+                    buffer.getInt(32),
+                    buffer.getInt(36),
+                    buffer.getInt(40)
+            );
+        }
+
+        static final int LENGTH = 3 * Long.BYTES + 3 * Integer.BYTES;
+
+        long fileLength;
+        long creationTime;
+        long lastModificationTime;
+        int pageLength;
+        int pageCount;
+        int rowCount;
+
+        void format(ByteBuffer buffer) {
+            buffer.putLong(fileLength)
+                    .putLong(creationTime)
+                    .putLong(lastModificationTime)
+                    .putInt(pageLength)
+                    .putInt(pageCount)
+                    .putInt(rowCount);
+        }
+
+        private static long toEpochNano(LocalDateTime time) {
+            return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+        }
+    }
+    //</editor-fold>
+}
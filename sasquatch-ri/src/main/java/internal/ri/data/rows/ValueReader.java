@@ -19,13 +19,19 @@ package internal.ri.data.rows;
 import internal.bytes.BytesReader;
 import internal.ri.base.SasCalendar;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import lombok.NonNull;
 import org.jspecify.annotations.Nullable;
 
@@ -39,6 +45,10 @@ public interface ValueReader<T> {
     @Nullable
     T read(@NonNull BytesReader bytes);
 
+    default boolean isMissing(@NonNull BytesReader bytes) {
+        return read(bytes) == null;
+    }
+
     interface NumberReader extends ValueReader<Double> {
 
         @Override
@@ -46,10 +56,53 @@ public interface ValueReader<T> {
             return readDouble(bytes);
         }
 
+        @Override
+        default boolean isMissing(BytesReader bytes) {
+            return Double.isNaN(readDouble(bytes));
+        }
+
         double readDouble(@NonNull BytesReader bytes);
     }
 
     interface StringReader extends ValueReader<String> {
+
+        /**
+         * Reads a value as a char sequence that might be backed by the bytes.
+         *
+         * @param bytes the row bytes
+         * @return a char sequence if available, null otherwise
+         */
+        @Nullable
+        default CharSequence readChars(@NonNull BytesReader bytes) {
+            return read(bytes);
+        }
+
+        /**
+         * Reads a value into an array of chars without creating a string if
+         * possible.
+         *
+         * @param bytes the row bytes
+         * @param dst an array that is at least as long as the field in bytes
+         * @return the number of chars written, -1 if the value is missing
+         */
+        default int readChars(@NonNull BytesReader bytes, @NonNull char[] dst) {
+            String result = read(bytes);
+            if (result == null) {
+                return -1;
+            }
+            result.getChars(0, result.length(), dst, 0);
+            return result.length();
+        }
+
+        /**
+         * Reads a value as a read-only buffer of encoded bytes that might be
+         * backed by the bytes.
+         *
+         * @param bytes the row bytes
+         * @return a byte buffer if available, null otherwise
+         */
+        @Nullable
+        ByteBuffer readEncoded(@NonNull BytesReader bytes);
     }
 
     interface DateReader extends ValueReader<LocalDate> {
@@ -73,7 +126,31 @@ public interface ValueReader<T> {
 
     @NonNull
     static StringReader stringReader(int offset, int length, @NonNull Charset charset) {
-        return new DecoderStringReader(offset, length, charset);
+        DecoderStringReader decoder = new DecoderStringReader(offset, length, charset);
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return new AsciiStringReader(offset, length, decoder);
+        }
+        char[] table = TableStringReader.getTable(charset);
+        return table != null ? new TableStringReader(offset, length, table, decoder) : decoder;
+    }
+
+    /**
+     * Creates a string reader that keeps a bounded dictionary of the values
+     * already read, keyed by their raw padded bytes. A repeated value is
+     * therefore returned as the same instance without decoding. The
+     * dictionary is dropped if its hit rate is too low.
+     *
+     * @param offset the offset of the column in the row
+     * @param length the length of the column
+     * @param charset a non-null charset
+     * @return a non-null reader that is not thread-safe
+     */
+    @NonNull
+    static StringReader dictionaryStringReader(int offset, int length, @NonNull Charset charset) {
+        StringReader result = stringReader(offset, length, charset);
+        return 0 < length && length <= DictionaryStringReader.MAX_KEY_LENGTH
+                ? new DictionaryStringReader(result, offset, length)
+                : result;
     }
 
     @NonNull
@@ -91,24 +168,127 @@ public interface ValueReader<T> {
         return bytes -> SasCalendar.getTime(reader.readDouble(bytes));
     }
 
+    /**
+     * Checks if the blanks and control characters of a field can be trimmed
+     * on its bytes before decoding. The charset must encode ASCII characters
+     * as single bytes with the same values and must be stateless: a byte
+     * lower than or equal to a space is never part of the encoding of another
+     * character. Stateful charsets such as ISO-2022 don't qualify because they
+     * use such bytes in their escape and shift sequences.
+     *
+     * @param charset a non-null charset
+     * @return true if the bytes can be trimmed, false otherwise
+     */
+    static boolean isByteTrimmable(@NonNull Charset charset) {
+        return DecoderStringReader.BYTE_TRIMMABLE.computeIfAbsent(charset, DecoderStringReader::computeByteTrimmable);
+    }
+
+    /**
+     * Gets the position of the first byte of a field that is not a blank or a
+     * control character. This is only meaningful for the charsets that are
+     * {@link #isByteTrimmable(Charset) byte-trimmable}.
+     *
+     * @param bytes the row bytes
+     * @param offset the offset of the field
+     * @param length the length of the field
+     * @return a position in [offset, offset + length]
+     */
+    static int getTrimmedStart(@NonNull BytesReader bytes, int offset, int length) {
+        int end = offset + length;
+        while (offset < end && (bytes.getByte(offset) & 0xFF) <= ' ') {
+            offset++;
+        }
+        return offset;
+    }
+
+    /**
+     * Gets the position after the last byte of a field that is not a blank or
+     * a control character. This is only meaningful for the charsets that are
+     * {@link #isByteTrimmable(Charset) byte-trimmable}.
+     *
+     * @param bytes the row bytes
+     * @param start the position of the first significant byte
+     * @param end the position after the field
+     * @return a position in [start, end]
+     */
+    static int getTrimmedEnd(@NonNull BytesReader bytes, int start, int end) {
+        while (end > start && (bytes.getByte(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
     //<editor-fold defaultstate="collapsed" desc="Implementation">
+    static final String ASCII_SAMPLE = " 09AZaz~";
+    static final String NON_ASCII_SAMPLE = "\u00e9\u20ac\u0416\u03b1\u4e2d\u65e5\u3042\ud55c";
+
     static final class DecoderStringReader implements StringReader {
 
+        private static final ConcurrentMap<Charset, Boolean> BYTE_TRIMMABLE = new ConcurrentHashMap<>();
+
+        private static boolean computeByteTrimmable(Charset charset) {
+            if (!charset.canEncode() || !Arrays.equals(ASCII_SAMPLE.getBytes(charset), ASCII_SAMPLE.getBytes(StandardCharsets.US_ASCII))) {
+                return false;
+            }
+            CharsetEncoder encoder = charset.newEncoder();
+            for (char c : NON_ASCII_SAMPLE.toCharArray()) {
+                if (encoder.canEncode(c)) {
+                    for (byte b : String.valueOf(c).getBytes(charset)) {
+                        if ((b & 0xFF) <= ' ') {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
         private final int offset;
         private final int length;
         private final CharsetDecoder decoder;
+        private final boolean byteTrimmable;
 
         private DecoderStringReader(int offset, int length, Charset charset) {
             this.offset = offset;
             this.length = length;
             this.decoder = charset.newDecoder();
+            this.byteTrimmable = isByteTrimmable(charset);
             decoder.onMalformedInput(CodingErrorAction.IGNORE);
         }
 
+        @Override
+        public boolean isMissing(BytesReader bytes) {
+            return byteTrimmable
+                    ? getTrimmedStart(bytes, offset, length) == offset + length
+                    : read(bytes) == null;
+        }
+
         @Override
         public String read(BytesReader bytes) {
+            if (!byteTrimmable) {
+                return decode(bytes, offset, offset + length);
+            }
+            int start = getTrimmedStart(bytes, offset, length);
+            return start < offset + length
+                    ? decode(bytes, start, getTrimmedEnd(bytes, start, offset + length))
+                    : null;
+        }
+
+        @Override
+        public ByteBuffer readEncoded(BytesReader bytes) {
+            if (!byteTrimmable) {
+                String result = read(bytes);
+                return result != null ? decoder.charset().encode(result).asReadOnlyBuffer() : null;
+            }
+            int start = getTrimmedStart(bytes, offset, length);
+            return start < offset + length
+                    ? bytes.asReadOnlyBuffer(start, getTrimmedEnd(bytes, start, offset + length) - start)
+                    : null;
+        }
+
+        private String decode(BytesReader bytes, int start, int end) {
             try {
-                String result = bytes.decode(offset, length, decoder).toString().trim();
+                String result = bytes.decode(start, end - start, decoder).toString().trim();
                 return result.isEmpty() ? null : result;
             } catch (CharacterCodingException ex) {
                 throw new RuntimeException(ex);
@@ -116,6 +296,371 @@ public interface ValueReader<T> {
         }
     }
 
+    /**
+     * Decodes single-byte charsets through a table of 256 chars. Bytes that
+     * cannot be mapped to a single char are left to the full decoder. The
+     * padding is trimmed on the table values before building the string.
+     */
+    static final class TableStringReader implements StringReader {
+
+        static final char UNMAPPED = '\uFFFF';
+
+        private static final ConcurrentMap<Charset, char[]> TABLES = new ConcurrentHashMap<>();
+
+        @Nullable
+        static char[] getTable(@NonNull Charset charset) {
+            char[] result = TABLES.get(charset);
+            if (result == null) {
+                result = isSingleByte(charset) ? computeTable(charset) : new char[0];
+                TABLES.putIfAbsent(charset, result);
+            }
+            return result.length != 0 ? result : null;
+        }
+
+        private static boolean isSingleByte(Charset charset) {
+            return charset.canEncode()
+                    && charset.newEncoder().maxBytesPerChar() == 1
+                    && charset.newDecoder().maxCharsPerByte() == 1;
+        }
+
+        private static char[] computeTable(Charset charset) {
+            CharsetDecoder decoder = charset.newDecoder();
+            decoder.onMalformedInput(CodingErrorAction.IGNORE);
+            char[] result = new char[256];
+            for (int i = 0; i < result.length; i++) {
+                try {
+                    CharBuffer chars = decoder.decode(ByteBuffer.wrap(new byte[]{(byte) i}));
+                    result[i] = chars.length() == 1 ? chars.get(0) : UNMAPPED;
+                } catch (CharacterCodingException ex) {
+                    result[i] = UNMAPPED;
+                }
+            }
+            return result;
+        }
+
+        private final int offset;
+        private final int length;
+        private final char[] table;
+        private final StringReader fallback;
+        private final char[] buffer;
+
+        private TableStringReader(int offset, int length, char[] table, StringReader fallback) {
+            this.offset = offset;
+            this.length = length;
+            this.table = table;
+            this.fallback = fallback;
+            this.buffer = new char[length];
+        }
+
+        @Override
+        public boolean isMissing(BytesReader bytes) {
+            return getStart(bytes) == offset + length;
+        }
+
+        @Override
+        public String read(BytesReader bytes) {
+            int start = getStart(bytes);
+            if (start == offset + length) {
+                return null;
+            }
+            int end = getEnd(bytes, start);
+            for (int i = start; i < end; i++) {
+                char c = table[bytes.getByte(i) & 0xFF];
+                if (c == UNMAPPED) {
+                    return fallback.read(bytes);
+                }
+                buffer[i - start] = c;
+            }
+            return new String(buffer, 0, end - start);
+        }
+
+        @Override
+        public CharSequence readChars(BytesReader bytes) {
+            int start = getStart(bytes);
+            if (start == offset + length) {
+                return null;
+            }
+            int end = getEnd(bytes, start);
+            for (int i = start; i < end; i++) {
+                if (table[bytes.getByte(i) & 0xFF] == UNMAPPED) {
+                    return fallback.read(bytes);
+                }
+            }
+            return new BytesCharSequence(bytes, start, end - start, table);
+        }
+
+        @Override
+        public int readChars(BytesReader bytes, char[] dst) {
+            int start = getStart(bytes);
+            if (start == offset + length) {
+                return -1;
+            }
+            int end = getEnd(bytes, start);
+            for (int i = start; i < end; i++) {
+                char c = table[bytes.getByte(i) & 0xFF];
+                if (c == UNMAPPED) {
+                    return fallback.readChars(bytes, dst);
+                }
+                dst[i - start] = c;
+            }
+            return end - start;
+        }
+
+        @Override
+        public ByteBuffer readEncoded(BytesReader bytes) {
+            int start = getStart(bytes);
+            return start < offset + length
+                    ? bytes.asReadOnlyBuffer(start, getEnd(bytes, start) - start)
+                    : null;
+        }
+
+        private int getEnd(BytesReader bytes, int start) {
+            int result = offset + length;
+            while (result > start && table[bytes.getByte(result - 1) & 0xFF] <= ' ') {
+                result--;
+            }
+            return result;
+        }
+
+        private int getStart(BytesReader bytes) {
+            int result = offset;
+            while (result < offset + length && table[bytes.getByte(result) & 0xFF] <= ' ') {
+                result++;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Decodes pure ASCII values without decoder and falls back to the full
+     * decoder as soon as a high bit is found.
+     */
+    static final class AsciiStringReader implements StringReader {
+
+        private final int offset;
+        private final int length;
+        private final StringReader fallback;
+        private final char[] buffer;
+
+        private AsciiStringReader(int offset, int length, StringReader fallback) {
+            this.offset = offset;
+            this.length = length;
+            this.fallback = fallback;
+            this.buffer = new char[length];
+        }
+
+        @Override
+        public boolean isMissing(BytesReader bytes) {
+            return getTrimmedStart(bytes, offset, length) == offset + length;
+        }
+
+        @Override
+        public String read(BytesReader bytes) {
+            int start = getTrimmedStart(bytes, offset, length);
+            if (start == offset + length) {
+                return null;
+            }
+            int end = getTrimmedEnd(bytes, start, offset + length);
+            for (int i = start; i < end; i++) {
+                byte b = bytes.getByte(i);
+                if (b < 0) {
+                    return fallback.read(bytes);
+                }
+                buffer[i - start] = (char) b;
+            }
+            return new String(buffer, 0, end - start);
+        }
+
+        @Override
+        public CharSequence readChars(BytesReader bytes) {
+            int start = getTrimmedStart(bytes, offset, length);
+            if (start == offset + length) {
+                return null;
+            }
+            int end = getTrimmedEnd(bytes, start, offset + length);
+            for (int i = start; i < end; i++) {
+                if (bytes.getByte(i) < 0) {
+                    return fallback.read(bytes);
+                }
+            }
+            return new BytesCharSequence(bytes, start, end - start, null);
+        }
+
+        @Override
+        public int readChars(BytesReader bytes, char[] dst) {
+            int start = getTrimmedStart(bytes, offset, length);
+            if (start == offset + length) {
+                return -1;
+            }
+            int end = getTrimmedEnd(bytes, start, offset + length);
+            for (int i = start; i < end; i++) {
+                byte b = bytes.getByte(i);
+                if (b < 0) {
+                    return fallback.readChars(bytes, dst);
+                }
+                dst[i - start] = (char) b;
+            }
+            return end - start;
+        }
+
+        @Override
+        public ByteBuffer readEncoded(BytesReader bytes) {
+            return fallback.readEncoded(bytes);
+        }
+    }
+
+    /**
+     * Char sequence backed by bytes that are mapped to chars one by one,
+     * either through a table or as ASCII.
+     */
+    static final class BytesCharSequence implements CharSequence {
+
+        private final BytesReader bytes;
+        private final int offset;
+        private final int length;
+        @Nullable
+        private final char[] table;
+
+        private BytesCharSequence(BytesReader bytes, int offset, int length, @Nullable char[] table) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            this.table = table;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index out of range: " + index);
+            }
+            int b = bytes.getByte(offset + index) & 0xFF;
+            return table != null ? table[b] : (char) b;
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Range out of bounds: [" + start + ", " + end + ")");
+            }
+            return new BytesCharSequence(bytes, offset + start, end - start, table);
+        }
+
+        @Override
+        public String toString() {
+            char[] result = new char[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = charAt(i);
+            }
+            return new String(result);
+        }
+    }
+
+    static final class DictionaryStringReader implements StringReader {
+
+        static final int MAX_KEY_LENGTH = 64;
+        static final int MAX_ENTRIES = 512;
+        static final int CHECK_INTERVAL = 4096;
+
+        private final StringReader delegate;
+        private final int offset;
+        private final int length;
+        private byte[][] keys;
+        private String[] values;
+        private int size;
+        private int lookups;
+        private int hits;
+
+        private DictionaryStringReader(StringReader delegate, int offset, int length) {
+            this.delegate = delegate;
+            this.offset = offset;
+            this.length = length;
+            this.keys = new byte[MAX_ENTRIES * 2][];
+            this.values = new String[MAX_ENTRIES * 2];
+        }
+
+        boolean isEnabled() {
+            return keys != null;
+        }
+
+        @Override
+        public String read(BytesReader bytes) {
+            if (keys == null || (++lookups == CHECK_INTERVAL && !checkHitRate())) {
+                return delegate.read(bytes);
+            }
+            int mask = keys.length - 1;
+            for (int i = hash(bytes) & mask;; i = (i + 1) & mask) {
+                byte[] key = keys[i];
+                if (key == null) {
+                    String result = delegate.read(bytes);
+                    if (size < MAX_ENTRIES) {
+                        keys[i] = bytes.getBytes(offset, length);
+                        values[i] = result;
+                        size++;
+                    }
+                    return result;
+                }
+                if (matches(key, bytes)) {
+                    hits++;
+                    return values[i];
+                }
+            }
+        }
+
+        @Override
+        public boolean isMissing(BytesReader bytes) {
+            return delegate.isMissing(bytes);
+        }
+
+        @Override
+        public CharSequence readChars(BytesReader bytes) {
+            return keys != null ? read(bytes) : delegate.readChars(bytes);
+        }
+
+        @Override
+        public int readChars(BytesReader bytes, char[] dst) {
+            return keys != null ? StringReader.super.readChars(bytes, dst) : delegate.readChars(bytes, dst);
+        }
+
+        @Override
+        public ByteBuffer readEncoded(BytesReader bytes) {
+            return delegate.readEncoded(bytes);
+        }
+
+        // at least half of the lookups must be hits to keep the dictionary
+        private boolean checkHitRate() {
+            if (hits * 2 < lookups) {
+                keys = null;
+                values = null;
+                return false;
+            }
+            lookups = 0;
+            hits = 0;
+            return true;
+        }
+
+        private int hash(BytesReader bytes) {
+            int result = 1;
+            for (int i = offset; i < offset + length; i++) {
+                result = 31 * result + bytes.getByte(i);
+            }
+            return result ^ (result >>> 16);
+        }
+
+        private boolean matches(byte[] key, BytesReader bytes) {
+            for (int i = 0; i < length; i++) {
+                if (key[i] != bytes.getByte(offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     static final class DefaultStringReader implements StringReader {
 
         private final int offset;
@@ -133,6 +678,11 @@ public interface ValueReader<T> {
             bytes.copyTo(offset, buffer, 0, buffer.length);
             return new String(buffer, charset).trim();
         }
+
+        @Override
+        public ByteBuffer readEncoded(BytesReader bytes) {
+            return charset.encode(read(bytes)).asReadOnlyBuffer();
+        }
     }
 
     static final class CustomNumericReader implements NumberReader {
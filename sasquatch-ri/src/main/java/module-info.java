@@ -24,6 +24,8 @@ module sasquatch.ri {
 
     requires sasquatch.api;
 
+    exports sasquatch.ri;
+
     provides sasquatch.spi.SasReader with sasquatch.ri.SasquatchReader;
 
     uses internal.ri.assumptions.SasFileAssumption.Provider;
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Size-bounded cache of parsed documents with a least-recently-used eviction
+ * policy.
+ * <p>
+ * Entries are indexed by file identity and validated against the size and
+ * the last modification time of the file so that a modified file is never
+ * served from the cache. An entry created from a metadata-only parse can only
+ * serve metadata requests; it is replaced by the first full parse.
+ *
+ * @author Philippe Charles
+ */
+final class DocumentCache {
+
+    private final Map<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Gets a cached layout.
+     *
+     * @param key a non-null file key
+     * @param metaDataOnly true if a metadata-only layout is sufficient
+     * @return a layout if found and still valid, null otherwise
+     */
+    @Nullable
+    public synchronized DocumentLayout get(@NonNull FileKey key, boolean metaDataOnly) {
+        Entry entry = entries.get(key.getId());
+        if (entry != null && entry.getKey().equals(key) && (metaDataOnly || !entry.isMetaDataOnly())) {
+            hitCount++;
+            return entry.getLayout();
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Puts a layout in the cache and evicts the least recently used entries
+     * if needed.
+     *
+     * @param key a non-null file key
+     * @param layout a non-null layout
+     * @param metaDataOnly true if the layout comes from a metadata-only parse
+     * @param maxSize the maximum number of entries
+     */
+    public synchronized void put(@NonNull FileKey key, @NonNull DocumentLayout layout, boolean metaDataOnly, @NonNegative int maxSize) {
+        Entry old = entries.get(key.getId());
+        if (old == null || !old.getKey().equals(key) || !metaDataOnly || old.isMetaDataOnly()) {
+            entries.put(key.getId(), new Entry(key, layout, metaDataOnly));
+        }
+        for (Iterator<Entry> iter = entries.values().iterator(); entries.size() > maxSize && iter.hasNext();) {
+            iter.next();
+            iter.remove();
+            evictionCount++;
+        }
+    }
+
+    @NonNull
+    public synchronized SasquatchReader.CacheStats getStats() {
+        return new SasquatchReader.CacheStats(hitCount, missCount, evictionCount, entries.size());
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @lombok.Value
+    private static class Entry {
+
+        FileKey key;
+        DocumentLayout layout;
+        boolean metaDataOnly;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import internal.ri.data.Document;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import sasquatch.SasMetaData;
+
+/**
+ * Parsed document along with the values derived from it that are needed to
+ * create a cursor. These values are computed once and shared by all the
+ * cursors opened on the same document; they must not be modified.
+ *
+ * @author Philippe Charles
+ */
+@lombok.Value
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+class DocumentLayout {
+
+    @NonNull
+    static DocumentLayout of(@NonNull Document doc) throws IOException {
+        return new DocumentLayout(doc, DocumentUtil.getMetaData(doc), DocumentUtil.getOffsets(doc), DocumentUtil.getCharset(doc));
+    }
+
+    @lombok.NonNull
+    Document document;
+
+    @lombok.NonNull
+    SasMetaData metaData;
+
+    @lombok.NonNull
+    int[] offsets;
+
+    @lombok.NonNull
+    Charset charset;
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import lombok.NonNull;
+
+/**
+ * Identity of a file along with the attributes that change when its content
+ * is modified.
+ *
+ * @author Philippe Charles
+ */
+@lombok.Value
+class FileKey {
+
+    @NonNull
+    static FileKey of(@NonNull Path file) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        Object id = attrs.fileKey() != null ? attrs.fileKey() : file.toAbsolutePath().normalize();
+        return new FileKey(id, attrs.size(), attrs.lastModifiedTime());
+    }
+
+    @lombok.NonNull
+    Object id;
+
+    long size;
+
+    @lombok.NonNull
+    FileTime lastModified;
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import internal.bytes.BytesReader;
+import internal.ri.data.rows.ValueReader;
+import internal.ri.data.rows.ValueReader.NumberReader;
+import internal.ri.data.rows.ValueReader.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import sasquatch.SasColumn;
+import sasquatch.SasColumnType;
+import sasquatch.SasMetaData;
+
+/**
+ * A row filter that is evaluated by the RI reader directly on the bytes of
+ * the rows, before any value is decoded.
+ * <p>
+ * Comparisons follow the values returned by the cursor: numbers are compared
+ * as doubles, dates and times as they are truncated by the cursor and
+ * characters are trimmed. A missing value never satisfies a comparison; it can
+ * only be tested by {@link #isMissing(String)}.
+ *
+ * @apiNote This class is immutable.
+ *
+ * @author Philippe Charles
+ */
+public abstract class SasFilter {
+
+    /**
+     * The comparison operators.
+     */
+    public enum Operator {
+        EQ, NE, LT, LE, GT, GE;
+
+        boolean test(int comparison) {
+            switch (this) {
+                case EQ:
+                    return comparison == 0;
+                case NE:
+                    return comparison != 0;
+                case LT:
+                    return comparison < 0;
+                case LE:
+                    return comparison <= 0;
+                case GT:
+                    return comparison > 0;
+                case GE:
+                    return comparison >= 0;
+            }
+            throw new RuntimeException("Unknown operator");
+        }
+    }
+
+    @NonNull
+    public static SasFilter isMissing(@NonNull String column) {
+        return new Missing(column, true);
+    }
+
+    @NonNull
+    public static SasFilter isNotMissing(@NonNull String column) {
+        return new Missing(column, false);
+    }
+
+    /**
+     * Compares a numeric column. This includes date, date time and time
+     * columns whose raw values are days or seconds.
+     *
+     * @param column a non-null column name
+     * @param operator a non-null operator
+     * @param value a non-NaN value
+     * @return a non-null filter
+     */
+    @NonNull
+    public static SasFilter compare(@NonNull String column, @NonNull Operator operator, double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("NaN cannot be compared");
+        }
+        return new Comparison(column, operator, value);
+    }
+
+    @NonNull
+    public static SasFilter compare(@NonNull String column, @NonNull Operator operator, @NonNull LocalDate value) {
+        return new Comparison(column, operator, value);
+    }
+
+    @NonNull
+    public static SasFilter compare(@NonNull String column, @NonNull Operator operator, @NonNull LocalDateTime value) {
+        return new Comparison(column, operator, value);
+    }
+
+    @NonNull
+    public static SasFilter compare(@NonNull String column, @NonNull Operator operator, @NonNull LocalTime value) {
+        return new Comparison(column, operator, value);
+    }
+
+    /**
+     * Compares a character column. The equality is tested on the trimmed
+     * values while the ordering is based on their bytes in the charset of the
+     * file, compared as unsigned values. A value that cannot be encoded in
+     * this charset is never equal to a stored value.
+     *
+     * @param column a non-null column name
+     * @param operator a non-null operator
+     * @param value a non-null value
+     * @return a non-null filter
+     */
+    @NonNull
+    public static SasFilter compare(@NonNull String column, @NonNull Operator operator, @NonNull String value) {
+        return new Comparison(column, operator, value.trim());
+    }
+
+    @NonNull
+    public static SasFilter and(@NonNull SasFilter... filters) {
+        return new Junction(true, Arrays.asList(filters.clone()));
+    }
+
+    @NonNull
+    public static SasFilter or(@NonNull SasFilter... filters) {
+        return new Junction(false, Arrays.asList(filters.clone()));
+    }
+
+    SasFilter() {
+        // sealed
+    }
+
+    /**
+     * Compiles this filter into a predicate on rows.
+     *
+     * @param meta the metadata of the file
+     * @param offsets the offset of each column in a row
+     * @param charset the charset of the file
+     * @return a non-null predicate
+     * @throws IllegalArgumentException if a column is unknown or if a value
+     * doesn't match its type
+     */
+    @NonNull
+    abstract Predicate<BytesReader> compile(@NonNull SasMetaData meta, @NonNull int[] offsets, @NonNull Charset charset) throws IllegalArgumentException;
+
+    /**
+     * Gets the names of the columns used by this filter.
+     *
+     * @return a non-null stream of names
+     */
+    @NonNull
+    abstract Stream<String> columnNames();
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    @lombok.Value
+    @lombok.EqualsAndHashCode(callSuper = false)
+    private static class Missing extends SasFilter {
+
+        String column;
+        boolean missing;
+
+        @Override
+        Stream<String> columnNames() {
+            return Stream.of(column);
+        }
+
+        @Override
+        Predicate<BytesReader> compile(SasMetaData meta, int[] offsets, Charset charset) {
+            SasColumn c = findColumn(meta, column);
+            int offset = offsets[c.getOrder()];
+            ValueReader<?> reader = c.getType() == SasColumnType.CHARACTER
+                    ? ValueReader.stringReader(offset, c.getLength(), charset)
+                    : ValueReader.numberReader(offset, c.getLength());
+            Predicate<BytesReader> result = reader::isMissing;
+            return missing ? result : result.negate();
+        }
+    }
+
+    @lombok.Value
+    @lombok.EqualsAndHashCode(callSuper = false)
+    private static class Comparison extends SasFilter {
+
+        String column;
+        Operator operator;
+        Object value;
+
+        @Override
+        Stream<String> columnNames() {
+            return Stream.of(column);
+        }
+
+        @Override
+        Predicate<BytesReader> compile(SasMetaData meta, int[] offsets, Charset charset) {
+            SasColumn c = findColumn(meta, column);
+            int offset = offsets[c.getOrder()];
+            if (value instanceof String) {
+                checkType(c, SasColumnType.CHARACTER);
+                return compileString(offset, c.getLength(), charset);
+            }
+            NumberReader reader = ValueReader.numberReader(offset, c.getLength());
+            if (value instanceof Double) {
+                if (c.getType() == SasColumnType.CHARACTER) {
+                    throw new IllegalArgumentException("Column '" + column + "' is not numeric");
+                }
+                double target = (Double) value;
+                return row -> compareDouble(reader.readDouble(row), target);
+            }
+            if (value instanceof LocalDate) {
+                checkType(c, SasColumnType.DATE);
+                long target = ChronoUnit.DAYS.between(DATE_EPOCH, (LocalDate) value);
+                return row -> {
+                    double actual = reader.readDouble(row);
+                    return !Double.isNaN(actual) && compareLong((long) actual, target);
+                };
+            }
+            if (value instanceof LocalDateTime) {
+                checkType(c, SasColumnType.DATETIME);
+                long target = ChronoUnit.MILLIS.between(DATE_TIME_EPOCH, (LocalDateTime) value);
+                return row -> {
+                    double actual = reader.readDouble(row);
+                    return !Double.isNaN(actual) && compareLong((long) (actual * 1000), target);
+                };
+            }
+            checkType(c, SasColumnType.TIME);
+            long target = ((LocalTime) value).toNanoOfDay() / 1_000_000;
+            return row -> {
+                double actual = reader.readDouble(row);
+                return !Double.isNaN(actual) && compareLong(Math.floorMod((long) (actual * 1000), MILLIS_PER_DAY), target);
+            };
+        }
+
+        private Predicate<BytesReader> compileString(int offset, int length, Charset charset) {
+            String target = (String) value;
+            byte[] encoded = target.getBytes(charset);
+            boolean encodable = target.equals(new String(encoded, charset));
+            if (ValueReader.isByteTrimmable(charset)) {
+                return row -> {
+                    int trimmedLength = getTrimmedLength(row, offset, length);
+                    return trimmedLength > 0 && operator.test(checkEncodable(compareTrimmed(row, offset, length, encoded), encodable));
+                };
+            }
+            // stateful charsets are decoded first and then compared on their canonical encoding
+            StringReader reader = ValueReader.stringReader(offset, length, charset);
+            return row -> {
+                ByteBuffer actual = reader.readEncoded(row);
+                return actual != null && operator.test(checkEncodable(compareBytes(actual, encoded), encodable));
+            };
+        }
+
+        private boolean compareDouble(double actual, double target) {
+            return !Double.isNaN(actual) && operator.test(Double.compare(actual, target));
+        }
+
+        private boolean compareLong(long actual, long target) {
+            return operator.test(Long.compare(actual, target));
+        }
+
+        private void checkType(SasColumn c, SasColumnType expected) {
+            if (c.getType() != expected) {
+                throw new IllegalArgumentException("Column '" + column + "' expected to be '" + expected + "' but was '" + c.getType() + "' instead");
+            }
+        }
+    }
+
+    @lombok.Value
+    @lombok.EqualsAndHashCode(callSuper = false)
+    private static class Junction extends SasFilter {
+
+        boolean conjunction;
+        List<SasFilter> filters;
+
+        @Override
+        Stream<String> columnNames() {
+            return filters.stream().flatMap(SasFilter::columnNames);
+        }
+
+        @Override
+        Predicate<BytesReader> compile(SasMetaData meta, int[] offsets, Charset charset) {
+            Predicate<BytesReader> result = row -> conjunction;
+            for (SasFilter filter : filters) {
+                Predicate<BytesReader> predicate = filter.compile(meta, offsets, charset);
+                result = conjunction ? result.and(predicate) : result.or(predicate);
+            }
+            return result;
+        }
+    }
+
+    private static SasColumn findColumn(SasMetaData meta, String name) {
+        return meta.getColumns()
+                .stream()
+                .filter(column -> column.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Column not found: " + name));
+    }
+
+    // the cursor trims the decoded strings; this is the same for bytes in a byte-trimmable charset
+    private static int getTrimmedLength(BytesReader row, int offset, int length) {
+        int start = ValueReader.getTrimmedStart(row, offset, length);
+        return ValueReader.getTrimmedEnd(row, start, offset + length) - start;
+    }
+
+    private static int compareTrimmed(BytesReader row, int offset, int length, byte[] target) {
+        int start = ValueReader.getTrimmedStart(row, offset, length);
+        int end = ValueReader.getTrimmedEnd(row, start, offset + length);
+        int common = Math.min(end - start, target.length);
+        for (int i = 0; i < common; i++) {
+            int result = Integer.compare(row.getByte(start + i) & 0xFF, target[i] & 0xFF);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(end - start, target.length);
+    }
+
+    private static int compareBytes(ByteBuffer actual, byte[] target) {
+        int start = actual.position();
+        int length = actual.remaining();
+        int common = Math.min(length, target.length);
+        for (int i = 0; i < common; i++) {
+            int result = Integer.compare(actual.get(start + i) & 0xFF, target[i] & 0xFF);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(length, target.length);
+    }
+
+    // a value that cannot be encoded sorts right after its replaced encoding
+    private static int checkEncodable(int comparison, boolean encodable) {
+        return comparison == 0 && !encodable ? -1 : comparison;
+    }
+
+    private static final LocalDate DATE_EPOCH = LocalDate.of(1960, 1, 1);
+    private static final LocalDateTime DATE_TIME_EPOCH = DATE_EPOCH.atStartOfDay();
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    //</editor-fold>
+}
@@ -16,6 +16,9 @@
  */
 package sasquatch.ri;
 
+import internal.bytes.BytesReader;
+import internal.ri.base.PageReader;
+import internal.ri.base.SasCalendar;
 import internal.ri.data.Document;
 import internal.ri.data.rows.RowCursor;
 import internal.ri.data.rows.ValueReader;
@@ -24,38 +27,78 @@ import internal.ri.data.rows.ValueReader.DateTimeReader;
 import internal.ri.data.rows.ValueReader.NumberReader;
 import internal.ri.data.rows.ValueReader.StringReader;
 import internal.ri.data.rows.ValueReader.TimeReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import lombok.AccessLevel;
+import org.jspecify.annotations.Nullable;
+import sasquatch.SasBatch;
+import sasquatch.SasBatchCursor;
 import sasquatch.SasColumn;
 import static sasquatch.SasColumnType.*;
 import sasquatch.SasForwardCursor;
 import sasquatch.SasMetaData;
+import sasquatch.util.SasCursors;
 
 /**
  *
  * @author Philippe Charles
  */
 @lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
-final class SasquatchCursor implements SasForwardCursor {
+final class SasquatchCursor implements SasForwardCursor, SasBatchCursor {
 
     static SasquatchCursor of(SeekableByteChannel sbc) throws IOException {
         Document doc = Document.parse(sbc);
-        SasMetaData metaData = DocumentUtil.getMetaData(doc);
-        RowCursor rowCursor = RowCursor.of(sbc, doc);
-        ValueReader[] readers = createReaders(metaData.getColumns(), DocumentUtil.getOffsets(doc), DocumentUtil.getCharset(doc));
-        return new SasquatchCursor(metaData, rowCursor, readers, sbc);
+        return of(DocumentLayout.of(doc), PageReader.ofChannel(sbc, doc.getHeader()), sbc);
+    }
+
+    static SasquatchCursor of(DocumentLayout layout, PageReader pages, Closeable resource) throws IOException {
+        return of(layout, RowCursor.of(pages, layout.getDocument()), resource);
+    }
+
+    static SasquatchCursor of(DocumentLayout layout, RowCursor rowCursor, Closeable resource) throws IOException {
+        SasMetaData metaData = layout.getMetaData();
+        int[] offsets = layout.getOffsets();
+        Charset charset = layout.getCharset();
+        ValueReader[] readers = createReaders(metaData.getColumns(), offsets, charset);
+        return new SasquatchCursor(metaData, rowCursor, readers, createNumberReaders(metaData.getColumns(), offsets), charset, null, resource, createChars(metaData.getColumns()));
+    }
+
+    static SasquatchCursor of(DocumentLayout layout, PageReader pages, Closeable resource, int[] columns, @Nullable SasFilter filter) throws IOException {
+        return of(layout, RowCursor.of(pages, layout.getDocument(), getRequiredLength(layout, columns, filter)), resource, columns, filter);
+    }
+
+    static SasquatchCursor of(DocumentLayout layout, RowCursor rowCursor, Closeable resource, int[] columns, @Nullable SasFilter filter) throws IOException {
+        SasMetaData fullMetaData = layout.getMetaData();
+        SasMetaData metaData = SasCursors.project(fullMetaData, columns);
+        int[] offsets = layout.getOffsets();
+        int[] projectedOffsets = new int[columns.length];
+        for (int j = 0; j < columns.length; j++) {
+            projectedOffsets[j] = offsets[columns[j]];
+        }
+        Charset charset = layout.getCharset();
+        ValueReader[] readers = createReaders(metaData.getColumns(), projectedOffsets, charset);
+        Predicate<BytesReader> rowFilter = filter != null ? filter.compile(fullMetaData, offsets, charset) : null;
+        return new SasquatchCursor(metaData, rowCursor, readers, createNumberReaders(metaData.getColumns(), projectedOffsets), charset, rowFilter, resource, createChars(metaData.getColumns()));
     }
 
     private final SasMetaData metaData;
     private final RowCursor rowCursor;
     private final ValueReader[] readers;
-    private final SeekableByteChannel resource;
+    private final NumberReader[] numberReaders;
+    private final Charset charset;
+    @Nullable
+    private final Predicate<BytesReader> rowFilter;
+    private final Closeable resource;
+    private final char[] chars;
 
     @Override
     public SasMetaData getMetaData() {
@@ -64,7 +107,15 @@ final class SasquatchCursor implements SasForwardCursor {
 
     @Override
     public boolean next() throws IOException {
-        return rowCursor.next();
+        if (rowFilter == null) {
+            return rowCursor.next();
+        }
+        while (rowCursor.next()) {
+            if (rowFilter.test(rowCursor.getBytes())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -74,10 +125,35 @@ final class SasquatchCursor implements SasForwardCursor {
 
     @Override
     public double getNumber(int columnIndex) throws IOException {
-        try {
-            return ((NumberReader) readers[columnIndex]).readDouble(rowCursor.getBytes());
-        } catch (ClassCastException ex) {
-            throw invalidColumnType(columnIndex, NumberReader.class, ex);
+        return getNumberReader(columnIndex).readDouble(rowCursor.getBytes());
+    }
+
+    @Override
+    public boolean isMissing(int columnIndex) throws IOException {
+        NumberReader reader = numberReaders[columnIndex];
+        return reader != null
+                ? reader.isMissing(rowCursor.getBytes())
+                : readers[columnIndex].isMissing(rowCursor.getBytes());
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws IOException {
+        double value = getNumberReader(columnIndex).readDouble(rowCursor.getBytes());
+        long result = (long) value;
+        if (result != value || result == Long.MAX_VALUE) {
+            throw new ArithmeticException("Not a long value: " + value);
+        }
+        return result;
+    }
+
+    @Override
+    public void getNumbers(int[] columnIndexes, double[] dst) throws IOException {
+        if (dst.length < columnIndexes.length) {
+            throw new IndexOutOfBoundsException("Destination too small: " + dst.length);
+        }
+        BytesReader bytes = rowCursor.getBytes();
+        for (int i = 0; i < columnIndexes.length; i++) {
+            dst[i] = getNumberReader(columnIndexes[i]).readDouble(bytes);
         }
     }
 
@@ -86,16 +162,39 @@ final class SasquatchCursor implements SasForwardCursor {
         try {
             return ((StringReader) readers[columnIndex]).read(rowCursor.getBytes());
         } catch (ClassCastException ex) {
-            throw invalidColumnType(columnIndex, StringReader.class, ex);
+            throw invalidColumnType(columnIndex, StringReader.class);
         }
     }
 
+    @Override
+    public CharSequence getChars(int columnIndex) throws IOException {
+        try {
+            return ((StringReader) readers[columnIndex]).readChars(rowCursor.getBytes());
+        } catch (ClassCastException ex) {
+            throw invalidColumnType(columnIndex, StringReader.class);
+        }
+    }
+
+    @Override
+    public ByteBuffer getStringBytes(int columnIndex) throws IOException {
+        try {
+            return ((StringReader) readers[columnIndex]).readEncoded(rowCursor.getBytes());
+        } catch (ClassCastException ex) {
+            throw invalidColumnType(columnIndex, StringReader.class);
+        }
+    }
+
+    @Override
+    public Charset getCharset() throws IOException {
+        return charset;
+    }
+
     @Override
     public LocalDate getDate(int columnIndex) throws IOException {
         try {
             return ((DateReader) readers[columnIndex]).read(rowCursor.getBytes());
         } catch (ClassCastException ex) {
-            throw invalidColumnType(columnIndex, DateReader.class, ex);
+            throw invalidColumnType(columnIndex, DateReader.class);
         }
     }
 
@@ -104,7 +203,7 @@ final class SasquatchCursor implements SasForwardCursor {
         try {
             return ((DateTimeReader) readers[columnIndex]).read(rowCursor.getBytes());
         } catch (ClassCastException ex) {
-            throw invalidColumnType(columnIndex, DateTimeReader.class, ex);
+            throw invalidColumnType(columnIndex, DateTimeReader.class);
         }
     }
 
@@ -113,10 +212,34 @@ final class SasquatchCursor implements SasForwardCursor {
         try {
             return ((TimeReader) readers[columnIndex]).read(rowCursor.getBytes());
         } catch (ClassCastException ex) {
-            throw invalidColumnType(columnIndex, TimeReader.class, ex);
+            throw invalidColumnType(columnIndex, TimeReader.class);
         }
     }
 
+    @Override
+    public long getEpochDay(int columnIndex) throws IOException {
+        double value = readTemporal(columnIndex, DateReader.class);
+        return !Double.isNaN(value) ? (long) SasCalendar.getEpochDay(value) : MISSING_TEMPORAL;
+    }
+
+    @Override
+    public long getEpochSecond(int columnIndex) throws IOException {
+        double value = readTemporal(columnIndex, DateTimeReader.class);
+        return !Double.isNaN(value) ? Math.floorDiv(SasCalendar.getEpochMillis(value), 1000) : MISSING_TEMPORAL;
+    }
+
+    @Override
+    public long getEpochMillis(int columnIndex) throws IOException {
+        double value = readTemporal(columnIndex, DateTimeReader.class);
+        return !Double.isNaN(value) ? SasCalendar.getEpochMillis(value) : MISSING_TEMPORAL;
+    }
+
+    @Override
+    public long getSecondOfDay(int columnIndex) throws IOException {
+        double value = readTemporal(columnIndex, TimeReader.class);
+        return !Double.isNaN(value) ? (long) SasCalendar.getSecondOfDay(value) : MISSING_TEMPORAL;
+    }
+
     @Override
     public Object[] getValues() throws IOException {
         Object[] result = new Object[readers.length];
@@ -126,17 +249,73 @@ final class SasquatchCursor implements SasForwardCursor {
         return result;
     }
 
+    @Override
+    public boolean nextBatch(SasBatch batch) throws IOException, IllegalArgumentException {
+        List<SasColumn> columns = metaData.getColumns();
+        if (!batch.isCompatibleWith(columns)) {
+            throw new IllegalArgumentException("Batch columns don't match cursor columns");
+        }
+        batch.clear();
+        int size = 0;
+        while (size < batch.getCapacity() && next()) {
+            BytesReader bytes = rowCursor.getBytes();
+            for (int j = 0; j < readers.length; j++) {
+                switch (columns.get(j).getType()) {
+                    case CHARACTER: {
+                        int length = ((StringReader) readers[j]).readChars(bytes, chars);
+                        if (length < 0) {
+                            batch.putString(size, j, null);
+                        } else {
+                            batch.putChars(size, j, chars, 0, length);
+                        }
+                        break;
+                    }
+                    case NUMERIC:
+                        batch.putDouble(size, j, numberReaders[j].readDouble(bytes));
+                        break;
+                    case DATE:
+                        batch.putDouble(size, j, SasCalendar.getEpochDay(numberReaders[j].readDouble(bytes)));
+                        break;
+                    case DATETIME:
+                        batch.putDouble(size, j, SasCalendar.getEpochSecond(numberReaders[j].readDouble(bytes)));
+                        break;
+                    case TIME:
+                        batch.putDouble(size, j, SasCalendar.getSecondOfDay(numberReaders[j].readDouble(bytes)));
+                        break;
+                }
+            }
+            size++;
+        }
+        batch.setSize(size);
+        return size > 0;
+    }
+
     @Override
     public void close() throws IOException {
         resource.close();
     }
 
     //<editor-fold defaultstate="collapsed" desc="Implementation details">
-    private IllegalArgumentException invalidColumnType(int columnIndex, Class<? extends ValueReader> expected, ClassCastException ex) {
+    private IllegalArgumentException invalidColumnType(int columnIndex, Class<? extends ValueReader> expected) {
         Class<? extends ValueReader> actual = readers[columnIndex].getClass();
         return new IllegalArgumentException("Column at index " + columnIndex + " expected to be '" + getName(expected) + "' but was '" + getName(actual) + "' instead");
     }
 
+    private NumberReader getNumberReader(int columnIndex) {
+        ValueReader reader = readers[columnIndex];
+        if (reader instanceof NumberReader) {
+            return (NumberReader) reader;
+        }
+        throw invalidColumnType(columnIndex, NumberReader.class);
+    }
+
+    private double readTemporal(int columnIndex, Class<? extends ValueReader> expected) throws IOException {
+        if (!expected.isInstance(readers[columnIndex])) {
+            throw invalidColumnType(columnIndex, expected);
+        }
+        return numberReaders[columnIndex].readDouble(rowCursor.getBytes());
+    }
+
     private static String getName(Class<? extends ValueReader> reader) {
         if (NumberReader.class.isAssignableFrom(reader)) {
             return "Number";
@@ -156,6 +335,30 @@ final class SasquatchCursor implements SasForwardCursor {
         throw new RuntimeException("Unknown column type");
     }
 
+    // decompression can stop after the last column that is read
+    private static int getRequiredLength(DocumentLayout layout, int[] columns, @Nullable SasFilter filter) {
+        SasMetaData metaData = layout.getMetaData();
+        int[] offsets = layout.getOffsets();
+        IntStream projected = IntStream.of(columns);
+        IntStream filtered = filter != null
+                ? filter.columnNames().mapToInt(name -> getIndex(metaData, name)).filter(j -> j >= 0)
+                : IntStream.empty();
+        return IntStream.concat(projected, filtered)
+                .map(j -> offsets[j] + metaData.getColumns().get(j).getLength())
+                .max()
+                .orElse(0);
+    }
+
+    private static int getIndex(SasMetaData metaData, String name) {
+        List<SasColumn> columns = metaData.getColumns();
+        for (int j = 0; j < columns.size(); j++) {
+            if (columns.get(j).getName().equals(name)) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
     private static ValueReader[] createReaders(List<SasColumn> columns, int[] offsets, Charset charset) {
         ValueReader[] result = new ValueReader[columns.size()];
         for (int i = 0; i < result.length; i++) {
@@ -164,10 +367,24 @@ final class SasquatchCursor implements SasForwardCursor {
         return result;
     }
 
+    private static NumberReader[] createNumberReaders(List<SasColumn> columns, int[] offsets) {
+        NumberReader[] result = new NumberReader[columns.size()];
+        for (int i = 0; i < result.length; i++) {
+            SasColumn c = columns.get(i);
+            result[i] = c.getType() != CHARACTER ? ValueReader.numberReader(offsets[i], c.getLength()) : null;
+        }
+        return result;
+    }
+
+    // a decoded field has at most one char per byte
+    private static char[] createChars(List<SasColumn> columns) {
+        return new char[columns.stream().filter(c -> c.getType() == CHARACTER).mapToInt(SasColumn::getLength).max().orElse(0)];
+    }
+
     private static ValueReader createReader(SasColumn c, int offset, Charset charset) {
         switch (c.getType()) {
             case CHARACTER:
-                return ValueReader.stringReader(offset, c.getLength(), charset);
+                return ValueReader.dictionaryStringReader(offset, c.getLength(), charset);
             case NUMERIC:
                 return ValueReader.numberReader(offset, c.getLength());
             case DATE:
@@ -16,19 +16,40 @@
  */
 package sasquatch.ri;
 
+import internal.bytes.MappedFile;
+import internal.bytes.SharedChannel;
+import internal.ri.base.Header;
+import internal.ri.base.PageReader;
+import internal.ri.base.ReadAheadPageReader;
 import internal.ri.data.Document;
+import internal.ri.data.rows.SidecarRowIndex;
+import java.io.Closeable;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import static java.nio.file.StandardOpenOption.READ;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.stream.IntStream;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
 import nbbrd.service.ServiceProvider;
+import org.jspecify.annotations.Nullable;
+import sasquatch.SasBatchCursor;
+import sasquatch.SasCursor;
 import sasquatch.SasForwardCursor;
 import sasquatch.SasMetaData;
 import sasquatch.SasScrollableCursor;
 import sasquatch.SasSplittableCursor;
+import sasquatch.SasTable;
 import sasquatch.spi.SasFeature;
 import sasquatch.spi.SasReader;
 import sasquatch.util.SasCursors;
@@ -38,10 +59,64 @@ import sasquatch.util.SasCursors;
  * @author Philippe Charles
  */
 @ServiceProvider(SasReader.class)
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+@lombok.Builder(toBuilder = true)
+@lombok.extern.java.Log
 public final class SasquatchReader implements SasReader {
 
     public static final String NAME = "RI";
 
+    /**
+     * Reads the pages through a read-only memory mapping of the file instead
+     * of copying them from a channel. The mapping is shared by all the cursors
+     * opened on the same unchanged file.
+     * <p>
+     * Note that some platforms prevent the deletion of a mapped file until the
+     * mapping has been garbage collected.
+     */
+    @lombok.Getter
+    private final boolean memoryMapped;
+
+    /**
+     * Number of pages read in advance by a background thread when browsing
+     * rows with a forward cursor, zero to disable it. This read-ahead doesn't
+     * apply to memory-mapped files.
+     */
+    @lombok.Getter
+    @NonNegative
+    private final int readAheadDepth;
+
+    /**
+     * Maximum number of files whose parsed metadata is kept in memory so that
+     * opening them again skips the metadata scan, zero to disable it. The
+     * least recently used files are evicted first and a file is parsed again
+     * as soon as its size or its last modification time changes.
+     *
+     * @see #getMetaDataCacheStats()
+     */
+    @lombok.Getter
+    @NonNegative
+    private final int metaDataCacheSize;
+
+    /**
+     * Stores the row pointers of compressed files in a sidecar file next to
+     * the dataset so that scrollable cursors can locate any row without
+     * scanning the pages. The sidecar file is created on first open if it is
+     * missing or outdated; a failure to write it is logged and ignored.
+     *
+     * @see #writeRowIndex(Path)
+     */
+    @lombok.Getter
+    private final boolean rowIndexFiles;
+
+    private final ConcurrentMap<FileKey, WeakReference<MappedFile>> mappings = new ConcurrentHashMap<>();
+
+    private final DocumentCache documents = new DocumentCache();
+
+    public SasquatchReader() {
+        this(false, 0, 0, false);
+    }
+
     @Override
     public String getName() {
         return NAME;
@@ -80,10 +155,213 @@ public final class SasquatchReader implements SasReader {
 
     @Override
     public SasForwardCursor readForward(Path file) throws IOException {
+        return open(file, true, SasquatchCursor::of, null);
+    }
+
+    @Override
+    public SasForwardCursor readForward(Path file, int[] columns) throws IOException {
+        return open(file, true, (layout, pages, resource) -> SasquatchCursor.of(layout, pages, resource, columns, null), null);
+    }
+
+    @Override
+    public SasForwardCursor readForward(Path file, Set<String> columns) throws IOException {
+        return open(file, true, (layout, pages, resource) -> SasquatchCursor.of(layout, pages, resource, SasCursors.getColumnIndexes(layout.getMetaData(), columns), null), null);
+    }
+
+    /**
+     * Reads the rows of a SAS dataset that match a filter into a forward
+     * cursor. The filter is evaluated on the bytes of the rows so that the
+     * values of the other rows are never decoded.
+     * <p>
+     * Note that the row count of the cursor is the number of rows in the file.
+     *
+     * @param file the SAS dataset to read
+     * @param filter a non-null filter
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     * @throws IllegalArgumentException if the filter doesn't match the columns
+     */
+    @NonNull
+    public SasForwardCursor readForward(@NonNull Path file, @NonNull SasFilter filter) throws IOException {
+        return open(file, true, (layout, pages, resource) -> SasquatchCursor.of(layout, pages, resource, getAllColumns(layout), filter), null);
+    }
+
+    /**
+     * Reads a subset of the columns of the rows of a SAS dataset that match a
+     * filter into a forward cursor. The filter can refer to any column.
+     *
+     * @param file the SAS dataset to read
+     * @param columns the names of the columns to read
+     * @param filter a non-null filter
+     * @return a non-null cursor
+     * @throws IOException if an I/O exception occurred
+     * @throws IllegalArgumentException if a column is not found or if the
+     * filter doesn't match the columns
+     * @see #readForward(Path, SasFilter)
+     */
+    @NonNull
+    public SasForwardCursor readForward(@NonNull Path file, @NonNull Set<String> columns, @NonNull SasFilter filter) throws IOException {
+        return open(file, true, (layout, pages, resource) -> SasquatchCursor.of(layout, pages, resource, SasCursors.getColumnIndexes(layout.getMetaData(), columns), filter), null);
+    }
+
+    @Override
+    public SasBatchCursor readBatch(Path file) throws IOException {
+        return open(file, true, SasquatchCursor::of, null);
+    }
+
+    @Override
+    public SasScrollableCursor readScrollable(Path file) throws IOException {
+        return open(file, false, (layout, pages, resource) -> SasquatchScrollableCursor.of(layout, pages, resource, rowIndexFiles ? getRowIndex(file, layout, pages) : null), null);
+    }
+
+    @Override
+    public SasSplittableCursor readSplittable(Path file) throws IOException {
+        return open(file, false, (layout, pages, resource) -> SasCursors.asSplittable(SasquatchCursor.of(layout, pages, resource)), SasquatchSplittableCursor::of);
+    }
+
+    @Override
+    public SasMetaData readMetaData(Path file) throws IOException {
+        if (metaDataCacheSize > 0) {
+            FileKey key = FileKey.of(file);
+            DocumentLayout result = documents.get(key, true);
+            if (result == null) {
+                result = DocumentLayout.of(Document.parseMetaData(file));
+                documents.put(key, result, true, metaDataCacheSize);
+            }
+            return result.getMetaData();
+        }
+        return DocumentUtil.getMetaData(Document.parseMetaData(file));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The table parses the metadata once and holds a single file channel that
+     * is only used with positional reads. Each cursor has its own buffers and
+     * decoders so that the cursors can be used concurrently. The channel is
+     * reopened if a reading thread is interrupted so that only the cursor of
+     * this thread fails.
+     */
+    @Override
+    public SasTable openTable(Path file) throws IOException {
+        SeekableByteChannel sbc = Files.newByteChannel(file, READ);
+        if (!(sbc instanceof FileChannel)) {
+            sbc.close();
+            return SasReader.super.openTable(file);
+        }
+        FileChannel channel = (FileChannel) sbc;
+        try {
+            DocumentLayout layout = getLayout(file, channel);
+            MappedFile mapping = memoryMapped ? getMapping(file, channel, layout.getDocument().getHeader()) : null;
+            return SasquatchTable.of(layout, SharedChannel.of(file, channel), mapping, readAheadDepth);
+        } catch (Error | RuntimeException | IOException e) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                try {
+                    e.addSuppressed(ex);
+                } catch (Throwable ignore) {
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the sidecar row index of a compressed SAS dataset. Uncompressed
+     * datasets don't need such an index since the location of their rows can
+     * be computed.
+     *
+     * @param file the SAS dataset to index
+     * @return true if the dataset is compressed and its index has been
+     * written, false otherwise
+     * @throws IOException if an I/O exception occurred
+     * @see #isRowIndexFiles()
+     */
+    public boolean writeRowIndex(@NonNull Path file) throws IOException {
+        try (SeekableByteChannel sbc = Files.newByteChannel(file, READ)) {
+            Document doc = getLayout(file, sbc).getDocument();
+            if (!SidecarRowIndex.isSupported(doc)) {
+                return false;
+            }
+            SidecarRowIndex.build(PageReader.ofChannel(sbc, doc.getHeader()), doc).write(SidecarRowIndex.getPath(file));
+            return true;
+        }
+    }
+
+    /**
+     * Gets the statistics of the metadata cache.
+     *
+     * @return non-null statistics
+     * @see #getMetaDataCacheSize()
+     */
+    @NonNull
+    public CacheStats getMetaDataCacheStats() {
+        return documents.getStats();
+    }
+
+    /**
+     * Removes all the entries of the metadata cache. The statistics are not
+     * reset.
+     */
+    public void clearMetaDataCache() {
+        documents.clear();
+    }
+
+    @lombok.Value
+    public static class CacheStats {
+
+        @NonNegative
+        long hitCount;
+
+        @NonNegative
+        long missCount;
+
+        @NonNegative
+        long evictionCount;
+
+        @NonNegative
+        int size;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    @FunctionalInterface
+    interface CursorFactory<T extends SasCursor> {
+
+        T create(DocumentLayout layout, PageReader pages, Closeable resource) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface ConcurrentCursorFactory<T extends SasCursor> {
+
+        T create(DocumentLayout layout, Supplier<PageReader> pages, Closeable resource) throws IOException;
+    }
+
+    private <T extends SasCursor> T open(Path file, boolean sequential, CursorFactory<T> factory, @Nullable ConcurrentCursorFactory<T> concurrentFactory) throws IOException {
         SeekableByteChannel sbc = Files.newByteChannel(file, READ);
         try {
-            return SasquatchCursor.of(sbc);
-        } catch (Error | RuntimeException e) {
+            DocumentLayout layout = getLayout(file, sbc);
+            Header header = layout.getDocument().getHeader();
+            if (sbc instanceof FileChannel) {
+                FileChannel channel = (FileChannel) sbc;
+                if (memoryMapped) {
+                    MappedFile mapping = getMapping(file, channel, header);
+                    sbc.close();
+                    return concurrentFactory != null
+                            ? concurrentFactory.create(layout, () -> PageReader.ofMapped(mapping, header), SasquatchReader::doNothing)
+                            : factory.create(layout, PageReader.ofMapped(mapping, header), SasquatchReader::doNothing);
+                }
+                if (concurrentFactory != null) {
+                    SharedChannel shared = SharedChannel.of(file, channel);
+                    return concurrentFactory.create(layout, () -> PageReader.ofPositional(shared, header), shared);
+                }
+                if (sequential && readAheadDepth > 0) {
+                    ReadAheadPageReader pages = ReadAheadPageReader.of(channel, header, readAheadDepth);
+                    return factory.create(layout, pages, () -> closeBoth(pages, channel));
+                }
+            }
+            return factory.create(layout, PageReader.ofChannel(sbc, header), sbc);
+        } catch (Error | RuntimeException | IOException e) {
             try {
                 sbc.close();
             } catch (IOException ex) {
@@ -96,18 +374,60 @@ public final class SasquatchReader implements SasReader {
         }
     }
 
-    @Override
-    public SasScrollableCursor readScrollable(Path file) throws IOException {
-        return SasCursors.asScrollable(readForward(file));
+    private DocumentLayout getLayout(Path file, SeekableByteChannel sbc) throws IOException {
+        if (metaDataCacheSize > 0) {
+            FileKey key = FileKey.of(file);
+            DocumentLayout result = documents.get(key, false);
+            if (result == null) {
+                result = DocumentLayout.of(Document.parse(sbc));
+                documents.put(key, result, false, metaDataCacheSize);
+            }
+            return result;
+        }
+        return DocumentLayout.of(Document.parse(sbc));
     }
 
-    @Override
-    public SasSplittableCursor readSplittable(Path file) throws IOException {
-        return SasCursors.asSplittable(readForward(file));
+    @Nullable
+    private static SidecarRowIndex getRowIndex(Path file, DocumentLayout layout, PageReader pages) throws IOException {
+        Document doc = layout.getDocument();
+        if (!SidecarRowIndex.isSupported(doc)) {
+            return null;
+        }
+        Path sidecar = SidecarRowIndex.getPath(file);
+        SidecarRowIndex result = SidecarRowIndex.read(sidecar, doc);
+        if (result == null) {
+            result = SidecarRowIndex.build(pages, doc);
+            try {
+                result.write(sidecar);
+            } catch (IOException ex) {
+                log.log(Level.WARNING, "Cannot write row index '" + sidecar + "'", ex);
+            }
+        }
+        return result;
     }
 
-    @Override
-    public SasMetaData readMetaData(Path file) throws IOException {
-        return DocumentUtil.getMetaData(Document.parse(file));
+    private MappedFile getMapping(Path file, FileChannel channel, Header header) throws IOException {
+        FileKey key = FileKey.of(file);
+        WeakReference<MappedFile> ref = mappings.get(key);
+        MappedFile result = ref != null ? ref.get() : null;
+        if (result == null) {
+            mappings.values().removeIf(o -> o.get() == null);
+            result = PageReader.map(channel, header);
+            mappings.put(key, new WeakReference<>(result));
+        }
+        return result;
+    }
+
+    private static void doNothing() {
+    }
+
+    private static int[] getAllColumns(DocumentLayout layout) {
+        return IntStream.range(0, layout.getMetaData().getColumns().size()).toArray();
+    }
+
+    private static void closeBoth(ReadAheadPageReader pages, FileChannel channel) throws IOException {
+        pages.close();
+        channel.close();
     }
+    //</editor-fold>
 }
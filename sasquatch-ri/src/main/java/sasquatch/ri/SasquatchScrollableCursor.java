@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import internal.ri.base.PageReader;
+import internal.ri.data.rows.SeekableRowCursor;
+import internal.ri.data.rows.SidecarRowIndex;
+import java.io.Closeable;
+import java.io.IOException;
+import lombok.AccessLevel;
+import org.jspecify.annotations.Nullable;
+import sasquatch.SasCursor;
+import sasquatch.SasRow;
+import sasquatch.SasScrollableCursor;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class SasquatchScrollableCursor implements SasScrollableCursor {
+
+    static SasquatchScrollableCursor of(DocumentLayout layout, PageReader pages, Closeable resource) throws IOException {
+        return of(layout, pages, resource, null);
+    }
+
+    static SasquatchScrollableCursor of(DocumentLayout layout, PageReader pages, Closeable resource, @Nullable SidecarRowIndex sidecar) throws IOException {
+        SeekableRowCursor rowCursor = SeekableRowCursor.of(pages, layout.getDocument(), sidecar);
+        return new SasquatchScrollableCursor(SasquatchCursor.of(layout, rowCursor, resource), rowCursor);
+    }
+
+    @lombok.experimental.Delegate(types = {SasCursor.class, SasRow.class})
+    private final SasquatchCursor cursor;
+
+    private final SeekableRowCursor rowCursor;
+
+    @Override
+    public int getRow() throws IOException {
+        return rowCursor.getIndex();
+    }
+
+    @Override
+    public boolean moveTo(int row) throws IOException {
+        rowCursor.moveTo(row);
+        return 0 <= row && row < rowCursor.getCount();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import internal.ri.base.PageReader;
+import internal.ri.data.rows.RowCursor;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import org.jspecify.annotations.Nullable;
+import sasquatch.SasMetaData;
+import sasquatch.SasRow;
+import sasquatch.SasSplittableCursor;
+
+/**
+ * Splittable cursor whose spliterator splits on page ranges. Each split reads
+ * its own pages and decodes its rows with its own cursor so that the splits
+ * can be consumed concurrently.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class SasquatchSplittableCursor implements SasSplittableCursor {
+
+    /**
+     * Creates a splittable cursor.
+     *
+     * @param layout the parsed document and its layout
+     * @param pages a supplier of page readers that can be used concurrently
+     * @param resource the resource to close with the cursor
+     * @return a non-null cursor
+     * @throws IOException
+     */
+    static SasquatchSplittableCursor of(DocumentLayout layout, Supplier<PageReader> pages, Closeable resource) throws IOException {
+        return new SasquatchSplittableCursor(layout, layout.getMetaData(), RowCursor.getFirstDataPage(layout.getDocument()), pages, resource);
+    }
+
+    private final DocumentLayout layout;
+    private final SasMetaData metaData;
+    private final int firstDataPage;
+    private final Supplier<PageReader> pages;
+    private final Closeable resource;
+
+    @Override
+    public SasMetaData getMetaData() {
+        return metaData;
+    }
+
+    @Override
+    public Spliterator<SasRow> getSpliterator() throws IOException {
+        return new PageRangeSpliterator(firstDataPage, layout.getDocument().getHeader().getPageCount(), metaData.getRowCount());
+    }
+
+    @Override
+    public void close() throws IOException {
+        resource.close();
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    private final class PageRangeSpliterator implements Spliterator<SasRow> {
+
+        private int fromPage;
+        private final int toPage;
+        private long estimatedSize;
+
+        @Nullable
+        private SasquatchCursor cursor;
+
+        PageRangeSpliterator(int fromPage, int toPage, long estimatedSize) {
+            this.fromPage = fromPage;
+            this.toPage = toPage;
+            this.estimatedSize = estimatedSize;
+            this.cursor = null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SasRow> action) {
+            try {
+                if (cursor == null) {
+                    cursor = SasquatchCursor.of(layout, createRowCursor(), SasquatchSplittableCursor::doNothing);
+                }
+                if (cursor.next()) {
+                    action.accept(cursor);
+                    return true;
+                }
+                return false;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public Spliterator<SasRow> trySplit() {
+            int pageCount = toPage - fromPage;
+            if (cursor != null || pageCount < 2) {
+                return null;
+            }
+            int middle = fromPage + pageCount / 2;
+            long prefixSize = estimatedSize * (middle - fromPage) / pageCount;
+            PageRangeSpliterator result = new PageRangeSpliterator(fromPage, middle, prefixSize);
+            fromPage = middle;
+            estimatedSize -= prefixSize;
+            return result;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.NONNULL | Spliterator.IMMUTABLE | Spliterator.ORDERED;
+        }
+
+        private RowCursor createRowCursor() throws IOException {
+            // the whole range keeps the row count as a stop condition
+            return fromPage == firstDataPage && toPage == layout.getDocument().getHeader().getPageCount()
+                    ? RowCursor.of(pages.get(), layout.getDocument())
+                    : RowCursor.ofPageRange(pages.get(), layout.getDocument(), fromPage, toPage);
+        }
+    }
+
+    private static void doNothing() {
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import internal.bytes.MappedFile;
+import internal.bytes.SharedChannel;
+import internal.ri.base.Header;
+import internal.ri.base.PageReader;
+import internal.ri.base.ReadAheadPageReader;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+import org.jspecify.annotations.Nullable;
+import sasquatch.SasBatchCursor;
+import sasquatch.SasCursor;
+import sasquatch.SasForwardCursor;
+import sasquatch.SasMetaData;
+import sasquatch.SasScrollableCursor;
+import sasquatch.SasSplittableCursor;
+import sasquatch.SasTable;
+import sasquatch.util.SasCursors;
+
+/**
+ * Table that shares a parsed document and a file channel between its cursors.
+ * <p>
+ * The channel is only used with positional reads so that it is never
+ * modified by the cursors. Each cursor has its own page buffers and decoders.
+ * <p>
+ * Interrupting a thread that reads a cursor closes the underlying file
+ * channel. The interrupted cursor then fails with a
+ * {@link java.nio.channels.ClosedByInterruptException} but the channel is
+ * reopened for the other cursors, which are not affected.
+ *
+ * @author Philippe Charles
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class SasquatchTable implements SasTable {
+
+    @NonNull
+    static SasquatchTable of(@NonNull DocumentLayout layout, @NonNull SharedChannel channel, @Nullable MappedFile mapping, @NonNegative int readAheadDepth) {
+        return new SasquatchTable(layout, channel, mapping, readAheadDepth);
+    }
+
+    @lombok.NonNull
+    private final DocumentLayout layout;
+
+    @lombok.NonNull
+    private final SharedChannel channel;
+
+    @Nullable
+    private final MappedFile mapping;
+
+    @NonNegative
+    private final int readAheadDepth;
+
+    @Override
+    public SasMetaData getMetaData() throws IOException {
+        checkOpen();
+        return layout.getMetaData();
+    }
+
+    @Override
+    public SasForwardCursor readForward() throws IOException {
+        return open(true, SasquatchCursor::of, null);
+    }
+
+    @Override
+    public SasForwardCursor readForward(int[] columns) throws IOException {
+        return open(true, (layout, pages, resource) -> SasquatchCursor.of(layout, pages, resource, columns, null), null);
+    }
+
+    @Override
+    public SasForwardCursor readForward(Set<String> columns) throws IOException {
+        int[] indexes = SasCursors.getColumnIndexes(layout.getMetaData(), columns);
+        return open(true, (layout, pages, resource) -> SasquatchCursor.of(layout, pages, resource, indexes, null), null);
+    }
+
+    @Override
+    public SasBatchCursor readBatch() throws IOException {
+        return open(true, SasquatchCursor::of, null);
+    }
+
+    @Override
+    public SasScrollableCursor readScrollable() throws IOException {
+        return open(false, SasquatchScrollableCursor::of, null);
+    }
+
+    @Override
+    public SasSplittableCursor readSplittable() throws IOException {
+        return open(false, (layout, pages, resource) -> SasCursors.asSplittable(SasquatchCursor.of(layout, pages, resource)), SasquatchSplittableCursor::of);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation details">
+    private <T extends SasCursor> T open(boolean sequential, SasquatchReader.CursorFactory<T> factory, SasquatchReader.@Nullable ConcurrentCursorFactory<T> concurrentFactory) throws IOException {
+        checkOpen();
+        Header header = layout.getDocument().getHeader();
+        if (mapping != null) {
+            return concurrentFactory != null
+                    ? concurrentFactory.create(layout, () -> PageReader.ofMapped(mapping, header), SasquatchTable::doNothing)
+                    : factory.create(layout, PageReader.ofMapped(mapping, header), SasquatchTable::doNothing);
+        }
+        if (concurrentFactory != null) {
+            return concurrentFactory.create(layout, () -> PageReader.ofPositional(channel, header), SasquatchTable::doNothing);
+        }
+        if (sequential && readAheadDepth > 0) {
+            ReadAheadPageReader pages = ReadAheadPageReader.of(channel, header, readAheadDepth);
+            return factory.create(layout, pages, pages);
+        }
+        return factory.create(layout, PageReader.ofPositional(channel, header), SasquatchTable::doNothing);
+    }
+
+    private void checkOpen() throws IOException {
+        if (!channel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private static void doNothing() {
+    }
+    //</editor-fold>
+}
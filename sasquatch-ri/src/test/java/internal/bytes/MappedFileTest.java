@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.bytes;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class MappedFileTest {
+
+    @Test
+    public void testSlice(@TempDir Path temp) throws IOException {
+        byte[] content = new byte[3 + 10 * 4 + 2];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(temp.resolve("data.bin"), content);
+
+        MappedFile x;
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            x = MappedFile.map(channel, 3, 4, ByteOrder.LITTLE_ENDIAN, 10);
+        }
+
+        assertThat(x.getSize()).isEqualTo(42);
+
+        for (int unit = 0; unit < 10; unit++) {
+            long position = 3 + unit * 4;
+            assertThat(x.slice(position, 4).toArray())
+                    .containsExactly(content[(int) position], content[(int) position + 1], content[(int) position + 2], content[(int) position + 3]);
+        }
+
+        assertThat(x.slice(43, 4).toArray()).containsExactly(43, 44);
+        assertThat(x.slice(45, 4).getLength()).isZero();
+        assertThat(x.slice(7, 4).getOrder()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+        assertThat(x.slice(7, 4).getInt32(0)).isEqualTo(0x0A090807);
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> x.slice(2, 4));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> x.slice(46, 4));
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            try (FileChannel channel = FileChannel.open(file, READ)) {
+                MappedFile.map(channel, 3, 11, ByteOrder.LITTLE_ENDIAN, 10);
+            }
+        });
+    }
+}
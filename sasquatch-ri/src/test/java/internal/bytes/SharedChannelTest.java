@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.bytes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class SharedChannelTest {
+
+    @Test
+    public void testReopen(@TempDir Path temp) throws IOException {
+        Path file = Files.write(temp.resolve("data.bin"), new byte[]{1, 2, 3, 4});
+
+        SharedChannel x = SharedChannel.of(file, FileChannel.open(file, READ));
+        try {
+            assertThat(read(x, 1)).isEqualTo(2);
+
+            Thread.currentThread().interrupt();
+            try {
+                assertThatExceptionOfType(ClosedByInterruptException.class).isThrownBy(() -> read(x, 2));
+            } finally {
+                Thread.interrupted();
+            }
+
+            assertThat(x.isOpen()).isTrue();
+            assertThat(read(x, 3)).isEqualTo(4);
+        } finally {
+            x.close();
+        }
+
+        assertThat(x.isOpen()).isFalse();
+        assertThatExceptionOfType(ClosedChannelException.class).isThrownBy(() -> read(x, 0));
+    }
+
+    @Test
+    public void testNoReopen(@TempDir Path temp) throws IOException {
+        Path file = Files.write(temp.resolve("data.bin"), new byte[]{1, 2, 3, 4});
+
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            SharedChannel x = SharedChannel.of(channel);
+            assertThat(read(x, 0)).isEqualTo(1);
+
+            Thread.currentThread().interrupt();
+            try {
+                assertThatExceptionOfType(ClosedByInterruptException.class).isThrownBy(() -> read(x, 1));
+            } finally {
+                Thread.interrupted();
+            }
+
+            assertThat(x.isOpen()).isFalse();
+            assertThatExceptionOfType(ClosedChannelException.class).isThrownBy(() -> read(x, 0));
+        }
+    }
+
+    private static int read(SharedChannel channel, long position) throws IOException {
+        ByteBuffer result = ByteBuffer.allocate(1);
+        assertThat(channel.read(result, position)).isEqualTo(1);
+        return result.get(0);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.base;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.READ;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class ReadAheadPageReaderTest {
+
+    @Test
+    public void testRead(@TempDir Path temp) throws IOException {
+        int headerLength = 3;
+        int pageLength = 4;
+        int pageCount = 50;
+        byte[] content = new byte[headerLength + pageLength * pageCount];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(temp.resolve("data.bin"), content);
+
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            for (int depth = 1; depth < 5; depth++) {
+                try (ReadAheadPageReader x = ReadAheadPageReader.of(channel, headerLength, pageLength, pageCount, ByteOrder.LITTLE_ENDIAN, depth)) {
+                    for (int page = 0; page < pageCount; page++) {
+                        assertThat(x.read(page).getByte(0)).isEqualTo(content[headerLength + page * pageLength]);
+                    }
+                    for (int page : new int[]{7, 3, 4, 5, 49, 0, 1}) {
+                        assertThat(x.read(page).getByte(3)).isEqualTo(content[headerLength + page * pageLength + 3]);
+                    }
+                    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> x.read(pageCount));
+                    x.close();
+                    assertThatIOException().isThrownBy(() -> x.read(2));
+                }
+            }
+        }
+
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            try (FileChannel channel = FileChannel.open(file, READ)) {
+                ReadAheadPageReader.of(channel, headerLength, pageLength, pageCount, ByteOrder.LITTLE_ENDIAN, 0);
+            }
+        });
+    }
+
+    @Test
+    public void testUnclosedReaders(@TempDir Path temp) throws IOException {
+        int headerLength = 3;
+        int pageLength = 4;
+        int pageCount = 20;
+        byte[] content = new byte[headerLength + pageLength * pageCount];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(temp.resolve("data.bin"), content);
+
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            List<ReadAheadPageReader> unclosed = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                ReadAheadPageReader x = ReadAheadPageReader.of(channel, headerLength, pageLength, pageCount, ByteOrder.LITTLE_ENDIAN, 2);
+                assertThat(x.read(i % pageCount).getByte(0)).isEqualTo(content[headerLength + (i % pageCount) * pageLength]);
+                unclosed.add(x);
+            }
+            for (ReadAheadPageReader x : unclosed) {
+                assertThat(x.read(pageCount - 1).getByte(1)).isEqualTo(content[headerLength + (pageCount - 1) * pageLength + 1]);
+            }
+        }
+
+        assertThat(Thread.getAllStackTraces().keySet())
+                .filteredOn(thread -> thread.getName().equals("sasquatch-read-ahead"))
+                .hasSizeLessThanOrEqualTo(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+}
@@ -19,6 +19,8 @@ package internal.ri.base;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
 
@@ -53,5 +55,28 @@ public class SasCalendarTest {
         assertThat(SasCalendar.getTime(1)).isEqualTo(LocalTime.of(0, 0, 1));
         assertThat(SasCalendar.getTime(Double.NaN)).isNull();
         assertThat(SasCalendar.getTime(0.123)).isEqualTo(LocalTime.of(0, 0, 0, 123000000));
+        assertThat(SasCalendar.getTime(-1)).isEqualTo(LocalTime.of(23, 59, 59));
+        assertThat(SasCalendar.getTime(60 * 60 * 24 + 1)).isEqualTo(LocalTime.of(0, 0, 1));
+    }
+
+    @Test
+    public void testDateCache() {
+        assertThat(SasCalendar.getDate(100)).isSameAs(SasCalendar.getDate(100.5));
+        assertThat(SasCalendar.getDate(-1_000_000)).isEqualTo(LocalDate.of(1960, 1, 1).plusDays(-1_000_000));
+        assertThat(SasCalendar.getDate(1_000_000)).isEqualTo(LocalDate.of(1960, 1, 1).plusDays(1_000_000));
+    }
+
+    @Test
+    public void testConsistency() {
+        LocalDate dateEpoch = LocalDate.of(1960, 1, 1);
+        LocalDateTime dateTimeEpoch = dateEpoch.atStartOfDay();
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            double days = (random.nextDouble() - 0.5) * 200_000;
+            assertThat(SasCalendar.getDate(days)).isEqualTo(dateEpoch.plusDays((long) days));
+            double seconds = days * 86_400;
+            assertThat(SasCalendar.getDateTime(seconds)).isEqualTo(dateTimeEpoch.plus((long) (seconds * 1000), ChronoUnit.MILLIS));
+            assertThat(SasCalendar.getTime(seconds)).isEqualTo(LocalTime.MIDNIGHT.plus((long) (seconds * 1000), ChronoUnit.MILLIS));
+        }
     }
 }
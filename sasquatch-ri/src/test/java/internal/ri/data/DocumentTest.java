@@ -23,9 +23,12 @@ import static internal.ri.data.ColType.NUMERIC;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Iterator;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import org.junit.jupiter.api.Test;
+import sasquatch.samples.SasResources;
 import static sasquatch.samples.SasResources.BIG_32;
 import static sasquatch.samples.SasResources.BIG_64;
 import static sasquatch.samples.SasResources.LITTLE_32;
@@ -138,6 +141,37 @@ public class DocumentTest {
         assertColumn(NUMERIC, 8, "Column5", "", "BEST", doc, 4);
     }
 
+    @Test
+    public void testParseMetaData() throws IOException {
+        Charset charset = StandardCharsets.ISO_8859_1;
+        for (Iterator<Path> iter = SasResources.all().iterator(); iter.hasNext();) {
+            Path file = iter.next();
+            Document expected = parseOrNull(file);
+            if (expected != null) {
+                Document actual = Document.parseMetaData(file);
+                assertThat(actual)
+                        .describedAs(file.toString())
+                        .usingRecursiveComparison()
+                        .ignoringFields("colTextList", "rowIndexList")
+                        .isEqualTo(expected);
+                assertThat(actual.getRowIndexList()).isEmpty();
+                for (int j = 0; j < expected.getColSize().getCount(); j++) {
+                    assertThat(actual.getColumnName(j, charset)).isEqualTo(expected.getColumnName(j, charset));
+                    assertThat(actual.getColumnLabel(j, charset)).isEqualTo(expected.getColumnLabel(j, charset));
+                    assertThat(actual.getColumnFormatName(j, charset)).isEqualTo(expected.getColumnFormatName(j, charset));
+                }
+            }
+        }
+    }
+
+    private static Document parseOrNull(Path file) {
+        try {
+            return Document.parse(file);
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
     private static void assertColumn(ColType type, int length, String name, String label, String format, Document doc, int columnIndex) {
         assertThat(doc.getColAttrList().get(columnIndex).getType().get()).isEqualTo(type);
         assertThat(doc.getColAttrList().get(columnIndex).getLength()).isEqualTo(length);
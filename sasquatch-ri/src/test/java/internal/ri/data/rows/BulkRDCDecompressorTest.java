@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.bytes.Bytes;
+import internal.ri.base.PageReader;
+import internal.ri.data.Compression;
+import internal.ri.data.Document;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import sasquatch.samples.SasResources;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class BulkRDCDecompressorTest {
+
+    @Test
+    public void testSamples() throws IOException {
+        for (Iterator<Path> iter = SasResources.all().iterator(); iter.hasNext();) {
+            Path file = iter.next();
+            Document doc = parseOrNull(file);
+            if (doc != null && doc.getCompression().isKnownAs(Compression.BIN)) {
+                assertThat(readAll(file, doc, BulkRDCDecompressor.INSTANCE))
+                        .describedAs(file.toString())
+                        .containsExactlyElementsOf(readAll(file, doc, RDCDecompressor.INSTANCE));
+            }
+            if (doc != null && doc.getCompression().isKnownAs(Compression.CHAR)) {
+                assertThat(readAll(file, doc, BulkRLEDecompressor.INSTANCE))
+                        .describedAs(file.toString())
+                        .containsExactlyElementsOf(readAll(file, doc, RLEDecompressor.INSTANCE));
+            }
+        }
+    }
+
+    @Test
+    public void testEquivalence() {
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            ByteArrayOutputStream input = new ByteArrayOutputStream();
+            int length = randomInput(random, input);
+            byte[] src = input.toByteArray();
+            for (int limit : new int[]{length, random.nextInt(length + 1)}) {
+                assertThat(uncompress(BulkRDCDecompressor.INSTANCE, src, length, limit))
+                        .isEqualTo(uncompress(RDCDecompressor.INSTANCE, src, length, limit));
+            }
+        }
+    }
+
+    @Test
+    public void testLimit() {
+        // three literals, a long run of 19 'x' and three literals
+        byte[] src = {0x10, 0x00, 'a', 'b', 'c', 0x10, 0x00, 'x', 'd', 'e', 'f'};
+        String run = "xxxxxxxxxxxxxxxxxxx";
+
+        for (Decompressor decompressor : new Decompressor[]{RDCDecompressor.INSTANCE, BulkRDCDecompressor.INSTANCE}) {
+            assertThat(uncompress(decompressor, src, 25, 25)).asString().isEqualTo("abc" + run + "def");
+            assertThat(uncompress(decompressor, src, 25, 0)).isEqualTo(new byte[25]);
+            assertThat(uncompress(decompressor, src, 25, 2)).asString().isEqualTo("ab" + zeros(23));
+            assertThat(uncompress(decompressor, src, 25, 4)).asString().isEqualTo("abc" + run + zeros(3));
+            assertThat(uncompress(decompressor, src, 25, 22)).asString().isEqualTo("abc" + run + zeros(3));
+            assertThat(uncompress(decompressor, src, 25, 23)).asString().isEqualTo("abc" + run + "d" + zeros(2));
+        }
+
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            ByteArrayOutputStream input = new ByteArrayOutputStream();
+            int length = randomInput(random, input);
+            byte[] full = uncompress(BulkRDCDecompressor.INSTANCE, input.toByteArray(), length, length);
+            int limit = random.nextInt(length + 1);
+            byte[] partial = uncompress(BulkRDCDecompressor.INSTANCE, input.toByteArray(), length, limit);
+            assertThat(Arrays.copyOf(partial, limit)).isEqualTo(Arrays.copyOf(full, limit));
+            // no code produces more than 4114 bytes
+            int end = Math.min(length, limit + 4114);
+            assertThat(Arrays.copyOfRange(partial, end, length)).isEqualTo(new byte[length - end]);
+        }
+    }
+
+    private static String zeros(int length) {
+        return new String(new char[length]);
+    }
+
+    private static Document parseOrNull(Path file) {
+        try (SeekableByteChannel sbc = Files.newByteChannel(file, READ)) {
+            return Document.parse(sbc);
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static List<String> readAll(Path file, Document doc, Decompressor decompressor) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (SeekableByteChannel sbc = Files.newByteChannel(file, READ)) {
+            RowCursor cursor = CompressedForwardingCursor.of(PageReader.ofChannel(sbc, doc.getHeader()), doc.getHeader(), doc.getRowSize(), decompressor);
+            while (cursor.next()) {
+                result.add(Arrays.toString(cursor.getBytes().toArray()));
+            }
+        } catch (IOException | RuntimeException ex) {
+            result.add(ex.getClass().getName());
+        }
+        return result;
+    }
+
+    private static byte[] uncompress(Decompressor decompressor, byte[] input, int length, int limit) {
+        byte[] result = new byte[length];
+        decompressor.uncompress(Bytes.wrap(input, ByteOrder.nativeOrder()), 0, Bytes.wrap(result, ByteOrder.nativeOrder()), input.length, limit);
+        return result;
+    }
+
+    private static int randomInput(Random random, ByteArrayOutputStream input) {
+        int result = 0;
+        for (int group = random.nextInt(8); group >= 0; group--) {
+            int ctrlBits = 0;
+            ByteArrayOutputStream items = new ByteArrayOutputStream();
+            for (int bit = 15; bit >= 0; bit--) {
+                int code = result < 3 ? -1 : random.nextInt(5) - 1;
+                if (code >= 0) {
+                    ctrlBits |= 1 << bit;
+                }
+                switch (code) {
+                    case -1:
+                        items.write(random.nextInt(256));
+                        result += 1;
+                        break;
+                    case 0: {
+                        int low = random.nextInt(16);
+                        items.write(low);
+                        items.write(random.nextInt(256));
+                        result += 3 + low;
+                        break;
+                    }
+                    case 1: {
+                        int repeat = random.nextInt(4096);
+                        items.write(0x10 | (repeat & 0x0F));
+                        items.write(repeat >> 4);
+                        items.write(random.nextInt(256));
+                        result += 19 + repeat;
+                        break;
+                    }
+                    case 2: {
+                        int offset = random.nextInt(Math.min(result - 2, 4096));
+                        int length = random.nextInt(256);
+                        items.write(0x20 | (offset & 0x0F));
+                        items.write(offset >> 4);
+                        items.write(length);
+                        result += 16 + length;
+                        break;
+                    }
+                    default: {
+                        int offset = random.nextInt(Math.min(result - 2, 4096));
+                        int length = 3 + random.nextInt(13);
+                        items.write(length << 4 | (offset & 0x0F));
+                        items.write(offset >> 4);
+                        result += length;
+                        break;
+                    }
+                }
+            }
+            input.write(ctrlBits >> 8);
+            input.write(ctrlBits & 0xFF);
+            byte[] bytes = items.toByteArray();
+            input.write(bytes, 0, bytes.length);
+        }
+        return result;
+    }
+}
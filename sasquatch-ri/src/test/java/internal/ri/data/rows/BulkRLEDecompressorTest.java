@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.bytes.Bytes;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteOrder;
+import java.util.Random;
+import static internal.ri.data.rows.RLEDecompressor.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class BulkRLEDecompressorTest {
+
+    @Test
+    public void testEquivalence() {
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            ByteArrayOutputStream input = new ByteArrayOutputStream();
+            int length = randomInput(random, input);
+            byte[] src = input.toByteArray();
+            for (int limit : new int[]{length, random.nextInt(length + 1)}) {
+                assertThat(uncompress(BulkRLEDecompressor.INSTANCE, src, length, limit))
+                        .isEqualTo(uncompress(RLEDecompressor.INSTANCE, src, length, limit));
+            }
+        }
+    }
+
+    @Test
+    public void testOffsets() {
+        byte[] row = {(byte) 0x87, 1, 2, 3, 4, 5, 6, 7, 8, (byte) 0xF2};
+        byte[] page = new byte[row.length + 10];
+        System.arraycopy(row, 0, page, 5, row.length);
+
+        Bytes src = (Bytes) Bytes.wrap(page, ByteOrder.nativeOrder()).slice(2, 15);
+        Bytes dst = Bytes.allocate(12, ByteOrder.nativeOrder());
+        BulkRLEDecompressor.INSTANCE.uncompress(src, 3, dst, row.length);
+
+        assertThat(dst.toArray()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 0, 0, 0, 0);
+    }
+
+    private static byte[] uncompress(Decompressor decompressor, byte[] input, int length, int limit) {
+        byte[] result = new byte[length];
+        decompressor.uncompress(Bytes.wrap(input, ByteOrder.nativeOrder()), 0, Bytes.wrap(result, ByteOrder.nativeOrder()), input.length, limit);
+        return result;
+    }
+
+    private static int randomInput(Random random, ByteArrayOutputStream input) {
+        int result = 0;
+        for (int i = random.nextInt(20); i >= 0; i--) {
+            int command = COMMANDS[random.nextInt(COMMANDS.length)];
+            int low = random.nextInt(16);
+            input.write(command << 4 | low);
+            switch (command) {
+                case COPY_64_LONG: {
+                    int size = random.nextInt(256);
+                    input.write(size);
+                    result += randomBytes(random, input, 64 + size);
+                    break;
+                }
+                case INSERT_BYTE_LONG: {
+                    int size = random.nextInt(256);
+                    input.write(size);
+                    input.write(random.nextInt(256));
+                    result += 18 + size;
+                    break;
+                }
+                case INSERT_AT_LONG:
+                case INSERT_BLANK_LONG:
+                case INSERT_ZERO_LONG: {
+                    int size = random.nextInt(256);
+                    input.write(size);
+                    result += 17 + size;
+                    break;
+                }
+                case COPY_1_SHORT:
+                case COPY_17_SHORT:
+                case COPY_33_SHORT:
+                case COPY_49_SHORT:
+                    result += randomBytes(random, input, 1 + 16 * (command - COPY_1_SHORT) + low);
+                    break;
+                case INSERT_BYTE_SHORT:
+                    input.write(random.nextInt(256));
+                    result += 3 + low;
+                    break;
+                default:
+                    result += 2 + low;
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private static int randomBytes(Random random, ByteArrayOutputStream input, int size) {
+        for (int i = 0; i < size; i++) {
+            input.write(random.nextInt(256));
+        }
+        return size;
+    }
+
+    private static final byte[] COMMANDS = {
+        COPY_64_LONG, INSERT_BYTE_LONG, INSERT_AT_LONG, INSERT_BLANK_LONG, INSERT_ZERO_LONG,
+        COPY_1_SHORT, COPY_17_SHORT, COPY_33_SHORT, COPY_49_SHORT,
+        INSERT_BYTE_SHORT, INSERT_AT_SHORT, INSERT_BLANK_SHORT, INSERT_ZERO_SHORT
+    };
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.ri.base.PageCursor;
+import internal.ri.base.PageHeader;
+import internal.ri.base.PageReader;
+import internal.ri.base.RowIndex;
+import internal.ri.base.SubHeaderLocation;
+import internal.ri.base.SubHeaderPointer;
+import internal.ri.data.Document;
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.READ;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import static sasquatch.samples.SasResources.LITTLE_64_BIN;
+import static sasquatch.samples.SasResources.LITTLE_64_CHAR;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class CompressedRowIndexTest {
+
+    @Test
+    public void testCheckpoints() throws IOException {
+        for (Path file : new Path[]{LITTLE_64_BIN, LITTLE_64_CHAR}) {
+            assertCheckpoints(file);
+        }
+    }
+
+    static void assertCheckpoints(Path file) throws IOException {
+        Document doc = Document.parse(file);
+        try (SeekableByteChannel sbc = Files.newByteChannel(file, READ)) {
+            PageCursor pageCursor = PageCursor.of(PageReader.ofChannel(sbc, doc.getHeader()), doc.getHeader());
+            int count = doc.getRowSize().getCount();
+
+            CompressedRowIndex expected = CompressedRowIndex.of(doc.getHeader(), doc.getRowSize());
+            expected.ensure(pageCursor, count - 1);
+
+            List<RowIndex> oneBased = new ArrayList<>();
+            List<RowIndex> zeroBased = new ArrayList<>();
+            List<RowIndex> shifted = new ArrayList<>();
+            for (int row = count - 1; row >= 0; row -= Math.max(1, count / 5)) {
+                SubHeaderLocation location = locate(pageCursor, doc, expected, row);
+                oneBased.add(new RowIndex(location, row + 1, location));
+                zeroBased.add(new RowIndex(location, row, location));
+                shifted.add(new RowIndex(location, row + 3, location));
+            }
+
+            for (List<RowIndex> checkpoints : Arrays.asList(oneBased, zeroBased)) {
+                CompressedRowIndex x = CompressedRowIndex.of(doc.getHeader(), doc.getRowSize(), checkpoints);
+                assertSameRows(pageCursor, expected, x, count);
+                assertThat(x.getSize()).isLessThanOrEqualTo(count / 2 + 2);
+            }
+
+            assertSameRows(pageCursor, expected, CompressedRowIndex.of(doc.getHeader(), doc.getRowSize(), shifted), count);
+
+            for (int i = 0; i < oneBased.size() - 1; i++) {
+                List<RowIndex> skewed = new ArrayList<>(oneBased);
+                RowIndex entry = skewed.get(i);
+                skewed.set(i, new RowIndex(entry.getLocation(), entry.getRowNumber() + 1, entry.getLastRowLocation()));
+                assertSameRows(pageCursor, expected, CompressedRowIndex.of(doc.getHeader(), doc.getRowSize(), skewed), count);
+            }
+
+            SubHeaderLocation outOfRange = new SubHeaderLocation(doc.getHeader().getPageCount() + 10, 0);
+            List<RowIndex> invalid = Arrays.asList(new RowIndex(outOfRange, count, outOfRange), new RowIndex(outOfRange, count * 2, outOfRange));
+            assertSameRows(pageCursor, expected, CompressedRowIndex.of(doc.getHeader(), doc.getRowSize(), invalid), count);
+        }
+    }
+
+    private static void assertSameRows(PageCursor pageCursor, CompressedRowIndex expected, CompressedRowIndex actual, int count) throws IOException {
+        for (int row : new int[]{count - 1, count / 2, count / 2 + 1, 0, count - 2, count / 3}) {
+            if (0 <= row && row < count) {
+                actual.ensure(pageCursor, row);
+                assertThat(actual.getPage(row)).isEqualTo(expected.getPage(row));
+                assertThat(actual.getOffset(row)).isEqualTo(expected.getOffset(row));
+                assertThat(actual.getLength(row)).isEqualTo(expected.getLength(row));
+            }
+        }
+    }
+
+    private static SubHeaderLocation locate(PageCursor pageCursor, Document doc, CompressedRowIndex index, int row) throws IOException {
+        boolean u64 = doc.getHeader().isU64();
+        pageCursor.moveTo(index.getPage(row));
+        PageHeader page = PageHeader.parse(pageCursor.getBytes(), u64, pageCursor.getIndex());
+        for (int i = 0; i < page.getSubHeaderCount(); i++) {
+            SubHeaderPointer pointer = SubHeaderPointer.parse(pageCursor.getBytes(), u64, page.getSubHeaderLocation(i));
+            if (pointer.getOffset() == index.getOffset(row) && pointer.getLength() == index.getLength(row)) {
+                return pointer.getLocation();
+            }
+        }
+        throw new AssertionError("Row not found: " + row);
+    }
+}
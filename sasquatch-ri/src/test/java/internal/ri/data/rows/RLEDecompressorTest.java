@@ -43,6 +43,19 @@ public class RLEDecompressorTest {
         assertThat(encode(output)).isEqualTo(outputString);
     }
 
+    @Test
+    public void testLimit() {
+        RLEDecompressor c = RLEDecompressor.INSTANCE;
+
+        String inputString = "87" + "0102030405060708" + "F2" + "8A" + "0102030405060708091011" + "D0";
+
+        byte[] input = decode(inputString);
+        byte[] output = new byte[25];
+        c.uncompress(Bytes.wrap(input, ByteOrder.nativeOrder()), 0, Bytes.wrap(output, ByteOrder.nativeOrder()), input.length, 10);
+
+        assertThat(encode(output)).isEqualTo("0102030405060708" + "00000000" + "0000000000000000000000" + "0000");
+    }
+
     private static byte[] uncompress(Decompressor decompressor, byte[] input, int length) {
         byte[] result = new byte[length];
         decompressor.uncompress(Bytes.wrap(input, ByteOrder.nativeOrder()), 0, Bytes.wrap(result, ByteOrder.nativeOrder()), input.length);
@@ -16,18 +16,35 @@
  */
 package internal.ri.data.rows;
 
+import internal.bytes.Bytes;
 import internal.ri.base.Encoding;
+import internal.ri.base.Header;
+import internal.ri.base.PageHeader;
+import internal.ri.base.SubHeaderFormat;
+import internal.ri.base.SubHeaderLocation;
+import internal.ri.base.SubHeaderPointer;
 import internal.ri.data.Document;
 import internal.ri.data.rows.ValueReader.NumberReader;
 import internal.ri.data.rows.ValueReader.StringReader;
 import static internal.ri.data.rows.ValueReader.numberReader;
 import static internal.ri.data.rows.ValueReader.stringReader;
+import internal.ri.data.Compression;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sasquatch.samples.SasResources;
 import static sasquatch.samples.SasResources.LITTLE_32;
 import static sasquatch.samples.SasResources.LITTLE_64_CHAR;
 
@@ -84,4 +101,158 @@ public class RowCursorTest {
             assertThat(cpt).isEqualTo(cursor.getCount()).isEqualTo(10);
         }
     }
+
+    @Test
+    public void testCompressedLastSubHeader(@TempDir Path temp) throws IOException {
+        List<Path> files = SasResources.all().collect(Collectors.toList());
+        int hits = 0;
+        for (Path file : files) {
+            if (assertLastSubHeader(file, temp.resolve("copy.sas7bdat"))) {
+                hits++;
+            }
+        }
+        assertThat(hits).isPositive();
+    }
+
+    /**
+     * Checks that the rows of a compressed page stop at its last subheader
+     * pointer. A copy of the file is modified so that the slot following the
+     * last pointer of a page looks like a row.
+     *
+     * @param file a sample file
+     * @param copy the path of the modified copy
+     * @return false if the file cannot be modified to hit the case
+     * @throws IOException
+     */
+    static boolean assertLastSubHeader(Path file, Path copy) throws IOException {
+        Document doc;
+        try {
+            doc = Document.parse(file);
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        }
+        if (!doc.getCompression().isKnown() || doc.getCompression().get() == Compression.NONE) {
+            return false;
+        }
+        List<byte[]> expected;
+        try {
+            expected = getAllRows(file);
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        }
+        Files.copy(file, copy, REPLACE_EXISTING);
+        if (!fakeRowAfterLastSubHeader(copy, doc)) {
+            return false;
+        }
+        assertThat(getAllRows(copy)).containsExactlyElementsOf(expected);
+        return true;
+    }
+
+    private static List<byte[]> getAllRows(Path file) throws IOException {
+        List<byte[]> result = new ArrayList<>();
+        try (SeekableByteChannel sbc = Files.newByteChannel(file, READ)) {
+            Document doc = Document.parse(sbc);
+            RowCursor cursor = RowCursor.of(sbc, doc);
+            while (cursor.next()) {
+                result.add(cursor.getBytes().getBytes(0, doc.getRowSize().getLength()));
+            }
+        }
+        return result;
+    }
+
+    private static boolean fakeRowAfterLastSubHeader(Path file, Document doc) throws IOException {
+        Header header = doc.getHeader();
+        boolean u64 = header.isU64();
+        SubHeaderLocation lastMeta = doc.getRowSize().getLastMeta();
+        try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+            int lastDataPage = -1;
+            for (int i = lastMeta.getPage(); i < header.getPageCount(); i++) {
+                if (CompressedForwardingCursor.hasData(readPage(channel, header, i), PageHeader.parse(readPage(channel, header, i), u64, i), u64)) {
+                    lastDataPage = i;
+                }
+            }
+            for (int i = lastMeta.getPage(); i < lastDataPage; i++) {
+                Bytes page = readPage(channel, header, i);
+                PageHeader pageHeader = PageHeader.parse(page, u64, i);
+                if (i == lastMeta.getPage() || CompressedForwardingCursor.hasData(page, pageHeader, u64)) {
+                    int first = i == lastMeta.getPage() ? lastMeta.getIndex() + 1 : 0;
+                    if (fakeRowAfterLastSubHeader(page, pageHeader, u64, first)) {
+                        writePage(channel, header, i, page);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean fakeRowAfterLastSubHeader(Bytes page, PageHeader pageHeader, boolean u64, int first) {
+        int count = pageHeader.getSubHeaderCount();
+        if (count - 1 <= first) {
+            return false;
+        }
+        SubHeaderPointer last = SubHeaderPointer.parse(page, u64, pageHeader.getSubHeaderLocation(count - 1));
+        SubHeaderPointer previous = SubHeaderPointer.parse(page, u64, pageHeader.getSubHeaderLocation(count - 2));
+        if (last.getFormat().isKnownAs(SubHeaderFormat.TRUNCATED)) {
+            if (!isRow(previous)) {
+                return false;
+            }
+            // drops the truncated pointer and replaces it by a copy of the previous row
+            copyPointer(page, u64, count - 2, count - 1);
+            putInt16(page, PageHeader.SEQ.getOffset(u64, 5), count - 1);
+            return true;
+        }
+        if (!isRow(last) || getPointerPosition(u64, count + 1) > getFirstContentOffset(page, pageHeader, u64)) {
+            return false;
+        }
+        // writes a copy of the last row in the free space after the pointers
+        copyPointer(page, u64, count - 1, count);
+        return true;
+    }
+
+    private static boolean isRow(SubHeaderPointer pointer) {
+        return pointer.hasContent() && !pointer.getFormat().isKnownAs(SubHeaderFormat.TRUNCATED);
+    }
+
+    private static int getFirstContentOffset(Bytes page, PageHeader pageHeader, boolean u64) {
+        int result = page.getLength();
+        for (int i = 0; i < pageHeader.getSubHeaderCount(); i++) {
+            SubHeaderPointer pointer = SubHeaderPointer.parse(page, u64, pageHeader.getSubHeaderLocation(i));
+            if (pointer.hasContent()) {
+                result = Math.min(result, pointer.getOffset());
+            }
+        }
+        return result;
+    }
+
+    private static int getPointerPosition(boolean u64, int index) {
+        return PageHeader.getHeadLength(u64) + (u64 ? 24 : 12) * index;
+    }
+
+    private static void copyPointer(Bytes page, boolean u64, int from, int to) {
+        byte[] pointer = page.getBytes(getPointerPosition(u64, from), u64 ? 24 : 12);
+        for (int i = 0; i < pointer.length; i++) {
+            page.putByte(getPointerPosition(u64, to) + i, pointer[i]);
+        }
+    }
+
+    private static void putInt16(Bytes page, int index, int value) {
+        byte[] bytes = ByteBuffer.allocate(2).order(page.getOrder()).putShort((short) value).array();
+        page.putByte(index, bytes[0]);
+        page.putByte(index + 1, bytes[1]);
+    }
+
+    private static Bytes readPage(FileChannel channel, Header header, int index) throws IOException {
+        Bytes result = Bytes.allocate(header.getPageLength(), header.getEndianness());
+        result.fillAt(channel, header.getLength() + (long) header.getPageLength() * index);
+        return result;
+    }
+
+    private static void writePage(FileChannel channel, Header header, int index, Bytes page) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(page.getBytes(0, page.getLength()));
+        long position = header.getLength() + (long) header.getPageLength() * index;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.ri.base.PageReader;
+import internal.ri.data.Document;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static sasquatch.samples.SasResources.LITTLE_32;
+import static sasquatch.samples.SasResources.LITTLE_64_BIN;
+import static sasquatch.samples.SasResources.LITTLE_64_CHAR;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class SidecarRowIndexTest {
+
+    @Test
+    public void testWriteRead(@TempDir Path temp) throws IOException {
+        for (Path file : new Path[]{LITTLE_64_BIN, LITTLE_64_CHAR}) {
+            Document doc = Document.parse(file);
+            SidecarRowIndex x = build(file, doc);
+            assertThat(x.getCount()).isEqualTo(doc.getRowSize().getCount());
+            assertThat(x.getOffsets()).hasSize(x.getCount());
+            assertThat(x.getFirstRows()).hasSameSizeAs(x.getPages()).startsWith(0).isSorted();
+
+            Path sidecar = SidecarRowIndex.getPath(temp.resolve(file.getFileName()));
+            assertThat(SidecarRowIndex.read(sidecar, doc)).isNull();
+
+            x.write(sidecar);
+            SidecarRowIndex y = SidecarRowIndex.read(sidecar, doc);
+            assertThat(y).isNotNull();
+            assertThat(y.getPages()).isEqualTo(x.getPages());
+            assertThat(y.getFirstRows()).isEqualTo(x.getFirstRows());
+            assertThat(y.getOffsets()).isEqualTo(x.getOffsets());
+            assertThat(y.getLengths()).isEqualTo(x.getLengths());
+
+            Document other = Document.parse(file == LITTLE_64_BIN ? LITTLE_64_CHAR : LITTLE_64_BIN);
+            assertThat(SidecarRowIndex.read(sidecar, other)).isNull();
+        }
+
+        Document uncompressed = Document.parse(LITTLE_32);
+        assertThat(SidecarRowIndex.isSupported(uncompressed)).isFalse();
+        assertThatIOException().isThrownBy(() -> build(LITTLE_32, uncompressed));
+    }
+
+    @Test
+    public void testReadInvalid(@TempDir Path temp) throws IOException {
+        Path file = LITTLE_64_BIN;
+        Document doc = Document.parse(file);
+        SidecarRowIndex x = build(file, doc);
+        assertThat(x.getPages()).hasSizeGreaterThan(1);
+
+        int pages = SidecarRowIndex.HEAD_LENGTH;
+        int firstRows = pages + x.getPages().length * Integer.BYTES;
+        int offsets = firstRows + x.getPages().length * Integer.BYTES;
+        int lengths = offsets + x.getCount() * Integer.BYTES;
+        int pageLength = doc.getHeader().getPageLength();
+        int pageCount = doc.getHeader().getPageCount();
+
+        Path sidecar = SidecarRowIndex.getPath(temp.resolve(file.getFileName()));
+        x.write(sidecar);
+        byte[] valid = Files.readAllBytes(sidecar);
+        assertThat(SidecarRowIndex.read(sidecar, doc)).isNotNull();
+
+        assertThat(readCorrupted(sidecar, doc, valid, SidecarRowIndex.HEAD_LENGTH - Integer.BYTES, pageCount + 1)).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, pages, -1)).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, pages, pageCount)).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, pages + Integer.BYTES, x.getPages()[0])).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, firstRows, 1)).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, firstRows + Integer.BYTES, 0)).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, firstRows + Integer.BYTES, x.getCount())).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, offsets, -1)).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, offsets, pageLength)).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, lengths, -1)).isNull();
+        assertThat(readCorrupted(sidecar, doc, valid, lengths, pageLength)).isNull();
+
+        assertThat(readCorrupted(sidecar, doc, valid, pages, x.getPages()[0])).isNotNull();
+    }
+
+    private static SidecarRowIndex readCorrupted(Path sidecar, Document doc, byte[] valid, int position, int value) throws IOException {
+        Files.write(sidecar, ByteBuffer.wrap(valid.clone()).putInt(position, value).array());
+        return SidecarRowIndex.read(sidecar, doc);
+    }
+
+    private static SidecarRowIndex build(Path file, Document doc) throws IOException {
+        try (SeekableByteChannel sbc = Files.newByteChannel(file, READ)) {
+            return SidecarRowIndex.build(PageReader.ofChannel(sbc, doc.getHeader()), doc);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package internal.ri.data.rows;
+
+import internal.bytes.Bytes;
+import internal.ri.data.rows.ValueReader.AsciiStringReader;
+import internal.ri.data.rows.ValueReader.DecoderStringReader;
+import internal.ri.data.rows.ValueReader.DictionaryStringReader;
+import internal.ri.data.rows.ValueReader.StringReader;
+import internal.ri.data.rows.ValueReader.TableStringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class ValueReaderTest {
+
+    @Test
+    public void testDictionaryStringReader() {
+        Charset charset = StandardCharsets.US_ASCII;
+
+        StringReader reader = ValueReader.dictionaryStringReader(2, 4, charset);
+        assertThat(reader).isInstanceOf(DictionaryStringReader.class);
+        assertThat(reader.read(row("xxab  ", charset))).isEqualTo("ab");
+        assertThat(reader.read(row("yyab  ", charset)))
+                .isEqualTo("ab")
+                .isSameAs(reader.read(row("zzab  ", charset)));
+        assertThat(reader.read(row("xx    ", charset))).isNull();
+        assertThat(reader.read(row("xxcd  ", charset))).isEqualTo("cd");
+
+        char[] dst = new char[4];
+        assertThat(reader.readChars(row("xxcd  ", charset), dst)).isEqualTo(2);
+        assertThat(dst).startsWith('c', 'd');
+        assertThat(reader.readChars(row("xx    ", charset), dst)).isEqualTo(-1);
+
+        assertThat(ValueReader.dictionaryStringReader(0, DictionaryStringReader.MAX_KEY_LENGTH + 1, charset))
+                .isNotInstanceOf(DictionaryStringReader.class);
+    }
+
+    @Test
+    public void testDictionaryStringReaderWithLowHitRate() {
+        Charset charset = StandardCharsets.US_ASCII;
+
+        DictionaryStringReader reader = (DictionaryStringReader) ValueReader.dictionaryStringReader(0, 8, charset);
+        for (int i = 0; i < DictionaryStringReader.CHECK_INTERVAL * 2; i++) {
+            String value = String.format(Locale.ROOT, "%08d", i);
+            assertThat(reader.read(row(value, charset))).isEqualTo(value);
+        }
+        assertThat(reader.isEnabled()).isFalse();
+
+        reader = (DictionaryStringReader) ValueReader.dictionaryStringReader(0, 8, charset);
+        for (int i = 0; i < DictionaryStringReader.CHECK_INTERVAL * 2; i++) {
+            String value = String.format(Locale.ROOT, "%08d", i % 10);
+            assertThat(reader.read(row(value, charset))).isEqualTo(value);
+        }
+        assertThat(reader.isEnabled()).isTrue();
+    }
+
+    @Test
+    public void testStringReader() {
+        assertThat(ValueReader.stringReader(0, 4, StandardCharsets.UTF_8))
+                .isInstanceOf(AsciiStringReader.class);
+        assertThat(ValueReader.stringReader(0, 4, Charset.forName("WINDOWS-1252")))
+                .isInstanceOf(TableStringReader.class);
+        assertThat(ValueReader.stringReader(0, 4, StandardCharsets.UTF_16))
+                .isInstanceOf(DecoderStringReader.class);
+
+        for (String name : new String[]{"UTF-8", "US-ASCII", "WINDOWS-1252", "ISO-8859-1", "ISO-8859-15"}) {
+            Charset charset = Charset.forName(name);
+            StringReader reader = ValueReader.stringReader(1, 8, charset);
+            assertThat(reader.read(row(" \u00e9t\u00e9 \u20ac    ", charset)))
+                    .isEqualTo(decode(" \u00e9t\u00e9 \u20ac    ".getBytes(charset), 1, 8, charset));
+            assertThat(reader.read(row("x  ab    ", charset))).isEqualTo("ab");
+            assertThat(reader.read(row("x        ", charset))).isNull();
+        }
+    }
+
+    @Test
+    public void testStringReaderPadding() {
+        for (String name : new String[]{"UTF-8", "WINDOWS-1252", "IBM037", "UTF-16LE"}) {
+            Charset charset = Charset.forName(name);
+            int length = "  ab c\u0000\u0000   ".getBytes(charset).length;
+            StringReader reader = ValueReader.stringReader(0, length, charset);
+            assertThat(reader.read(row("  ab c\u0000\u0000   ", charset))).isEqualTo("ab c");
+            assertThat(reader.isMissing(row("  ab c\u0000\u0000   ", charset))).isFalse();
+            assertThat(reader.read(row("   \u0000\u0000      ", charset))).isNull();
+            assertThat(reader.isMissing(row("   \u0000\u0000      ", charset))).isTrue();
+        }
+    }
+
+    @Test
+    public void testStringReaderWithStatefulCharset() {
+        for (String name : new String[]{"UTF-8", "US-ASCII", "WINDOWS-1252", "Shift_JIS", "EUC-KR", "GBK"}) {
+            assertThat(ValueReader.isByteTrimmable(Charset.forName(name))).as(name).isTrue();
+        }
+        for (String name : new String[]{"ISO-2022-JP", "ISO-2022-KR", "ISO-2022-CN", "UTF-16LE", "IBM037"}) {
+            assertThat(ValueReader.isByteTrimmable(Charset.forName(name))).as(name).isFalse();
+        }
+
+        for (String name : new String[]{"ISO-2022-JP", "ISO-2022-KR"}) {
+            Charset charset = Charset.forName(name);
+            String value = name.endsWith("JP") ? "\u65e5\u672c" : "\ud55c\uad6d";
+            for (String text : new String[]{value, "  " + value + "   ", " a" + value + "b "}) {
+                int length = text.getBytes(charset).length;
+                StringReader reader = ValueReader.stringReader(0, length, charset);
+                String expected = text.trim();
+                assertThat(reader.read(row(text, charset))).isEqualTo(expected);
+                assertThat(reader.isMissing(row(text, charset))).isFalse();
+                assertThat(reader.readChars(row(text, charset))).hasToString(expected);
+                char[] dst = new char[length];
+                assertThat(new String(dst, 0, reader.readChars(row(text, charset), dst))).isEqualTo(expected);
+                assertThat(charset.decode(reader.readEncoded(row(text, charset))).toString()).isEqualTo(expected);
+            }
+            StringReader reader = ValueReader.stringReader(0, 6, charset);
+            assertThat(reader.read(row("      ", charset))).isNull();
+            assertThat(reader.isMissing(row("      ", charset))).isTrue();
+        }
+    }
+
+    @Test
+    public void testStringReaderViews() {
+        for (String name : new String[]{"UTF-8", "WINDOWS-1252", "IBM037", "UTF-16LE"}) {
+            Charset charset = Charset.forName(name);
+            for (String text : new String[]{"  ab c   ", " \u00e9t\u00e9   ", "         "}) {
+                int length = text.getBytes(charset).length;
+                StringReader reader = ValueReader.stringReader(0, length, charset);
+                String expected = reader.read(row(text, charset));
+                CharSequence chars = reader.readChars(row(text, charset));
+                ByteBuffer encoded = reader.readEncoded(row(text, charset));
+                char[] dst = new char[length];
+                int dstLength = reader.readChars(row(text, charset), dst);
+                if (expected == null) {
+                    assertThat(chars).isNull();
+                    assertThat(encoded).isNull();
+                    assertThat(dstLength).isEqualTo(-1);
+                } else {
+                    assertThat(chars).hasToString(expected);
+                    assertThat(new String(dst, 0, dstLength)).isEqualTo(expected);
+                    assertThat(chars.subSequence(1, chars.length())).hasToString(expected.substring(1));
+                    assertThat(encoded.isReadOnly()).isTrue();
+                    assertThat(charset.decode(encoded).toString()).isEqualTo(expected);
+                }
+            }
+        }
+
+        StringReader reader = ValueReader.stringReader(0, 8, StandardCharsets.US_ASCII);
+        assertThat(reader.readChars(row(" ab     ", StandardCharsets.US_ASCII)))
+                .isInstanceOf(ValueReader.BytesCharSequence.class)
+                .hasToString("ab");
+    }
+
+    @Test
+    public void testStringReaderEquivalence() {
+        Random random = new Random(0);
+        for (String name : new String[]{"UTF-8", "US-ASCII", "WINDOWS-1252", "ISO-8859-1", "ISO-8859-7"}) {
+            Charset charset = Charset.forName(name);
+            StringReader reader = ValueReader.stringReader(0, 16, charset);
+            for (int i = 0; i < 1000; i++) {
+                byte[] bytes = new byte[16];
+                for (int j = 0; j < bytes.length; j++) {
+                    bytes[j] = (byte) (random.nextInt(4) == 0 ? random.nextInt(256) : ' ' + random.nextInt(95));
+                }
+                String expected;
+                try {
+                    expected = decode(bytes, 0, bytes.length, charset);
+                } catch (RuntimeException ex) {
+                    assertThatExceptionOfType(RuntimeException.class)
+                            .isThrownBy(() -> reader.read(Bytes.wrap(bytes, ByteOrder.LITTLE_ENDIAN)));
+                    continue;
+                }
+                assertThat(reader.read(Bytes.wrap(bytes, ByteOrder.LITTLE_ENDIAN))).isEqualTo(expected);
+            }
+        }
+    }
+
+    private static String decode(byte[] bytes, int offset, int length, Charset charset) {
+        try {
+            String result = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.IGNORE)
+                    .decode(ByteBuffer.wrap(bytes, offset, length))
+                    .toString()
+                    .trim();
+            return result.isEmpty() ? null : result;
+        } catch (CharacterCodingException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static Bytes row(String text, Charset charset) {
+        return Bytes.wrap(text.getBytes(charset), ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import internal.bytes.Bytes;
+import internal.bytes.BytesReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import sasquatch.SasColumn;
+import sasquatch.SasColumnType;
+import sasquatch.SasForwardCursor;
+import sasquatch.SasMetaData;
+import static sasquatch.ri.SasFilter.Operator.*;
+import static sasquatch.ri.SasFilter.*;
+import sasquatch.samples.SasResources;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class SasFilterTest {
+
+    @Test
+    public void testNumbers() {
+        BytesReader row = row(3.5, Double.NaN, 0, 0, 0, "");
+        assertThat(test(compare("num", EQ, 3.5), row)).isTrue();
+        assertThat(test(compare("num", NE, 3.5), row)).isFalse();
+        assertThat(test(compare("num", LT, 4), row)).isTrue();
+        assertThat(test(compare("num", GE, 4), row)).isFalse();
+        assertThat(test(compare("miss", EQ, 0), row)).isFalse();
+        assertThat(test(compare("miss", NE, 0), row)).isFalse();
+        assertThat(test(isMissing("miss"), row)).isTrue();
+        assertThat(test(isNotMissing("num"), row)).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> compare("num", EQ, Double.NaN));
+    }
+
+    @Test
+    public void testDates() {
+        BytesReader row = row(0, 0, 366.75, 86_400 + 3_600.5, 7_200.25, "");
+        assertThat(test(compare("date", EQ, LocalDate.of(1961, 1, 1)), row)).isTrue();
+        assertThat(test(compare("date", GT, LocalDate.of(1960, 12, 31)), row)).isTrue();
+        assertThat(test(compare("datetime", EQ, LocalDateTime.of(1960, 1, 2, 1, 0, 0, 500_000_000)), row)).isTrue();
+        assertThat(test(compare("datetime", LT, LocalDateTime.of(1960, 1, 2, 1, 0)), row)).isFalse();
+        assertThat(test(compare("time", EQ, LocalTime.of(2, 0, 0, 250_000_000)), row)).isTrue();
+        assertThat(test(compare("time", LE, LocalTime.of(1, 0)), row)).isFalse();
+        assertThat(test(compare("date", EQ, 366.75), row)).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> compile(compare("date", EQ, LocalTime.NOON)));
+    }
+
+    @Test
+    public void testStrings() {
+        BytesReader row = row(0, 0, 0, 0, 0, " abc");
+        assertThat(test(compare("str", EQ, "abc"), row)).isTrue();
+        assertThat(test(compare("str", EQ, " abc  "), row)).isTrue();
+        assertThat(test(compare("str", EQ, "ab"), row)).isFalse();
+        assertThat(test(compare("str", GT, "ab"), row)).isTrue();
+        assertThat(test(compare("str", LT, "abd"), row)).isTrue();
+        assertThat(test(isMissing("str"), row)).isFalse();
+        assertThat(test(isMissing("str"), row(0, 0, 0, 0, 0, "  "))).isTrue();
+        assertThat(test(compare("str", NE, "abc"), row(0, 0, 0, 0, 0, ""))).isFalse();
+        assertThatIllegalArgumentException().isThrownBy(() -> compile(compare("str", EQ, 1)));
+        assertThatIllegalArgumentException().isThrownBy(() -> compile(compare("num", EQ, "1")));
+    }
+
+    @Test
+    public void testStringsWithCharsets() {
+        Charset jp = Charset.forName("ISO-2022-JP");
+        BytesReader row = row("\u65e5", jp);
+        assertThat(test(compare("str", EQ, "\u65e5"), row, jp)).isTrue();
+        assertThat(test(compare("str", EQ, "\u672c"), row, jp)).isFalse();
+        assertThat(test(compare("str", LT, "\u65e5\u672c"), row, jp)).isTrue();
+        assertThat(test(compare("str", GE, "\u65e5\u672c"), row, jp)).isFalse();
+        assertThat(test(isMissing("str"), row, jp)).isFalse();
+        assertThat(test(isMissing("str"), row("  ", jp), jp)).isTrue();
+        assertThat(test(compare("str", NE, "x"), row("  ", jp), jp)).isFalse();
+
+        Charset utf8 = StandardCharsets.UTF_8;
+        row = row("\ud83d\ude00", utf8);
+        assertThat(test(compare("str", GT, "\uff61"), row, utf8)).isTrue();
+        assertThat(test(compare("str", EQ, "\ud83d\ude00"), row, utf8)).isTrue();
+
+        Charset latin1 = StandardCharsets.ISO_8859_1;
+        row = row("?", latin1);
+        assertThat(test(compare("str", EQ, "\u20ac"), row, latin1)).isFalse();
+        assertThat(test(compare("str", NE, "\u20ac"), row, latin1)).isTrue();
+        assertThat(test(compare("str", EQ, "?"), row, latin1)).isTrue();
+    }
+
+    @Test
+    public void testJunctions() {
+        BytesReader row = row(1, Double.NaN, 0, 0, 0, "x");
+        assertThat(test(and(compare("num", EQ, 1), isMissing("miss")), row)).isTrue();
+        assertThat(test(and(compare("num", EQ, 1), compare("str", EQ, "y")), row)).isFalse();
+        assertThat(test(or(compare("num", EQ, 2), compare("str", EQ, "x")), row)).isTrue();
+        assertThat(test(and(), row)).isTrue();
+        assertThat(test(or(), row)).isFalse();
+        assertThatIllegalArgumentException().isThrownBy(() -> compile(or(isMissing("unknown"))));
+    }
+
+    @Test
+    public void testReadForward() throws IOException {
+        SasquatchReader reader = new SasquatchReader();
+        List<Path> files = SasResources.all().collect(Collectors.toList());
+        for (Path file : files) {
+            assertReadForward(reader, file);
+        }
+    }
+
+    static void assertReadForward(SasquatchReader reader, Path file) throws IOException {
+        List<SasColumn> columns;
+        List<Row> rows = new ArrayList<>();
+        try (SasForwardCursor cursor = reader.readForward(file)) {
+            columns = cursor.getColumns();
+            while (cursor.next()) {
+                rows.add(Row.of(cursor, columns));
+            }
+        } catch (IOException | RuntimeException ex) {
+            // not supported by the reader
+            return;
+        }
+
+        for (SasColumnType type : SasColumnType.values()) {
+            columns.stream()
+                    .filter(column -> column.getType() == type)
+                    .filter(column -> columns.stream().filter(other -> other.getName().equals(column.getName())).count() == 1)
+                    .findFirst()
+                    .ifPresent(column -> {
+                        int j = column.getOrder();
+                        String name = column.getName();
+                        Map<SasFilter, Predicate<Row>> filters = new LinkedHashMap<>();
+                        filters.put(isMissing(name), row -> row.getMissing()[j]);
+                        filters.put(isNotMissing(name), row -> !row.getMissing()[j]);
+                        rows.stream()
+                                .skip(rows.size() / 2)
+                                .filter(row -> !row.getMissing()[j])
+                                .findFirst()
+                                .ifPresent(pivot -> filters.putAll(getComparisons(column, pivot)));
+                        filters.put(or(isMissing(name), and()), row -> true);
+                        filters.forEach((filter, expected) -> assertFilter(reader, file, filter, rows, expected));
+                    });
+        }
+    }
+
+    private static Map<SasFilter, Predicate<Row>> getComparisons(SasColumn column, Row pivot) {
+        int j = column.getOrder();
+        String name = column.getName();
+        Object value = pivot.getValues()[j];
+        Map<SasFilter, Predicate<Row>> result = new LinkedHashMap<>();
+        switch (column.getType()) {
+            case CHARACTER:
+                result.put(compare(name, EQ, (String) value), row -> !row.getMissing()[j] && row.getValues()[j].equals(value));
+                result.put(compare(name, NE, (String) value), row -> !row.getMissing()[j] && !row.getValues()[j].equals(value));
+                return result;
+            case DATE:
+                result.put(compare(name, LE, (LocalDate) value), row -> !row.getMissing()[j] && !((LocalDate) row.getValues()[j]).isAfter((LocalDate) value));
+                break;
+            case DATETIME:
+                result.put(compare(name, GT, (LocalDateTime) value), row -> !row.getMissing()[j] && ((LocalDateTime) row.getValues()[j]).isAfter((LocalDateTime) value));
+                break;
+            case TIME:
+                result.put(compare(name, LT, (LocalTime) value), row -> !row.getMissing()[j] && ((LocalTime) row.getValues()[j]).isBefore((LocalTime) value));
+                break;
+        }
+        double number = pivot.getNumbers()[j];
+        result.put(compare(name, GE, number), row -> !row.getMissing()[j] && row.getNumbers()[j] >= number);
+        result.put(compare(name, NE, number), row -> !row.getMissing()[j] && row.getNumbers()[j] != number);
+        return result;
+    }
+
+    private static void assertFilter(SasquatchReader reader, Path file, SasFilter filter, List<Row> rows, Predicate<Row> expected) {
+        List<Object[]> actual = new ArrayList<>();
+        try (SasForwardCursor cursor = reader.readForward(file, filter)) {
+            List<SasColumn> columns = cursor.getColumns();
+            while (cursor.next()) {
+                actual.add(Row.of(cursor, columns).getValues());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        assertThat(actual)
+                .describedAs("Rows of %s filtered by %s", file, filter)
+                .containsExactlyElementsOf(rows.stream().filter(expected).map(Row::getValues).collect(Collectors.toList()));
+    }
+
+    @lombok.Value
+    private static class Row {
+
+        Object[] values;
+        double[] numbers;
+        boolean[] missing;
+
+        static Row of(SasForwardCursor cursor, List<SasColumn> columns) throws IOException {
+            Object[] values = new Object[columns.size()];
+            double[] numbers = new double[columns.size()];
+            boolean[] missing = new boolean[columns.size()];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = cursor.getValue(j);
+                numbers[j] = columns.get(j).getType() != SasColumnType.CHARACTER ? cursor.getNumber(j) : Double.NaN;
+                missing[j] = cursor.isMissing(j);
+            }
+            return new Row(values, numbers, missing);
+        }
+    }
+
+    private static boolean test(SasFilter filter, BytesReader row) {
+        return compile(filter).test(row);
+    }
+
+    private static boolean test(SasFilter filter, BytesReader row, Charset charset) {
+        return filter.compile(META, new int[]{0, 8, 16, 24, 32, 40}, charset).test(row);
+    }
+
+    private static BytesReader row(String str, Charset charset) {
+        ByteBuffer result = ByteBuffer.allocate(48).order(ByteOrder.LITTLE_ENDIAN);
+        result.putDouble(0).putDouble(0).putDouble(0).putDouble(0).putDouble(0);
+        result.put(String.format(Locale.ROOT, "%-8s", str).getBytes(charset), 0, 8);
+        return Bytes.wrap(result.array(), ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static Predicate<BytesReader> compile(SasFilter filter) {
+        return filter.compile(META, new int[]{0, 8, 16, 24, 32, 40}, StandardCharsets.UTF_8);
+    }
+
+    private static BytesReader row(double num, double miss, double date, double dateTime, double time, String str) {
+        ByteBuffer result = ByteBuffer.allocate(48).order(ByteOrder.LITTLE_ENDIAN);
+        result.putDouble(num).putDouble(miss).putDouble(date).putDouble(dateTime).putDouble(time);
+        result.put(String.format(Locale.ROOT, "%-8s", str).getBytes(StandardCharsets.UTF_8));
+        return Bytes.wrap(result.array(), ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static final SasMetaData META = SasMetaData
+            .builder()
+            .column(SasColumn.builder().order(0).name("num").type(SasColumnType.NUMERIC).length(8).build())
+            .column(SasColumn.builder().order(1).name("miss").type(SasColumnType.NUMERIC).length(8).build())
+            .column(SasColumn.builder().order(2).name("date").type(SasColumnType.DATE).length(8).build())
+            .column(SasColumn.builder().order(3).name("datetime").type(SasColumnType.DATETIME).length(8).build())
+            .column(SasColumn.builder().order(4).name("time").type(SasColumnType.TIME).length(8).build())
+            .column(SasColumn.builder().order(5).name("str").type(SasColumnType.CHARACTER).length(8).build())
+            .build();
+}
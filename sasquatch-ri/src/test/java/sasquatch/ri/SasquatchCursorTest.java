@@ -20,8 +20,22 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import static java.nio.file.StandardOpenOption.READ;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import sasquatch.SasBatch;
+import sasquatch.SasColumn;
+import sasquatch.SasColumnType;
+import static sasquatch.SasRow.MISSING_TEMPORAL;
+import sasquatch.samples.SasResources;
 import static sasquatch.samples.SasResources.PPHAM27;
 
 /**
@@ -48,6 +62,184 @@ public class SasquatchCursorTest {
         Assertions.assertEquals(1d, (Double) data[9096][12], 0);
     }
 
+    @Test
+    public void testNextBatch() throws IOException {
+        Path file = PPHAM27.getRoot().resolve("drugtest.sas7bdat");
+        Object[][] data = readAll(file);
+        try (SasquatchCursor cursor = of(file)) {
+            SasBatch batch = cursor.newBatch(1000);
+            int i = 0;
+            while (cursor.nextBatch(batch)) {
+                for (int k = 0; k < batch.getSize(); k++) {
+                    Assertions.assertEquals((Double) data[i][0], batch.getDouble(k, 0), 0);
+                    Assertions.assertEquals((Double) data[i][12], batch.getDouble(k, 12), 0);
+                    i++;
+                }
+            }
+            Assertions.assertEquals(data.length, i);
+        }
+    }
+
+    @Test
+    public void testNextBatchOnSamples() throws IOException {
+        Set<SasColumnType> types = EnumSet.noneOf(SasColumnType.class);
+        int missing = 0;
+        for (Path file : SasResources.all().collect(Collectors.toList())) {
+            missing += assertNextBatch(file, types);
+        }
+        Assertions.assertEquals(EnumSet.allOf(SasColumnType.class), types);
+        Assertions.assertTrue(missing > 0);
+    }
+
+    @Test
+    public void testPrimitiveAccessorsOnSamples() throws IOException {
+        for (Path file : SasResources.all().collect(Collectors.toList())) {
+            assertPrimitiveAccessors(file);
+        }
+    }
+
+    static void assertPrimitiveAccessors(Path file) throws IOException {
+        Object[][] data;
+        try {
+            data = readAll(file);
+        } catch (IOException | RuntimeException ex) {
+            return;
+        }
+        try (SasquatchCursor cursor = of(file)) {
+            List<SasColumn> columns = cursor.getColumns();
+            int[] numerics = IntStream.range(0, columns.size())
+                    .filter(j -> columns.get(j).getType() == SasColumnType.NUMERIC)
+                    .toArray();
+            double[] numbers = new double[numerics.length];
+            for (int i = 0; cursor.next(); i++) {
+                for (int j = 0; j < columns.size(); j++) {
+                    String cell = file + " at row " + i + " and column " + j;
+                    Object value = data[i][j];
+                    Assertions.assertEquals(value == null || (value instanceof Double && ((Double) value).isNaN()), cursor.isMissing(j), cell);
+                    if (columns.get(j).getType() != SasColumnType.NUMERIC) {
+                        int columnIndex = j;
+                        Assertions.assertThrows(IllegalArgumentException.class, () -> cursor.getLong(columnIndex), cell);
+                    } else {
+                        double number = (Double) value;
+                        if (number == Math.rint(number) && -0x1p63 <= number && number < 0x1p63) {
+                            Assertions.assertEquals((long) number, cursor.getLong(j), cell);
+                        } else {
+                            int columnIndex = j;
+                            Assertions.assertThrows(ArithmeticException.class, () -> cursor.getLong(columnIndex), cell);
+                        }
+                    }
+                }
+                cursor.getNumbers(numerics, numbers);
+                for (int k = 0; k < numerics.length; k++) {
+                    Assertions.assertEquals((Double) data[i][numerics[k]], numbers[k], 0, file + " at row " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTemporalAccessorsOnSamples() throws IOException {
+        for (Path file : SasResources.all().collect(Collectors.toList())) {
+            assertTemporalAccessors(file);
+        }
+    }
+
+    static void assertTemporalAccessors(Path file) throws IOException {
+        Object[][] data;
+        try {
+            data = readAll(file);
+        } catch (IOException | RuntimeException ex) {
+            return;
+        }
+        try (SasquatchCursor cursor = of(file)) {
+            List<SasColumn> columns = cursor.getColumns();
+            for (int i = 0; cursor.next(); i++) {
+                for (int j = 0; j < columns.size(); j++) {
+                    String cell = file + " at row " + i + " and column " + j;
+                    switch (columns.get(j).getType()) {
+                        case DATE: {
+                            LocalDate value = (LocalDate) data[i][j];
+                            Assertions.assertEquals(value != null ? value.toEpochDay() : MISSING_TEMPORAL, cursor.getEpochDay(j), cell);
+                            break;
+                        }
+                        case DATETIME: {
+                            LocalDateTime value = (LocalDateTime) data[i][j];
+                            Assertions.assertEquals(value != null ? value.toEpochSecond(ZoneOffset.UTC) : MISSING_TEMPORAL, cursor.getEpochSecond(j), cell);
+                            Assertions.assertEquals(value != null ? value.toInstant(ZoneOffset.UTC).toEpochMilli() : MISSING_TEMPORAL, cursor.getEpochMillis(j), cell);
+                            break;
+                        }
+                        case TIME: {
+                            LocalTime value = (LocalTime) data[i][j];
+                            Assertions.assertEquals(value != null ? value.toSecondOfDay() : MISSING_TEMPORAL, cursor.getSecondOfDay(j), cell);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static int assertNextBatch(Path file, Set<SasColumnType> types) throws IOException {
+        Object[][] data;
+        try {
+            data = readAll(file);
+        } catch (IOException | RuntimeException ex) {
+            return 0;
+        }
+        int result = 0;
+        try (SasquatchCursor cursor = of(file)) {
+            List<SasColumn> columns = cursor.getColumns();
+            SasBatch actual = cursor.newBatch(7);
+            SasBatch expected = SasBatch.of(columns, actual.getCapacity());
+            int i = 0;
+            while (cursor.nextBatch(actual)) {
+                for (int k = 0; k < actual.getSize(); k++) {
+                    for (int j = 0; j < columns.size(); j++) {
+                        put(expected, k, j, columns.get(j).getType(), data[i + k][j]);
+                    }
+                }
+                expected.setSize(actual.getSize());
+                for (int k = 0; k < actual.getSize(); k++) {
+                    for (int j = 0; j < columns.size(); j++) {
+                        String cell = file + " at row " + (i + k) + " and column " + j;
+                        SasColumnType type = columns.get(j).getType();
+                        Assertions.assertEquals(expected.isMissing(k, j), actual.isMissing(k, j), cell);
+                        if (type == SasColumnType.CHARACTER) {
+                            Assertions.assertEquals(expected.getString(k, j), actual.getString(k, j), cell);
+                        } else {
+                            Assertions.assertEquals(expected.getDouble(k, j), actual.getDouble(k, j), 0, cell);
+                        }
+                        types.add(type);
+                        result += actual.isMissing(k, j) ? 1 : 0;
+                    }
+                }
+                i += actual.getSize();
+            }
+            Assertions.assertEquals(data.length, i, file.toString());
+        }
+        return result;
+    }
+
+    private static void put(SasBatch batch, int row, int columnIndex, SasColumnType type, Object value) {
+        switch (type) {
+            case CHARACTER:
+                batch.putString(row, columnIndex, (String) value);
+                break;
+            case NUMERIC:
+                batch.putDouble(row, columnIndex, (Double) value);
+                break;
+            case DATE:
+                batch.putDate(row, columnIndex, (LocalDate) value);
+                break;
+            case DATETIME:
+                batch.putDateTime(row, columnIndex, (LocalDateTime) value);
+                break;
+            case TIME:
+                batch.putTime(row, columnIndex, (LocalTime) value);
+                break;
+        }
+    }
+
     static SasquatchCursor of(Path file) throws IOException {
         return SasquatchCursor.of(Files.newByteChannel(file, READ));
     }
@@ -16,14 +16,44 @@
  */
 package sasquatch.ri;
 
+import internal.ri.base.Header;
+import internal.ri.base.PageReader;
+import internal.ri.base.ReadAheadPageReader;
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import static java.nio.file.StandardOpenOption.READ;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import static org.assertj.core.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sasquatch.SasColumn;
+import sasquatch.SasForwardCursor;
+import sasquatch.SasMetaData;
+import sasquatch.SasScrollableCursor;
+import sasquatch.SasTable;
 import sasquatch.samples.KnownError;
 import sasquatch.samples.SasContent;
 import sasquatch.samples.SasContentLoader;
+import static sasquatch.samples.SasResources.BIG_32;
+import static sasquatch.samples.SasResources.LITTLE_32;
+import sasquatch.samples.SasResources;
 import sasquatch.spi.SasReader;
 import sasquatch.tck.SasReaderAssert;
 
@@ -36,10 +66,260 @@ public class SasquatchReaderTest {
     @Test
     public void testCompliance() {
         SasReaderAssert.assertCompliance(new SasquatchReader());
+        SasReaderAssert.assertCompliance(SasquatchReader.builder().memoryMapped(true).build());
     }
 
     @Test
     public void testContent() {
+        assertContent(new SasquatchReader());
+        assertContent(SasquatchReader.builder().memoryMapped(true).build());
+        assertContent(SasquatchReader.builder().readAheadDepth(2).build());
+    }
+
+    @Test
+    public void testReadAhead() throws IOException {
+        List<Path> files = SasResources.all().collect(Collectors.toList());
+        for (Path file : files) {
+            assertReadAhead(file);
+        }
+    }
+
+    static void assertReadAhead(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            Header header;
+            try {
+                header = Header.parse(channel);
+            } catch (IOException ex) {
+                return;
+            }
+            List<Integer> pages = IntStream.range(0, header.getPageCount()).boxed().collect(Collectors.toList());
+            Collections.shuffle(pages, new Random(header.getPageCount()));
+            pages.addAll(IntStream.range(0, header.getPageCount()).boxed().collect(Collectors.toList()));
+
+            PageReader expected = PageReader.ofPositional(channel, header);
+            for (int depth : new int[]{1, 3}) {
+                try (ReadAheadPageReader x = ReadAheadPageReader.of(channel, header, depth)) {
+                    for (int page : pages) {
+                        assertThat(x.read(page).getBytes(0, header.getPageLength()))
+                                .describedAs("Page %s of %s", page, file)
+                                .isEqualTo(expected.read(page).getBytes(0, header.getPageLength()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testProjection() throws IOException {
+        SasReader reader = new SasquatchReader();
+        List<Path> files = SasResources.all().collect(Collectors.toList());
+        for (Path file : files) {
+            assertProjection(reader, file);
+        }
+    }
+
+    static void assertProjection(SasReader reader, Path file) throws IOException {
+        List<SasColumn> columns;
+        List<Object[]> rows = new ArrayList<>();
+        try (SasForwardCursor cursor = reader.readForward(file)) {
+            columns = cursor.getColumns();
+            while (cursor.next()) {
+                rows.add(getValues(cursor, columns.size()));
+            }
+        } catch (IOException | RuntimeException ex) {
+            // not supported by this reader
+            return;
+        }
+        if (columns.stream().map(SasColumn::getName).distinct().count() != columns.size()) {
+            return;
+        }
+
+        int[] indexes = IntStream.range(0, columns.size())
+                .filter(j -> j % 2 == 0 || j == columns.size() - 1)
+                .toArray();
+        Set<String> names = Arrays.stream(indexes)
+                .mapToObj(j -> columns.get(j).getName())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        try (SasForwardCursor cursor = reader.readForward(file, names)) {
+            assertProjection(cursor, columns, indexes, rows, file);
+        }
+
+        int[] reversed = IntStream.range(0, indexes.length)
+                .map(k -> indexes[indexes.length - 1 - k])
+                .toArray();
+        try (SasForwardCursor cursor = reader.readForward(file, reversed)) {
+            assertProjection(cursor, columns, reversed, rows, file);
+        }
+    }
+
+    private static void assertProjection(SasForwardCursor cursor, List<SasColumn> columns, int[] indexes, List<Object[]> rows, Path file) throws IOException {
+        assertThat(cursor.getColumns())
+                .extracting(SasColumn::getName)
+                .describedAs("Columns of %s", file)
+                .containsExactlyElementsOf(Arrays.stream(indexes).mapToObj(j -> columns.get(j).getName()).collect(Collectors.toList()));
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(cursor.next()).isTrue();
+            Object[] row = rows.get(i);
+            assertThat(getValues(cursor, indexes.length))
+                    .describedAs("Row %s of %s", i, file)
+                    .containsExactly(Arrays.stream(indexes).mapToObj(j -> row[j]).toArray());
+        }
+        assertThat(cursor.next()).isFalse();
+    }
+
+    private static Object[] getValues(SasForwardCursor cursor, int size) throws IOException {
+        Object[] result = new Object[size];
+        for (int j = 0; j < size; j++) {
+            result[j] = cursor.getValue(j);
+        }
+        return result;
+    }
+
+    @Test
+    public void testMetaDataCache(@TempDir Path temp) throws IOException {
+        Path first = Files.copy(LITTLE_32, temp.resolve("first.sas7bdat"));
+        Path second = Files.copy(BIG_32, temp.resolve("second.sas7bdat"));
+
+        SasquatchReader x = SasquatchReader.builder().metaDataCacheSize(1).build();
+        SasMetaData expected = new SasquatchReader().readMetaData(first);
+
+        assertThat(x.readMetaData(first)).isEqualTo(expected);
+        assertThat(x.getMetaDataCacheStats()).isEqualTo(new SasquatchReader.CacheStats(0, 1, 0, 1));
+
+        assertThat(x.readMetaData(first)).isSameAs(x.readMetaData(first)).isEqualTo(expected);
+        assertThat(x.getMetaDataCacheStats()).isEqualTo(new SasquatchReader.CacheStats(2, 1, 0, 1));
+
+        try (SasForwardCursor cursor = x.readForward(first)) {
+            assertThat(cursor.getMetaData()).isEqualTo(expected);
+        }
+        assertThat(x.getMetaDataCacheStats()).isEqualTo(new SasquatchReader.CacheStats(2, 2, 0, 1));
+
+        try (SasForwardCursor cursor = x.readForward(first)) {
+            assertThat(cursor.getMetaData()).isEqualTo(expected);
+        }
+        assertThat(x.getMetaDataCacheStats()).isEqualTo(new SasquatchReader.CacheStats(3, 2, 0, 1));
+
+        Files.setLastModifiedTime(first, FileTime.fromMillis(Files.getLastModifiedTime(first).toMillis() + 60_000));
+        assertThat(x.readMetaData(first)).isEqualTo(expected);
+        assertThat(x.getMetaDataCacheStats()).isEqualTo(new SasquatchReader.CacheStats(3, 3, 0, 1));
+
+        assertThat(x.readMetaData(second)).isEqualTo(new SasquatchReader().readMetaData(second));
+        assertThat(x.getMetaDataCacheStats()).isEqualTo(new SasquatchReader.CacheStats(3, 4, 1, 1));
+
+        x.clearMetaDataCache();
+        assertThat(x.getMetaDataCacheStats()).isEqualTo(new SasquatchReader.CacheStats(3, 4, 1, 0));
+        assertThat(x.toBuilder().build().getMetaDataCacheStats()).isEqualTo(new SasquatchReader.CacheStats(0, 0, 0, 0));
+    }
+
+    @Test
+    public void testOpenTable() throws Exception {
+        assertOpenTable(new SasquatchReader());
+        assertOpenTable(SasquatchReader.builder().memoryMapped(true).build());
+        assertOpenTable(SasquatchReader.builder().readAheadDepth(2).build());
+    }
+
+    private static void assertOpenTable(SasquatchReader reader) throws Exception {
+        List<List<Object>> expected = getAllValues(reader.readForward(LITTLE_32));
+
+        SasTable table = reader.openTable(LITTLE_32);
+        try {
+            assertThat(table.getMetaData()).isEqualTo(reader.readMetaData(LITTLE_32));
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<List<List<Object>>>> results = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    results.add(executor.submit(() -> getAllValues(table.readForward())));
+                }
+                for (Future<List<List<Object>>> result : results) {
+                    assertThat(result.get()).isEqualTo(expected);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            try (SasScrollableCursor cursor = table.readScrollable()) {
+                assertThat(cursor.moveTo(expected.size() - 1)).isTrue();
+                assertThat(cursor.getValues()).containsExactlyElementsOf(expected.get(expected.size() - 1));
+            }
+        } finally {
+            table.close();
+        }
+
+        assertThatIOException().isThrownBy(table::readForward);
+    }
+
+    @Test
+    public void testOpenTableWithInterrupt() throws Exception {
+        assertOpenTableWithInterrupt(new SasquatchReader(), LITTLE_32);
+    }
+
+    static void assertOpenTableWithInterrupt(SasquatchReader reader, Path file) throws Exception {
+        List<List<Object>> expected = getAllValues(reader.readForward(file));
+
+        try (SasTable table = reader.openTable(file)) {
+            List<List<Object>> values = new ArrayList<>();
+            try (SasForwardCursor cursor = table.readForward()) {
+                assertThat(cursor.next()).isTrue();
+                values.add(Arrays.asList(cursor.getValues()));
+
+                try (SasForwardCursor interrupted = table.readForward()) {
+                    Thread.currentThread().interrupt();
+                    try {
+                        assertThatExceptionOfType(ClosedByInterruptException.class).isThrownBy(() -> getAllValues(interrupted));
+                    } finally {
+                        Thread.interrupted();
+                    }
+                }
+
+                while (cursor.next()) {
+                    values.add(Arrays.asList(cursor.getValues()));
+                }
+            }
+            assertThat(values).isEqualTo(expected);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<List<List<Object>>>> results = new ArrayList<>();
+                List<Future<?>> failures = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    results.add(executor.submit(() -> getAllValues(table.readForward())));
+                    failures.add(executor.submit(() -> {
+                        Thread.currentThread().interrupt();
+                        try {
+                            return getAllValues(table.readForward());
+                        } finally {
+                            Thread.interrupted();
+                        }
+                    }));
+                }
+                for (Future<List<List<Object>>> result : results) {
+                    assertThat(result.get()).isEqualTo(expected);
+                }
+                for (Future<?> failure : failures) {
+                    assertThatExceptionOfType(ExecutionException.class)
+                            .isThrownBy(failure::get)
+                            .withCauseInstanceOf(ClosedByInterruptException.class);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(getAllValues(table.readForward())).isEqualTo(expected);
+        }
+    }
+
+    private static List<List<Object>> getAllValues(SasForwardCursor cursor) throws IOException {
+        try (SasForwardCursor closeable = cursor) {
+            List<List<Object>> result = new ArrayList<>();
+            while (closeable.next()) {
+                result.add(Arrays.asList(closeable.getValues()));
+            }
+            return result;
+        }
+    }
+
+    private static void assertContent(SasReader reader) {
         List<KnownError> knownErrors = Arrays.asList(
                 new KnownError("Epam", Paths.get("charset_utf8.sas7bdat"), SasContent.HeadError.class),
                 new KnownError("Epam", Paths.get("chinese_column_fails.sas7bdat"), SasContent.HeadError.class),
@@ -57,7 +337,6 @@ public class SasquatchReaderTest {
                 new KnownError("Dumbmatter", Paths.get("sas7bdat-unsupported", "osteo_analysis_data.sas7bdat"), SasContent.MissingError.class)
         );
 
-        SasReader reader = new SasquatchReader();
         SasContentLoader.load().forEach(content
                 -> assertThat(content.parse(reader))
                         .extracting(KnownError::of)
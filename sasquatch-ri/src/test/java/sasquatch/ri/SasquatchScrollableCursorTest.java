@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import internal.ri.data.rows.SidecarRowIndex;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sasquatch.SasScrollableCursor;
+import static sasquatch.samples.SasResources.*;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class SasquatchScrollableCursorTest {
+
+    @Test
+    public void testRandomAccess() throws IOException {
+        SasquatchReader reader = new SasquatchReader();
+        for (Path file : new Path[]{LITTLE_32, LITTLE_64, LITTLE_64_BIN, LITTLE_64_CHAR, BIG_32, BIG_64, PPHAM27.getRoot().resolve("drugtest.sas7bdat")}) {
+            Object[][] expected = SasquatchCursorTest.readAll(file);
+            try (SasScrollableCursor cursor = reader.readScrollable(file)) {
+                for (int row = expected.length - 1; row >= 0; row -= 7) {
+                    assertThat(cursor.moveTo(row)).isTrue();
+                    assertThat(cursor.getRow()).isEqualTo(row);
+                    assertThat(cursor.getValues()).containsExactly(expected[row]);
+                }
+                assertThat(cursor.moveTo(expected.length)).isFalse();
+                assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> cursor.getValue(0));
+            }
+        }
+    }
+
+    @Test
+    public void testRowIndexFiles(@TempDir Path temp) throws IOException {
+        SasquatchReader reader = SasquatchReader.builder().rowIndexFiles(true).build();
+
+        for (Path original : new Path[]{LITTLE_64_BIN, LITTLE_64_CHAR}) {
+            Path file = Files.copy(original, temp.resolve(original.getFileName().toString()));
+            Path sidecar = SidecarRowIndex.getPath(file);
+            Object[][] expected = SasquatchCursorTest.readAll(original);
+
+            assertThat(sidecar).doesNotExist();
+            assertRandomAccess(reader, file, expected);
+            assertThat(sidecar).exists();
+            assertRandomAccess(reader, file, expected);
+
+            Files.write(sidecar, new byte[]{1, 2, 3});
+            assertRandomAccess(reader, file, expected);
+            assertThat(Files.size(sidecar)).isGreaterThan(3);
+            assertRandomAccess(new SasquatchReader(), file, expected);
+
+            byte[] indexed = Files.readAllBytes(sidecar);
+            Files.write(file, new byte[]{0}, StandardOpenOption.APPEND);
+            assertRandomAccess(reader, file, expected);
+            assertThat(Files.readAllBytes(sidecar)).isNotEqualTo(indexed);
+
+            Files.delete(sidecar);
+            assertThat(reader.writeRowIndex(file)).isTrue();
+            assertThat(sidecar).exists();
+        }
+
+        Path uncompressed = Files.copy(LITTLE_32, temp.resolve(LITTLE_32.getFileName().toString()));
+        assertThat(reader.writeRowIndex(uncompressed)).isFalse();
+        assertRandomAccess(reader, uncompressed, SasquatchCursorTest.readAll(LITTLE_32));
+        assertThat(SidecarRowIndex.getPath(uncompressed)).doesNotExist();
+    }
+
+    private static void assertRandomAccess(SasquatchReader reader, Path file, Object[][] expected) throws IOException {
+        try (SasScrollableCursor cursor = reader.readScrollable(file)) {
+            for (int row = expected.length - 1; row >= 0; row -= 7) {
+                assertThat(cursor.moveTo(row)).isTrue();
+                assertThat(cursor.getValues()).containsExactly(expected[row]);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package sasquatch.ri;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import sasquatch.SasSplittableCursor;
+import static sasquatch.samples.SasResources.*;
+
+/**
+ *
+ * @author Philippe Charles
+ */
+public class SasquatchSplittableCursorTest {
+
+    @Test
+    public void testParallelStream() throws IOException {
+        for (SasquatchReader reader : new SasquatchReader[]{new SasquatchReader(), SasquatchReader.builder().memoryMapped(true).build()}) {
+            for (Path file : new Path[]{LITTLE_32, LITTLE_64, LITTLE_64_BIN, LITTLE_64_CHAR, BIG_32, BIG_64, PPHAM27.getRoot().resolve("drugtest.sas7bdat")}) {
+                Object[][] expected = SasquatchCursorTest.readAll(file);
+                try (SasSplittableCursor cursor = reader.readSplittable(file)) {
+                    List<Object[]> actual = StreamSupport.stream(cursor.getSpliterator(), true)
+                            .map(row -> {
+                                try {
+                                    return row.getValues();
+                                } catch (IOException ex) {
+                                    throw new UncheckedIOException(ex);
+                                }
+                            })
+                            .collect(Collectors.toList());
+                    assertThat(actual).containsExactly(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSplitOnPages() throws IOException {
+        try (SasSplittableCursor cursor = new SasquatchReader().readSplittable(PPHAM27.getRoot().resolve("drugtest.sas7bdat"))) {
+            Spliterator<?> suffix = cursor.getSpliterator();
+            long size = suffix.estimateSize();
+            Spliterator<?> prefix = suffix.trySplit();
+            assertThat(prefix).isNotNull();
+            assertThat(prefix.estimateSize() + suffix.estimateSize()).isEqualTo(size);
+            assertThat(prefix.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+        }
+    }
+}